@@ -0,0 +1,107 @@
+package pl.witold.petcare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.VetTimeOffView;
+import pl.witold.petcare.vet.WeeklySchedule;
+import pl.witold.petcare.visit.BookingCalendar;
+import pl.witold.petcare.visit.VisitSlotView;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory booking validation: schedule rule lookup with slot alignment, time-off check
+ * and the conflict check against the vet's blocking visits of the day. Each operation builds
+ * the calendar from preloaded data, exactly as a single booking does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingCalendarBenchmark {
+
+    private static final Long VET_ID = 1L;
+
+    /**
+     * Blocking visits already booked on the requested day.
+     */
+    @Param({"0", "7", "31"})
+    public int bookedSlots;
+
+    private WeeklySchedule schedule;
+    private TimeOffCalendar timeOff;
+    private List<VisitSlotView> visits;
+    private LocalDate date;
+    private LocalTime freeStart;
+    private LocalTime takenStart;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+
+        List<VetScheduleRuleView> rules = new ArrayList<>();
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            rules.add(new VetScheduleRuleView(VET_ID, day, LocalTime.of(8, 0), LocalTime.of(12, 0), 15));
+            rules.add(new VetScheduleRuleView(VET_ID, day, LocalTime.of(13, 0), LocalTime.of(17, 0), 15));
+        }
+        schedule = WeeklySchedule.of(rules);
+
+        List<VetTimeOffView> ranges = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            LocalDate start = date.minusWeeks(30).plusWeeks(3L * i);
+            if (!start.isAfter(date) && !start.plusDays(2).isBefore(date)) {
+                continue;
+            }
+            ranges.add(new VetTimeOffView(VET_ID, start, start.plusDays(2)));
+        }
+        timeOff = TimeOffCalendar.of(ranges);
+
+        visits = new ArrayList<>();
+        LocalTime slot = LocalTime.of(8, 0);
+        for (int i = 0; i < bookedSlots; i++) {
+            visits.add(new VisitSlotView((long) i, VET_ID, date, slot, slot.plusMinutes(15)));
+            slot = slot.plusMinutes(15);
+            if (slot.equals(LocalTime.of(12, 0))) {
+                slot = LocalTime.of(13, 0);
+            }
+        }
+        freeStart = LocalTime.of(16, 45);
+        takenStart = bookedSlots > 0 ? LocalTime.of(8, 0) : null;
+    }
+
+    @Benchmark
+    public LocalTime reserveFreeSlot() {
+        BookingCalendar calendar = new BookingCalendar(schedule.rulesFor(date.getDayOfWeek()), timeOff, visits);
+        return calendar.reserve(date, freeStart);
+    }
+
+    @Benchmark
+    public String rejectTakenSlot() {
+        BookingCalendar calendar = new BookingCalendar(schedule.rulesFor(date.getDayOfWeek()), timeOff, visits);
+        try {
+            calendar.reserve(date, takenStart != null ? takenStart : LocalTime.of(8, 5));
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean timeOffLookup() {
+        return timeOff.isOnLeave(date);
+    }
+}
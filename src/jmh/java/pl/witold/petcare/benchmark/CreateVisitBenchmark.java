@@ -0,0 +1,95 @@
+package pl.witold.petcare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.PetcareApplication;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitService;
+import pl.witold.petcare.visit.commands.VisitCreateCommand;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole single-visit booking through {@link VisitService#createVisit} against the seeded
+ * embedded H2 database: context load, validation, insert and commit.
+ * Every operation books the next free slot of the seeded vet (Mon-Fri 09:00-13:00, 30 min).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CreateVisitBenchmark {
+
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int WORKING_DAYS = 5;
+
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    private ConfigurableApplicationContext context;
+    private VisitService visitService;
+    private Long petId;
+    private Long vetProfileId;
+    private LocalDate firstMonday;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetcareApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:petcare-jmh;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.root=warn"
+                )
+                .run();
+        visitService = context.getBean(VisitService.class);
+
+        User vetUser = context.getBean(UserRepository.class).findByUsername("vet").orElseThrow();
+        vetProfileId = context.getBean(VetProfileRepository.class).findByUserId(vetUser.getId()).orElseThrow().getId();
+        petId = context.getBean(PetRepository.class).findAll().getFirst().getId();
+        firstMonday = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Visit createVisit() {
+        int slot = next++;
+        int week = slot / (SLOTS_PER_DAY * WORKING_DAYS);
+        int day = (slot / SLOTS_PER_DAY) % WORKING_DAYS;
+        LocalDate date = firstMonday.plusWeeks(week).plusDays(day);
+        LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY));
+
+        SecurityContextHolder.getContext().setAuthentication(ADMIN);
+        try {
+            return visitService.createVisit(new VisitCreateCommand(petId, vetProfileId, date, start, "Benchmark", null));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
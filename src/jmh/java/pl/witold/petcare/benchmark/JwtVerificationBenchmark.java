@@ -0,0 +1,78 @@
+package pl.witold.petcare.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.core.userdetails.User;
+import pl.witold.petcare.security.jwt.JwtService;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost of the JWT filter.
+ * {@code legacyTripleParse} reproduces the previous filter path: key decoding, parser
+ * construction and a full parse for the username, the validity check and the expiry check.
+ * {@code verifyCachedContended} runs cache hits on eight threads, as request threads do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "faJJ1JQFddaDGiwl6BOXixX95I1HGKbTYBjRWdxv4EY2";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 3_600_000, 0);
+        cached = new JwtService(SECRET, 3_600_000, 10_000);
+        token = uncached.generateToken(User.withUsername("user").password("x").authorities(List.of()).build());
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = username.equals(legacyClaims(token).getSubject());
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Claims verifyCachedContended() {
+        return cached.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
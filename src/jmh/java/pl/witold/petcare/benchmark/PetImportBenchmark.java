@@ -0,0 +1,93 @@
+package pl.witold.petcare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.PetcareApplication;
+import pl.witold.petcare.dto.PetImportDto;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetService;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Imports {@value #PETS} pets in one {@link PetService#importForOwner} call against the embedded
+ * H2 database. Compare a run on a commit using identity ids with a run on sequence ids to see the
+ * effect of JDBC insert batching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class PetImportBenchmark {
+
+    private static final int PETS = 10_000;
+    private static final String NAME_PREFIX = "Imported ";
+
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    private ConfigurableApplicationContext context;
+    private PetService petService;
+    private JdbcTemplate jdbcTemplate;
+    private Long ownerId;
+    private List<PetImportDto> pets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetcareApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:petcare-jmh-import;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.root=warn"
+                )
+                .run();
+        petService = context.getBean(PetService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ownerId = context.getBean(UserRepository.class).findByUsername("admin").orElseThrow().getId();
+        pets = IntStream.range(0, PETS)
+                .mapToObj(i -> new PetImportDto(NAME_PREFIX + i, Species.DOG, null, null, null, null, null, null))
+                .toList();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteImported() {
+        jdbcTemplate.update("DELETE FROM pets WHERE name LIKE ?", NAME_PREFIX + "%");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Pet> importPets() {
+        SecurityContextHolder.getContext().setAuthentication(ADMIN);
+        try {
+            return petService.importForOwner(ownerId, pets);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
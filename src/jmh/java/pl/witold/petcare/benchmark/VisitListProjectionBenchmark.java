@@ -0,0 +1,121 @@
+package pl.witold.petcare.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.witold.petcare.PetcareApplication;
+import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitMapper;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitRow;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of a pet's visits read as managed entities and mapped afterwards, against the same
+ * page read as flat {@link VisitRow} projections, on the seeded embedded H2 database. Both read
+ * {@link #PAGE_SIZE} + 1 rows like a keyset slice and skip the count query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VisitListProjectionBenchmark {
+
+    private static final int VISITS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String ENTITY_PAGE = """
+            select v from Visit v
+            join fetch v.pet p
+            join fetch p.owner
+            join fetch v.vetProfile vp
+            join fetch vp.user
+            where p.id = :petId
+            order by v.date asc, v.startTime asc, v.id asc
+            """;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private VisitRepository visitRepository;
+    private Long petId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetcareApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:petcare-jmh-projection;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.root=warn"
+                )
+                .run();
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        visitRepository = context.getBean(VisitRepository.class);
+
+        User owner = context.getBean(UserRepository.class).findByUsername("admin").orElseThrow();
+        User vetUser = context.getBean(UserRepository.class).findByUsername("vet").orElseThrow();
+        VetProfile vetProfile = context.getBean(VetProfileRepository.class).findByUserId(vetUser.getId()).orElseThrow();
+        Pet pet = context.getBean(PetRepository.class)
+                .save(new Pet(owner, "Benchmark", Species.DOG, null, null, null, null, null, null));
+        petId = pet.getId();
+
+        LocalDate firstDay = LocalDate.now().plusYears(5);
+        List<Visit> visits = new ArrayList<>(VISITS);
+        for (int i = 0; i < VISITS; i++) {
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * (i % 8));
+            visits.add(new Visit(pet, vetProfile, firstDay.plusDays(i / 8), start, start.plusMinutes(30), "Benchmark", null));
+        }
+        visitRepository.saveAll(visits);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VisitResponseDto> entityPage() {
+        return readOnly.execute(status -> entityManager.createQuery(ENTITY_PAGE, Visit.class)
+                .setParameter("petId", petId)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList()
+                .stream()
+                .map(VisitMapper::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<VisitResponseDto> projectionPage() {
+        return readOnly.execute(status -> visitRepository
+                .findRowsByPetIdAfter(petId, LocalDate.of(1, 1, 1), LocalTime.MIN, 0L, PageRequest.of(0, PAGE_SIZE))
+                .map(VisitRow::toDto)
+                .getContent());
+    }
+}
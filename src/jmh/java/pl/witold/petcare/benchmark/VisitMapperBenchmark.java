@@ -0,0 +1,50 @@
+package pl.witold.petcare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.Sex;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.Role;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitMapper;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a fully loaded visit to its API representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VisitMapperBenchmark {
+
+    private Visit visit;
+
+    @Setup
+    public void setUp() {
+        User owner = new User("Jan Kowalski", "jan", "jan@example.com", "hash", Set.of(Role.USER));
+        User vetUser = new User("Anna Nowak", "anna", "anna@example.com", "hash", Set.of(Role.VET));
+        Pet pet = new Pet(owner, "Sara", Species.CAT, Sex.FEMALE, "European", LocalDate.of(2020, 5, 1),
+                2020, 4.2, "Calm");
+        VetProfile vetProfile = new VetProfile(vetUser);
+        visit = new Visit(pet, vetProfile, LocalDate.now().plusDays(3), LocalTime.of(9, 0), LocalTime.of(9, 30),
+                "Checkup", "Bring vaccination booklet");
+    }
+
+    @Benchmark
+    public VisitResponseDto toDto() {
+        return VisitMapper.toDto(visit);
+    }
+}
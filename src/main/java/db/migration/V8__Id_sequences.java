@@ -0,0 +1,57 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Creates the id sequences of the bulk-written tables, so Hibernate can assign ids before insert
+ * and send the inserts as JDBC batches.
+ * <p>
+ * The sequences step by the entities' allocation size. Hibernate's pooled optimizer hands out the
+ * block ending at the fetched value, so each sequence starts one block above the current max id.
+ * <p>
+ * The identity on {@code id} is replaced by a default taking the next sequence value, so inserts
+ * made outside Hibernate (seeds, data migrations, manual fixes) draw from the same sequence and
+ * cannot collide with blocks Hibernate already handed out. Such an insert uses a whole block.
+ * <p>
+ * Written in Java because PostgreSQL and H2 cannot both restart a sequence from a query result,
+ * and they spell the next sequence value differently.
+ */
+public class V8__Id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of(
+            "pets",
+            "visits",
+            "medical_records",
+            "vet_schedule_entries",
+            "vet_time_off"
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                String sequence = table + "_seq";
+                statement.execute("CREATE SEQUENCE " + sequence + " START WITH " + (maxId + ALLOCATION_SIZE)
+                        + " INCREMENT BY " + ALLOCATION_SIZE);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT "
+                        + (postgres ? "nextval('" + sequence + "')" : "NEXT VALUE FOR " + sequence));
+            }
+        }
+    }
+}
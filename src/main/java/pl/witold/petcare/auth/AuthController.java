@@ -6,16 +6,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import pl.witold.petcare.dto.AuthRequest;
 import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.dto.RefreshTokenRequest;
 import pl.witold.petcare.dto.RegisterRequest;
 import pl.witold.petcare.dto.UserResponseDto;
 
@@ -32,6 +35,7 @@ import pl.witold.petcare.dto.UserResponseDto;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
     @Operation(
             summary = "Login and obtain JWT token",
@@ -50,6 +54,10 @@ public class AuthController {
             responseCode = "401",
             description = "Invalid credentials"
     )
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many login attempts for this username or client"
+    )
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
             @Valid
@@ -60,9 +68,76 @@ public class AuthController {
                             schema = @Schema(implementation = AuthRequest.class)
                     )
             )
-            @org.springframework.web.bind.annotation.RequestBody AuthRequest request
+            @org.springframework.web.bind.annotation.RequestBody AuthRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        // Throttled attempts are rejected before any password hashing
+        String clientIp = httpRequest.getRemoteAddr();
+        loginThrottle.checkAllowed(request.username(), clientIp);
+        try {
+            AuthResponse response = authService.login(request);
+            loginThrottle.recordSuccess(request.username());
+            return ResponseEntity.ok(response);
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(request.username(), clientIp);
+            throw e;
+        }
+    }
+
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. "
+                    + "The presented refresh token cannot be used again."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Tokens refreshed successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AuthResponse.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Refresh token is invalid, expired or revoked"
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid
+            @RequestBody(
+                    description = "Refresh token obtained from login or a previous refresh",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = RefreshTokenRequest.class)
+                    )
+            )
+            @org.springframework.web.bind.annotation.RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the session of the given refresh token together with its access tokens."
+    )
+    @ApiResponse(
+            responseCode = "204",
+            description = "Session revoked"
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @Valid
+            @RequestBody(
+                    description = "Refresh token of the session to end",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = RefreshTokenRequest.class)
+                    )
+            )
+            @org.springframework.web.bind.annotation.RequestBody RefreshTokenRequest request
     ) {
-        return ResponseEntity.ok(authService.login(request));
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(
@@ -2,6 +2,7 @@ package pl.witold.petcare.auth;
 
 import pl.witold.petcare.dto.AuthRequest;
 import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.dto.RefreshTokenRequest;
 import pl.witold.petcare.dto.RegisterRequest;
 import pl.witold.petcare.dto.UserResponseDto;
 
@@ -11,6 +12,16 @@ import pl.witold.petcare.dto.UserResponseDto;
 public interface AuthService {
     AuthResponse login(AuthRequest request);
 
+    /**
+     * Rotates a refresh token into a new access and refresh token pair without password verification.
+     */
+    AuthResponse refresh(RefreshTokenRequest request);
+
+    /**
+     * Ends the refresh session of the given token, invalidating its access tokens as well.
+     */
+    void logout(RefreshTokenRequest request);
+
     UserResponseDto register(RegisterRequest request);
 
     UserResponseDto getCurrentUser(String username);
@@ -11,10 +11,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.dto.AuthRequest;
 import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.dto.RefreshTokenRequest;
 import pl.witold.petcare.dto.RegisterRequest;
 import pl.witold.petcare.dto.UserResponseDto;
 import pl.witold.petcare.exceptions.FieldIsAlreadyTakenException;
 import pl.witold.petcare.exceptions.UserNotFoundException;
+import pl.witold.petcare.security.SecurityUser;
 import pl.witold.petcare.security.jwt.JwtService;
 import pl.witold.petcare.user.Role;
 import pl.witold.petcare.user.User;
@@ -35,6 +37,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public AuthResponse login(AuthRequest request) {
@@ -48,11 +51,24 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        if (userDetails instanceof SecurityUser user) {
+            return refreshTokenService.issue(user);
+        }
 
         String jwt = jwtService.generateToken(userDetails);
         return AuthResponse.bearer(jwt);
     }
 
+    @Override
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        return refreshTokenService.refresh(request.refreshToken());
+    }
+
+    @Override
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+    }
+
 
     @Override
     public UserResponseDto register(RegisterRequest request) {
@@ -0,0 +1,268 @@
+package pl.witold.petcare.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.witold.petcare.config.LoginThrottleProperties;
+import pl.witold.petcare.exceptions.TooManyRequestsException;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory brute-force protection checked before any password hashing.
+ * <p>
+ * Every login attempt takes a token from the bucket of its username and of its client IP.
+ * Consecutive failures beyond a threshold lock the key out for {@code lockoutBase * 2^n},
+ * capped at {@code lockoutMax}. Once no failure is recorded and no lockout is running,
+ * failures are forgiven one at a time, all of them within {@code idleTtl}, so sparse typos
+ * behind a shared IP never add up to a lockout. Bucket state is immutable and swapped with
+ * CAS, so checks never block. Idle entries are swept by a background thread, and early when
+ * the map reaches its size limit.
+ */
+@Component
+public class LoginThrottle implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private static final String THROTTLED_MESSAGE = "Too many login attempts, please try again later";
+
+    private final Limit usernameLimit;
+    private final Limit ipLimit;
+    private final long lockoutBaseMs;
+    private final long lockoutMaxMs;
+    private final long idleTtlMs;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService sweeper;
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+
+    private final ConcurrentMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties) {
+        this(properties, System::currentTimeMillis, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-throttle-sweep");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long periodMs = Math.clamp(idleTtlMs, 1_000, 60_000);
+        sweeper.scheduleWithFixedDelay(this::sweep, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Without a sweeper, entries are only dropped by calling {@link #sweep()}.
+     */
+    LoginThrottle(LoginThrottleProperties properties, LongSupplier clock) {
+        this(properties, clock, null);
+    }
+
+    private LoginThrottle(LoginThrottleProperties properties, LongSupplier clock, ScheduledExecutorService sweeper) {
+        this.idleTtlMs = properties.idleTtl().toMillis();
+        this.usernameLimit = new Limit(properties.usernameCapacity(), properties.usernamePerMinute(),
+                properties.usernameLockoutAfter(), idleTtlMs);
+        this.ipLimit = new Limit(properties.ipCapacity(), properties.ipPerMinute(),
+                properties.ipLockoutAfter(), idleTtlMs);
+        this.lockoutBaseMs = properties.lockoutBase().toMillis();
+        this.lockoutMaxMs = properties.lockoutMax().toMillis();
+        this.maxEntries = properties.maxEntries();
+        this.clock = clock;
+        this.sweeper = sweeper;
+    }
+
+    /**
+     * Takes a token for the username and the client IP.
+     *
+     * @throws TooManyRequestsException if either key is out of tokens or locked out
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long now = clock.getAsLong();
+        long waitMs = acquire(ipKey(clientIp), ipLimit, now);
+        if (waitMs == 0) {
+            waitMs = acquire(usernameKey(username), usernameLimit, now);
+        }
+        if (waitMs > 0) {
+            throttled.increment();
+            throw new TooManyRequestsException(THROTTLED_MESSAGE, Math.max(1, (waitMs + 999) / 1000));
+        }
+        allowed.increment();
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = clock.getAsLong();
+        fail(usernameKey(username), usernameLimit, now);
+        fail(ipKey(clientIp), ipLimit, now);
+    }
+
+    /**
+     * Clears the failure streak of the username. The IP keeps its streak, a stuffing run
+     * may hit a valid account now and then.
+     */
+    public void recordSuccess(String username) {
+        long now = clock.getAsLong();
+        update(usernameKey(username), usernameLimit, now, bucket -> bucket.withFailures(0, 0, now, now));
+    }
+
+    public Stats stats() {
+        return new Stats(buckets.size(), allowed.sum(), throttled.sum(), lockouts.sum(), evictions.sum());
+    }
+
+    /**
+     * Drops idle entries which are not locked out; if that is not enough, drops every
+     * entry which is not locked out, so memory stays bounded under a flood of new keys.
+     */
+    void sweep() {
+        sweepRequested.set(false);
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(ref -> ref.get().isIdle(now, idleTtlMs));
+        if (buckets.size() >= maxEntries) {
+            buckets.values().removeIf(ref -> ref.get().lockedUntil() <= now);
+        }
+        evictions.add(Math.max(0, before - buckets.size()));
+    }
+
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private long acquire(String key, Limit limit, long now) {
+        AtomicReference<Bucket> ref = bucket(key, limit, now);
+        while (true) {
+            Bucket current = ref.get();
+            Bucket refilled = current.refill(limit, now);
+            if (refilled.lockedUntil() > now) {
+                return refilled.lockedUntil() - now;
+            }
+            if (refilled.tokens() < 1) {
+                return (long) Math.ceil((1 - refilled.tokens()) / limit.tokensPerMs());
+            }
+            if (ref.compareAndSet(current, refilled.take())) {
+                return 0;
+            }
+        }
+    }
+
+    private void fail(String key, Limit limit, long now) {
+        Bucket updated = update(key, limit, now, bucket -> {
+            int failures = bucket.failures() + 1;
+            long lockedUntil = bucket.lockedUntil();
+            if (failures >= limit.lockoutAfter()) {
+                int exponent = Math.min(failures - limit.lockoutAfter(), 30);
+                lockedUntil = now + Math.min(lockoutMaxMs, lockoutBaseMs << exponent);
+            }
+            return bucket.withFailures(failures, lockedUntil, now, now);
+        });
+        if (updated.failures() >= limit.lockoutAfter()) {
+            lockouts.increment();
+            log.info("Locked out {} after {} failed logins", key, updated.failures());
+        }
+    }
+
+    private Bucket update(String key, Limit limit, long now, UnaryOperator<Bucket> change) {
+        AtomicReference<Bucket> ref = bucket(key, limit, now);
+        while (true) {
+            Bucket current = ref.get();
+            Bucket next = change.apply(current.refill(limit, now));
+            if (ref.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private AtomicReference<Bucket> bucket(String key, Limit limit, long now) {
+        AtomicReference<Bucket> existing = buckets.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (buckets.size() >= maxEntries && sweeper != null && sweepRequested.compareAndSet(false, true)) {
+            sweeper.execute(this::sweep);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicReference<>(Bucket.full(limit, now)));
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + (username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + (clientIp == null ? "" : clientIp);
+    }
+
+    /**
+     * {@code forgiveMs} is the quiet time after which one failure is forgiven, chosen so that
+     * a full lockout streak is forgiven within the idle TTL.
+     */
+    private record Limit(int capacity, int perMinute, int lockoutAfter, long idleTtlMs, long forgiveMs) {
+
+        Limit(int capacity, int perMinute, int lockoutAfter, long idleTtlMs) {
+            this(capacity, perMinute, lockoutAfter, idleTtlMs, Math.max(1, idleTtlMs / Math.max(1, lockoutAfter)));
+        }
+
+        double tokensPerMs() {
+            return perMinute / 60_000.0;
+        }
+    }
+
+    /**
+     * {@code quietSince} is the last failure or forgiveness; forgiveness never starts before
+     * a running lockout ends, so the backoff keeps growing for a client retrying right away.
+     */
+    private record Bucket(double tokens, long refilledAt, int failures, long lockedUntil, long quietSince, long lastSeen) {
+
+        static Bucket full(Limit limit, long now) {
+            return new Bucket(limit.capacity(), now, 0, 0, now, now);
+        }
+
+        Bucket refill(Limit limit, long now) {
+            long elapsed = Math.max(0, now - refilledAt);
+            double refilled = Math.min(limit.capacity(), tokens + elapsed * limit.tokensPerMs());
+            int remaining = failures;
+            long quiet = quietSince;
+            long lock = lockedUntil;
+            long since = Math.max(quietSince, lockedUntil);
+            if (remaining > 0 && now > since) {
+                long forgiven = now - since > limit.idleTtlMs() ? remaining : (now - since) / limit.forgiveMs();
+                if (forgiven > 0) {
+                    remaining = (int) Math.max(0, remaining - forgiven);
+                    quiet = since + forgiven * limit.forgiveMs();
+                    lock = remaining == 0 ? 0 : lockedUntil;
+                }
+            }
+            return new Bucket(refilled, now, remaining, lock, quiet, now);
+        }
+
+        Bucket take() {
+            return new Bucket(tokens - 1, refilledAt, failures, lockedUntil, quietSince, lastSeen);
+        }
+
+        Bucket withFailures(int failures, long lockedUntil, long quietSince, long now) {
+            return new Bucket(tokens, refilledAt, failures, lockedUntil, quietSince, now);
+        }
+
+        boolean isIdle(long now, long idleTtlMs) {
+            return lockedUntil <= now && now - lastSeen > idleTtlMs;
+        }
+    }
+
+    public record Stats(int entries, long allowed, long throttled, long lockouts, long evictions) {
+    }
+}
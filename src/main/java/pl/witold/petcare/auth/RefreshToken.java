@@ -0,0 +1,96 @@
+package pl.witold.petcare.auth;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored refresh token. The client holds {@code sessionId.id.secret}; only the SHA-256 of
+ * the secret is kept here. Each refresh replaces the token with a new one of the same session.
+ */
+@Getter
+@Entity
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_session_id", columnList = "session_id"),
+                @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id")
+        }
+)
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "replaced_by", length = 36)
+    private String replacedBy;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Ids are assigned by the application; lets save() persist without a merge select
+    @Transient
+    private boolean persisted;
+
+    protected RefreshToken() {
+        // for JPA
+    }
+
+    public RefreshToken(
+            String id,
+            String sessionId,
+            Long userId,
+            String tokenHash,
+            int tokenVersion,
+            LocalDateTime createdAt,
+            LocalDateTime expiresAt
+    ) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.tokenVersion = tokenVersion;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean isRotated() {
+        return replacedBy != null;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
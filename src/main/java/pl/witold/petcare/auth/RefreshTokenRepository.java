@@ -0,0 +1,40 @@
+package pl.witold.petcare.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Modifying
+    @Query("""
+            update RefreshToken t
+            set t.revokedAt = :now
+            where t.sessionId = :sessionId and t.revokedAt is null
+            """)
+    int revokeSession(@Param("sessionId") String sessionId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update RefreshToken t
+            set t.replacedBy = :replacedBy
+            where t.id = :id and t.replacedBy is null and t.revokedAt is null
+            """)
+    int markReplaced(@Param("id") String id, @Param("replacedBy") String replacedBy);
+
+    @Query("""
+            select new pl.witold.petcare.auth.RevokedSessionView(t.sessionId, max(t.expiresAt))
+            from RefreshToken t
+            where t.revokedAt is not null and t.expiresAt > :now
+            group by t.sessionId
+            """)
+    List<RevokedSessionView> findRevokedSessions(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId and t.expiresAt < :now")
+    int deleteExpiredForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
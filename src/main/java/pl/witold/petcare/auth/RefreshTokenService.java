@@ -0,0 +1,32 @@
+package pl.witold.petcare.auth;
+
+import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.security.SecurityUser;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Opens a new refresh session for an authenticated user.
+     *
+     * @return short-lived access token together with the first refresh token of the session
+     */
+    AuthResponse issue(SecurityUser user);
+
+    /**
+     * Exchanges a refresh token for a new token pair. The presented token cannot be used again;
+     * presenting it a second time revokes the whole session.
+     *
+     * @throws org.springframework.security.authentication.BadCredentialsException if the token
+     *                                                                              is unknown, expired or revoked
+     */
+    AuthResponse refresh(String refreshToken);
+
+    /**
+     * Revokes the session of the given refresh token, including its access tokens.
+     * Unknown or malformed tokens are ignored.
+     */
+    void revoke(String refreshToken);
+}
@@ -0,0 +1,187 @@
+package pl.witold.petcare.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.auth.events.SessionRevokedEvent;
+import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.security.CustomUserDetailsService;
+import pl.witold.petcare.security.SecurityUser;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Default implementation of RefreshTokenService.
+ * <p>
+ * Refresh tokens have the form {@code sessionId.tokenId.secret}. The session id lets revoked
+ * sessions be rejected from memory; only live tokens are looked up and rotated in the database.
+ * A revoked session enters the in-memory index only after the revocation committed.
+ */
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int SECRET_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtService jwtService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RevokedSessionIndex revokedSessions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long refreshExpirationMs;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            CustomUserDetailsService userDetailsService,
+            JwtService jwtService,
+            TokenVersionRegistry tokenVersionRegistry,
+            RevokedSessionIndex revokedSessions,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.jwt.refresh-expiration-ms:1209600000}") long refreshExpirationMs // 14 days
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userDetailsService = userDetailsService;
+        this.jwtService = jwtService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.revokedSessions = revokedSessions;
+        this.eventPublisher = eventPublisher;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    @Override
+    public AuthResponse issue(SecurityUser user) {
+        refreshTokenRepository.deleteExpiredForUser(user.getId(), LocalDateTime.now());
+        return issue(user, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(String refreshToken) {
+        TokenParts parts = parse(refreshToken);
+        if (parts == null || revokedSessions.isRevoked(parts.sessionId())) {
+            throw invalidToken();
+        }
+
+        RefreshToken stored = findMatching(parts);
+        if (stored == null || stored.getRevokedAt() != null) {
+            throw invalidToken();
+        }
+        if (stored.isRotated()) {
+            // A replaced token came back, so it was copied: end the session for both holders
+            log.warn("Refresh token reuse detected for user {}, revoking session", stored.getUserId());
+            revokeSession(stored.getSessionId());
+            throw invalidToken();
+        }
+        if (stored.isExpired(LocalDateTime.now())
+                || !tokenVersionRegistry.isCurrent(stored.getUserId(), stored.getTokenVersion())) {
+            throw invalidToken();
+        }
+
+        // Conditional update, so two concurrent refreshes with one token cannot both succeed
+        String nextTokenId = UUID.randomUUID().toString();
+        if (refreshTokenRepository.markReplaced(stored.getId(), nextTokenId) == 0) {
+            throw invalidToken();
+        }
+        SecurityUser user = userDetailsService.loadUserById(stored.getUserId());
+        return issue(user, stored.getSessionId(), nextTokenId);
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        TokenParts parts = parse(refreshToken);
+        if (parts == null || revokedSessions.isRevoked(parts.sessionId())) {
+            return;
+        }
+        RefreshToken stored = findMatching(parts);
+        if (stored != null) {
+            revokeSession(stored.getSessionId());
+        }
+    }
+
+    private AuthResponse issue(SecurityUser user, String sessionId, String tokenId) {
+        LocalDateTime now = LocalDateTime.now();
+        String secret = newSecret();
+
+        refreshTokenRepository.save(new RefreshToken(
+                tokenId,
+                sessionId,
+                user.getId(),
+                sha256(secret),
+                user.getTokenVersion(),
+                now,
+                now.plus(refreshExpirationMs, ChronoUnit.MILLIS)
+        ));
+
+        String accessToken = jwtService.generateToken(user, sessionId);
+        return AuthResponse.bearer(accessToken, sessionId + "." + tokenId + "." + secret);
+    }
+
+    private RefreshToken findMatching(TokenParts parts) {
+        return refreshTokenRepository.findById(parts.tokenId())
+                .filter(token -> token.getSessionId().equals(parts.sessionId()))
+                .filter(token -> MessageDigest.isEqual(
+                        token.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                        sha256(parts.secret()).getBytes(StandardCharsets.US_ASCII)))
+                .orElse(null);
+    }
+
+    private void revokeSession(String sessionId) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeSession(sessionId, now);
+        // Tokens of the session cannot outlive the newest one issued just now
+        eventPublisher.publishEvent(new SessionRevokedEvent(sessionId, now.plus(refreshExpirationMs, ChronoUnit.MILLIS)));
+    }
+
+    private String newSecret() {
+        byte[] bytes = new byte[SECRET_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static TokenParts parse(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        String[] parts = refreshToken.split("\\.");
+        if (parts.length != 3 || parts[0].length() != 36 || parts[1].length() != 36 || parts[2].isEmpty()) {
+            return null;
+        }
+        return new TokenParts(parts[0], parts[1], parts[2]);
+    }
+
+    private static BadCredentialsException invalidToken() {
+        return new BadCredentialsException("Invalid or expired refresh token");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenParts(String sessionId, String tokenId, String secret) {
+    }
+}
@@ -0,0 +1,12 @@
+package pl.witold.petcare.auth;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revoked refresh session together with the expiry of its newest token.
+ */
+public record RevokedSessionView(
+        String sessionId,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,10 @@
+package pl.witold.petcare.auth.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when every refresh token of a session was revoked, on logout or on token reuse.
+ * {@code expiresAt} bounds the lifetime of the newest token of the session.
+ */
+public record SessionRevokedEvent(String sessionId, LocalDateTime expiresAt) {
+}
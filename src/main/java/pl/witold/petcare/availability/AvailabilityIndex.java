@@ -0,0 +1,318 @@
+package pl.witold.petcare.availability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.witold.petcare.dto.AvailabilitySlotDto;
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.WeeklySchedule;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
+import pl.witold.petcare.vet.service.BoundedVetCache;
+import pl.witold.petcare.vet.service.VetScheduleCache;
+import pl.witold.petcare.vet.service.VetTimeOffIndex;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitSlotView;
+import pl.witold.petcare.visit.VisitStatus;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory availability index. For every vet it keeps the weekly schedule, the time-off
+ * ranges and the blocking visits of days that were already requested, so repeated
+ * availability lookups are answered without touching the database.
+ * <p>
+ * Visit changes are applied incrementally after commit. Schedule and time-off changes
+ * drop the vet's calendar, which is rebuilt on next use. Calendars are kept in a bounded
+ * LRU cache; the days held per calendar are bounded by the booking horizon enforced by
+ * {@link AvailabilityServiceImpl} and past days are pruned.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private static final Set<VisitStatus> BLOCKING_STATUSES = EnumSet.of(
+            VisitStatus.SCHEDULED,
+            VisitStatus.CONFIRMED
+    );
+
+    private final VetScheduleCache vetScheduleCache;
+    private final VetTimeOffIndex vetTimeOffIndex;
+    private final VisitRepository visitRepository;
+
+    private final BoundedVetCache<VetCalendar> calendars;
+
+    public AvailabilityIndex(
+            VetScheduleCache vetScheduleCache,
+            VetTimeOffIndex vetTimeOffIndex,
+            VisitRepository visitRepository,
+            @Value("${app.cache.availability.max-size:1000}") int maxSize
+    ) {
+        this.vetScheduleCache = vetScheduleCache;
+        this.vetTimeOffIndex = vetTimeOffIndex;
+        this.visitRepository = visitRepository;
+        this.calendars = new BoundedVetCache<>(maxSize, this::loadCalendars);
+    }
+
+    /**
+     * Returns true when the calendar of the given vet is already loaded.
+     */
+    public boolean contains(Long vetProfileId) {
+        return calendars.contains(vetProfileId);
+    }
+
+    /**
+     * Returns free slots of a vet between given dates (inclusive) in chronological order.
+     * Slots which already started are skipped and at most {@code limit} slots are returned.
+     */
+    public List<AvailabilitySlotDto> findFreeSlots(Long vetProfileId, LocalDate from, LocalDate to, int limit) {
+        VetCalendar calendar = calendars.get(vetProfileId);
+        Map<LocalDate, Map<Long, TimeRange>> bookings = bookings(calendar, vetProfileId, from, to);
+
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
+        Set<LocalDate> blocked = new HashSet<>(calendar.timeOff.blockedDates(from, to));
+        List<AvailabilitySlotDto> result = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.isBefore(today) || blocked.contains(date)) {
+                continue;
+            }
+            Collection<TimeRange> booked = bookings.getOrDefault(date, Map.of()).values();
+            for (VetScheduleRuleView rule : calendar.weekly.rulesFor(date.getDayOfWeek())) {
+                int slotLen = rule.slotLengthMinutes();
+                int endMinute = rule.endTime().toSecondOfDay() / 60;
+                for (int minute = rule.startTime().toSecondOfDay() / 60; minute < endMinute; minute += slotLen) {
+                    LocalTime start = LocalTime.ofSecondOfDay(minute * 60L);
+                    LocalTime end = start.plusMinutes(slotLen);
+                    if (date.isEqual(today) && start.isBefore(now)) {
+                        continue;
+                    }
+                    if (overlapsAny(booked, start, end)) {
+                        continue;
+                    }
+                    result.add(new AvailabilitySlotDto(date, start, end));
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached calendar of a vet so it is rebuilt on next lookup.
+     */
+    public void invalidate(Long vetProfileId) {
+        calendars.invalidate(vetProfileId);
+    }
+
+    public BoundedVetCache.Stats stats() {
+        return calendars.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVisitChanged(VisitChangedEvent event) {
+        VetCalendar calendar = calendars.peek(event.vetProfileId());
+        if (calendar == null) {
+            return;
+        }
+        synchronized (calendar) {
+            calendar.modCount++;
+            calendar.bookings.computeIfPresent(event.date(), (date, day) -> {
+                Map<Long, TimeRange> updated = new HashMap<>(day);
+                if (event.blocking()) {
+                    updated.put(event.visitId(), new TimeRange(event.startTime(), event.endTime()));
+                } else {
+                    updated.remove(event.visitId());
+                }
+                return Map.copyOf(updated);
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(VetScheduleChangedEvent event) {
+        invalidate(event.vetProfileId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeOffChanged(VetTimeOffChangedEvent event) {
+        invalidate(event.vetProfileId());
+    }
+
+    // --- Loading ---
+
+    /**
+     * Loads calendars and bookings of many vets for the given range with three queries in total,
+     * skipping whatever is already cached. Used before evaluating candidates in parallel.
+     */
+    public void preload(Collection<Long> vetProfileIds, LocalDate from, LocalDate to) {
+        Map<Long, VetCalendar> loadedCalendars = calendars.getAll(vetProfileIds);
+
+        Map<Long, VetCalendar> missing = new HashMap<>();
+        Map<Long, Long> stamps = new HashMap<>();
+        for (Long id : vetProfileIds) {
+            VetCalendar calendar = loadedCalendars.get(id);
+            if (calendar.hasMissingDays(from, to)) {
+                missing.put(id, calendar);
+                stamps.put(id, calendar.stamp());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<LocalDate, Map<Long, TimeRange>>> loaded = loadBookings(missing.keySet(), from, to);
+        missing.forEach((id, calendar) ->
+                publishDays(calendar, stamps.get(id), from, to, loaded.getOrDefault(id, Map.of()), new HashMap<>()));
+    }
+
+    private Map<LocalDate, Map<Long, TimeRange>> bookings(
+            VetCalendar calendar,
+            Long vetProfileId,
+            LocalDate from,
+            LocalDate to
+    ) {
+        Map<LocalDate, Map<Long, TimeRange>> result = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<Long, TimeRange> day = calendar.bookings.get(date);
+            if (day != null) {
+                result.put(date, day);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = date;
+                }
+                lastMissing = date;
+            }
+        }
+        if (firstMissing == null) {
+            return result;
+        }
+
+        long stamp = calendar.stamp();
+        Map<LocalDate, Map<Long, TimeRange>> loaded = loadBookings(List.of(vetProfileId), firstMissing, lastMissing)
+                .getOrDefault(vetProfileId, Map.of());
+        publishDays(calendar, stamp, firstMissing, lastMissing, loaded, result);
+        return result;
+    }
+
+    /**
+     * Stores freshly loaded days in the calendar unless a visit change was applied meanwhile,
+     * in which case the snapshot is only used for the current lookup. Also prunes past days.
+     */
+    private void publishDays(
+            VetCalendar calendar,
+            long stamp,
+            LocalDate from,
+            LocalDate to,
+            Map<LocalDate, Map<Long, TimeRange>> loaded,
+            Map<LocalDate, Map<Long, TimeRange>> result
+    ) {
+        LocalDate today = LocalDate.now();
+        synchronized (calendar) {
+            boolean consistent = calendar.modCount == stamp;
+            calendar.bookings.keySet().removeIf(date -> date.isBefore(today));
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                Map<Long, TimeRange> day = Map.copyOf(loaded.getOrDefault(date, Map.of()));
+                if (consistent && !date.isBefore(today)) {
+                    Map<Long, TimeRange> existing = calendar.bookings.putIfAbsent(date, day);
+                    if (existing != null) {
+                        day = existing;
+                    }
+                }
+                result.putIfAbsent(date, day);
+            }
+        }
+    }
+
+    private Map<Long, Map<LocalDate, Map<Long, TimeRange>>> loadBookings(
+            Collection<Long> vetProfileIds,
+            LocalDate from,
+            LocalDate to
+    ) {
+        Map<Long, Map<LocalDate, Map<Long, TimeRange>>> loaded = new HashMap<>();
+        for (VisitSlotView view : visitRepository.findSlotViews(vetProfileIds, from, to, BLOCKING_STATUSES)) {
+            loaded.computeIfAbsent(view.vetProfileId(), id -> new HashMap<>())
+                    .computeIfAbsent(view.date(), date -> new HashMap<>())
+                    .put(view.id(), new TimeRange(view.startTime(), view.endTime()));
+        }
+        return loaded;
+    }
+
+    private Map<Long, VetCalendar> loadCalendars(Collection<Long> vetProfileIds) {
+        Map<Long, WeeklySchedule> weekly = vetScheduleCache.getAll(vetProfileIds);
+        Map<Long, TimeOffCalendar> timeOff = vetTimeOffIndex.getAll(vetProfileIds);
+
+        Map<Long, VetCalendar> calendarsById = new HashMap<>();
+        for (Long id : vetProfileIds) {
+            calendarsById.put(id, new VetCalendar(
+                    weekly.getOrDefault(id, WeeklySchedule.EMPTY),
+                    timeOff.getOrDefault(id, TimeOffCalendar.EMPTY)
+            ));
+        }
+        log.debug("Loaded availability calendars for vet profiles {}", vetProfileIds);
+        return calendarsById;
+    }
+
+    private static boolean overlapsAny(Collection<TimeRange> booked, LocalTime start, LocalTime end) {
+        for (TimeRange range : booked) {
+            if (range.startTime().isBefore(end) && range.endTime().isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Internal structures ---
+
+    private record TimeRange(LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Cached calendar of a single vet. Schedule and time-off are immutable snapshots,
+     * bookings are immutable per-day maps replaced on every change.
+     */
+    private static final class VetCalendar {
+
+        private final WeeklySchedule weekly;
+        private final TimeOffCalendar timeOff;
+        private final ConcurrentMap<LocalDate, Map<Long, TimeRange>> bookings = new ConcurrentHashMap<>();
+        private long modCount;
+
+        private VetCalendar(WeeklySchedule weekly, TimeOffCalendar timeOff) {
+            this.weekly = weekly;
+            this.timeOff = timeOff;
+        }
+
+        private synchronized long stamp() {
+            return modCount;
+        }
+
+        private boolean hasMissingDays(LocalDate from, LocalDate to) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!bookings.containsKey(date)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
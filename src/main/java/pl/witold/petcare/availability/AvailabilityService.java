@@ -0,0 +1,32 @@
+package pl.witold.petcare.availability;
+
+import pl.witold.petcare.dto.EarliestSlotDto;
+import pl.witold.petcare.dto.VetAvailabilityDto;
+import pl.witold.petcare.vet.VetSpecialization;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service answering availability queries based on the in-memory availability index.
+ */
+public interface AvailabilityService {
+
+    /**
+     * Returns free slots of the given vet between two dates (inclusive). Past days and days
+     * beyond the booking horizon have no free slots.
+     */
+    VetAvailabilityDto getAvailability(Long vetProfileId, LocalDate from, LocalDate to);
+
+    /**
+     * Returns the last day for which free slots are reported; it moves forward every day.
+     */
+    LocalDate bookingHorizon();
+
+    /**
+     * Returns the earliest free slot of each vet accepting new patients (optionally
+     * restricted to a specialization) within the next given number of days,
+     * ordered by slot start and limited to the given number of vets.
+     */
+    List<EarliestSlotDto> findEarliestSlots(VetSpecialization specialization, int days, int limit);
+}
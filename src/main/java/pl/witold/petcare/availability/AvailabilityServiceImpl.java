@@ -0,0 +1,121 @@
+package pl.witold.petcare.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.witold.petcare.dto.AvailabilitySlotDto;
+import pl.witold.petcare.dto.EarliestSlotDto;
+import pl.witold.petcare.dto.VetAvailabilityDto;
+import pl.witold.petcare.exceptions.VetProfileNotFoundException;
+import pl.witold.petcare.vet.VetCandidateView;
+import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementation of AvailabilityService. Deliberately not transactional:
+ * warm lookups are served from memory without borrowing a connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    static final int MAX_RANGE_DAYS = 62;
+    /**
+     * Days past this many days ahead are reported without free slots and never loaded,
+     * which bounds the days the index holds per vet.
+     */
+    static final int BOOKING_HORIZON_DAYS = 365;
+    static final int MAX_SEARCH_RESULTS = 50;
+
+    private static final Comparator<EarliestSlotDto> BY_START = Comparator
+            .comparing(EarliestSlotDto::date)
+            .thenComparing(EarliestSlotDto::startTime)
+            .thenComparing(EarliestSlotDto::vetProfileId);
+
+    private final AvailabilityIndex availabilityIndex;
+    private final VetProfileRepository vetProfileRepository;
+
+    @Override
+    public VetAvailabilityDto getAvailability(Long vetProfileId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!availabilityIndex.contains(vetProfileId) && !vetProfileRepository.existsById(vetProfileId)) {
+            throw new VetProfileNotFoundException("Vet profile with ID " + vetProfileId + " not found");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate effectiveFrom = from.isBefore(today) ? today : from;
+        LocalDate horizon = bookingHorizon();
+        LocalDate effectiveTo = to.isAfter(horizon) ? horizon : to;
+        List<AvailabilitySlotDto> slots = effectiveFrom.isAfter(effectiveTo)
+                ? List.of()
+                : availabilityIndex.findFreeSlots(vetProfileId, effectiveFrom, effectiveTo, Integer.MAX_VALUE);
+        return new VetAvailabilityDto(vetProfileId, from, to, slots);
+    }
+
+    @Override
+    public LocalDate bookingHorizon() {
+        return LocalDate.now().plusDays(BOOKING_HORIZON_DAYS);
+    }
+
+    @Override
+    public List<EarliestSlotDto> findEarliestSlots(VetSpecialization specialization, int days, int limit) {
+        if (days < 1 || days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Search range must be between 1 and " + MAX_RANGE_DAYS + " days");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        List<VetCandidateView> candidates = specialization == null
+                ? vetProfileRepository.findBookableCandidates()
+                : vetProfileRepository.findBookableCandidates(specialization);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days - 1L);
+        // Bulk-load cold calendars up front so the parallel phase below is purely in-memory
+        availabilityIndex.preload(candidates.stream().map(VetCandidateView::vetProfileId).toList(), from, to);
+
+        return candidates.parallelStream()
+                .map(candidate -> earliestSlot(candidate, from, to))
+                .filter(Objects::nonNull)
+                .sorted(BY_START)
+                .limit(limit)
+                .toList();
+    }
+
+    private EarliestSlotDto earliestSlot(VetCandidateView candidate, LocalDate from, LocalDate to) {
+        List<AvailabilitySlotDto> slots = availabilityIndex.findFreeSlots(candidate.vetProfileId(), from, to, 1);
+        if (slots.isEmpty()) {
+            return null;
+        }
+        AvailabilitySlotDto slot = slots.getFirst();
+        return new EarliestSlotDto(
+                candidate.vetProfileId(),
+                candidate.userId(),
+                candidate.fullName(),
+                slot.date(),
+                slot.startTime(),
+                slot.endTime()
+        );
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start date and end date must not be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Availability range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -16,8 +16,10 @@ import pl.witold.petcare.user.UserRepository;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetScheduleEntry;
 import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.vet.VetWeekVersion;
 import pl.witold.petcare.vet.repository.VetProfileRepository;
 import pl.witold.petcare.vet.repository.VetScheduleEntryRepository;
+import pl.witold.petcare.vet.repository.VetWeekVersionRepository;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -35,17 +37,20 @@ public class DataInitializer implements CommandLineRunner {
     private final PetRepository petRepository;
     private final VetProfileRepository vetProfileRepository;
     private final VetScheduleEntryRepository vetScheduleEntryRepository;
+    private final VetWeekVersionRepository vetWeekVersionRepository;
 
     public DataInitializer(UserRepository userRepository,
                            PasswordEncoder passwordEncoder,
                            PetRepository petRepository,
                            VetProfileRepository vetProfileRepository,
-                           VetScheduleEntryRepository vetScheduleEntryRepository) {
+                           VetScheduleEntryRepository vetScheduleEntryRepository,
+                           VetWeekVersionRepository vetWeekVersionRepository) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.petRepository = petRepository;
         this.vetProfileRepository = vetProfileRepository;
         this.vetScheduleEntryRepository = vetScheduleEntryRepository;
+        this.vetWeekVersionRepository = vetWeekVersionRepository;
     }
 
     @Override
@@ -202,6 +207,7 @@ public class DataInitializer implements CommandLineRunner {
         ));
 
         vetProfileRepository.save(profile);
+        vetWeekVersionRepository.save(new VetWeekVersion(profile.getId(), 0));
 
         // Clear any schedule entries just in case
         vetScheduleEntryRepository.deleteByVetProfile(profile);
@@ -0,0 +1,26 @@
+package pl.witold.petcare.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the login brute-force throttle.
+ * Each username and each client IP gets its own token bucket; consecutive failures
+ * beyond the threshold lock the key out for an exponentially growing time.
+ */
+@ConfigurationProperties(prefix = "app.security.login-throttle")
+public record LoginThrottleProperties(
+        @DefaultValue("5") int usernameCapacity,
+        @DefaultValue("5") int usernamePerMinute,
+        @DefaultValue("5") int usernameLockoutAfter,
+        @DefaultValue("30") int ipCapacity,
+        @DefaultValue("30") int ipPerMinute,
+        @DefaultValue("20") int ipLockoutAfter,
+        @DefaultValue("30s") Duration lockoutBase,
+        @DefaultValue("15m") Duration lockoutMax,
+        @DefaultValue("15m") Duration idleTtl,
+        @DefaultValue("100000") int maxEntries
+) {
+}
@@ -0,0 +1,13 @@
+package pl.witold.petcare.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the pet import properties. The worker pool itself is private to the import service:
+ * an {@code Executor} bean would stop Spring Boot from creating {@code applicationTaskExecutor}.
+ */
+@Configuration
+@EnableConfigurationProperties(PetImportProperties.class)
+public class PetImportConfig {
+}
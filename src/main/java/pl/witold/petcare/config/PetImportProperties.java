@@ -0,0 +1,26 @@
+package pl.witold.petcare.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for streaming pet import jobs.
+ * Each job commits its valid records in transactions of {@code chunkSize} pets and keeps at most
+ * {@code maxErrors} per-record errors; finished jobs can be polled for {@code retention}.
+ * Uploads larger than {@code maxUploadSize} are rejected while they are spooled, and NDJSON lines
+ * longer than {@code maxLineLength} characters reject their record without being buffered.
+ */
+@ConfigurationProperties(prefix = "app.pets.import")
+public record PetImportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("2") int threads,
+        @DefaultValue("8") int queueCapacity,
+        @DefaultValue("1000") int maxErrors,
+        @DefaultValue("1h") Duration retention,
+        @DefaultValue("100MB") DataSize maxUploadSize,
+        @DefaultValue("65536") int maxLineLength
+) {
+}
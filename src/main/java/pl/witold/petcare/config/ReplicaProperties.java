@@ -0,0 +1,35 @@
+package pl.witold.petcare.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for routing read-only transactions to read replicas.
+ * A replica takes reads while its last health check succeeded and, when {@code lagQuery} is set,
+ * reported at most {@code maxLag}. After a user's own write commits their reads stay on the
+ * primary for {@code readYourWritesWindow}, which must be at least {@code maxLag}; zero disables that.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("30s") Duration maxLag,
+        String lagQuery,
+        @DefaultValue("30s") Duration readYourWritesWindow
+) {
+
+    /**
+     * Connection settings of one replica.
+     */
+    public record Node(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maxPoolSize
+    ) {
+    }
+}
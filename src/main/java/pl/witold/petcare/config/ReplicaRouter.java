@@ -0,0 +1,260 @@
+package pl.witold.petcare.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DataSource} for read-only transactions. Connections come from the healthy replicas in
+ * turn, or from the primary when no replica is healthy or the current user wrote within the
+ * read-your-writes window.
+ * <p>
+ * Replicas are checked on a background thread; a check fails when the replica cannot be reached
+ * or its reported lag exceeds the limit. Writes are recorded by the primary wrapper returned from
+ * {@link #trackingWrites(DataSource)} when their transaction commits. The read-your-writes window
+ * must cover the largest lag a healthy replica may have, otherwise a user could read from a
+ * replica which has not applied their write yet.
+ */
+public class ReplicaRouter extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final long readYourWritesMs;
+
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder failoverReads = new LongAdder();
+    private final LongAdder readYourWritesReads = new LongAdder();
+    private final ScheduledExecutorService healthChecks;
+
+    public ReplicaRouter(DataSource primary, List<HikariDataSource> replicas, ReplicaProperties properties) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica must be configured when replica routing is enabled");
+        }
+        Duration window = properties.readYourWritesWindow();
+        if (!window.isZero() && window.compareTo(properties.maxLag()) < 0) {
+            throw new IllegalArgumentException("app.datasource.replicas.read-your-writes-window (" + window
+                    + ") must be at least max-lag (" + properties.maxLag() + ")");
+        }
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = properties.maxLag();
+        this.lagQuery = properties.lagQuery();
+        this.readYourWritesMs = properties.readYourWritesWindow().toMillis();
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        checkReplicas();
+        long intervalMs = properties.healthCheckInterval().toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    /**
+     * Wraps the primary so transactions run on behalf of a signed-in user start that user's
+     * read-your-writes window when they commit.
+     */
+    public DataSource trackingWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            @NonNull
+            public Connection getConnection() throws SQLException {
+                recordWrite();
+                return super.getConnection();
+            }
+        };
+    }
+
+    /**
+     * Runs the health and lag check of every replica; called periodically and at startup.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until < now);
+    }
+
+    public Stats stats() {
+        long replicaReads = 0;
+        List<ReplicaStats> nodes = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            long reads = replica.reads.sum();
+            replicaReads += reads;
+            nodes.add(new ReplicaStats(
+                    replica.dataSource.getPoolName(),
+                    replica.healthy,
+                    replica.lagSeconds,
+                    replica.checkedAt,
+                    reads,
+                    replica.lastError
+            ));
+        }
+        return new Stats(nodes, replicaReads, failoverReads.sum(), readYourWritesReads.sum(), recentWriters.size());
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private DataSource route() {
+        String user = currentUser();
+        if (user != null) {
+            Long until = recentWriters.get(user);
+            if (until != null && until >= System.currentTimeMillis()) {
+                readYourWritesReads.increment();
+                return primary;
+            }
+        }
+        int count = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                replica.reads.increment();
+                return replica.dataSource;
+            }
+        }
+        failoverReads.increment();
+        return primary;
+    }
+
+    private void recordWrite() {
+        if (readYourWritesMs <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        // The lazy proxy takes one primary connection per transaction, so this registers once
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, System.currentTimeMillis() + readYourWritesMs);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final LongAdder reads = new LongAdder();
+        private volatile boolean healthy;
+        private volatile Double lagSeconds;
+        private volatile Instant checkedAt;
+        private volatile String lastError;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void check() {
+            boolean wasHealthy = healthy;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                Double lag = null;
+                if (lagQuery == null || lagQuery.isBlank()) {
+                    statement.execute("SELECT 1");
+                } else {
+                    try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                        lag = rs.next() ? rs.getDouble(1) : null;
+                    }
+                }
+                lagSeconds = lag;
+                boolean lagging = lag != null && lag * 1000 > maxLag.toMillis();
+                lastError = lagging ? "Replica lag " + lag + "s exceeds " + maxLag : null;
+                healthy = !lagging;
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                lagSeconds = null;
+                lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            checkedAt = Instant.now();
+            if (wasHealthy != healthy) {
+                log.warn("Replica {} is now {}{}", dataSource.getPoolName(), healthy ? "healthy" : "unhealthy",
+                        lastError != null ? " (" + lastError + ")" : "");
+            }
+        }
+    }
+
+    /**
+     * Routing snapshot: reads served by replicas, reads sent to the primary because no replica was
+     * healthy, and reads kept on the primary by the read-your-writes window.
+     */
+    public record Stats(
+            List<ReplicaStats> replicas,
+            long replicaReads,
+            long failoverReads,
+            long readYourWritesReads,
+            int recentWriters
+    ) {
+    }
+
+    /**
+     * State of one replica as of its last check; the lag is {@code null} when not measured.
+     */
+    public record ReplicaStats(
+            String name,
+            boolean healthy,
+            Double lagSeconds,
+            Instant checkedAt,
+            long reads,
+            String lastError
+    ) {
+    }
+}
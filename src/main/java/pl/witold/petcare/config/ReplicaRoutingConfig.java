@@ -0,0 +1,74 @@
+package pl.witold.petcare.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one sending read-only transactions to the
+ * configured replicas. Enabled with {@code app.datasource.replicas.enabled=true}.
+ * <p>
+ * The lazy proxy takes the physical connection on the first statement, after
+ * {@code @Transactional(readOnly = true)} has marked it read-only, and only then picks the
+ * replica router or the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaProperties properties
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.nodes().size(); i++) {
+            ReplicaProperties.Node node = properties.nodes().get(i);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.url())
+                    .username(node.username())
+                    .password(node.password())
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMaximumPoolSize(node.maxPoolSize());
+            replica.setReadOnly(true);
+            // A replica which is down at startup is only marked unhealthy
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(2000);
+            replicas.add(replica);
+        }
+        return new ReplicaRouter(primaryDataSource, replicas, properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaRouter replicaRouter
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                replicaRouter.trackingWrites(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaRouter);
+        return dataSource;
+    }
+}
@@ -0,0 +1,27 @@
+package pl.witold.petcare.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration properties for the Hibernate second-level cache.
+ * Every region used by the entity mappings and cacheable queries must be listed; Hibernate
+ * fails on startup when it meets a region which is not configured here.
+ */
+@ConfigurationProperties(prefix = "app.cache.hibernate")
+public record SecondLevelCacheProperties(
+        @DefaultValue Map<String, Region> regions
+) {
+
+    /**
+     * Size and lifetime of a single cache region; a missing TTL keeps entries until evicted.
+     */
+    public record Region(
+            @DefaultValue("1000") long maxEntries,
+            Duration ttl
+    ) {
+    }
+}
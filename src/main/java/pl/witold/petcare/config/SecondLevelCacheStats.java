@@ -0,0 +1,48 @@
+package pl.witold.petcare.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-region hit and miss counters of the Hibernate second-level cache, read from Hibernate
+ * statistics. Counters stay at zero while {@code hibernate.generate_statistics} is off.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+    private final SecondLevelCacheProperties properties;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory, SecondLevelCacheProperties properties) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.properties = properties;
+    }
+
+    public Map<String, Stats> stats() {
+        Map<String, Stats> regions = new LinkedHashMap<>();
+        properties.regions().forEach((name, region) -> {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(name);
+            regions.put(name, regionStatistics == null
+                    ? new Stats(0, region.maxEntries(), 0, 0, 0)
+                    : new Stats(
+                            Math.max(regionStatistics.getElementCountInMemory(), -1),
+                            region.maxEntries(),
+                            regionStatistics.getHitCount(),
+                            regionStatistics.getMissCount(),
+                            regionStatistics.getPutCount()));
+        });
+        return regions;
+    }
+
+    /**
+     * Point-in-time statistics of one region; the size is -1 when the provider does not report it.
+     */
+    public record Stats(long size, long maxSize, long hits, long misses, long puts) {
+    }
+}
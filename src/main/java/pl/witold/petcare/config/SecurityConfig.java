@@ -1,5 +1,6 @@
 package pl.witold.petcare.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -12,8 +13,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,13 +24,15 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import pl.witold.petcare.security.jwt.JwtAuthEntryPoint;
 import pl.witold.petcare.security.jwt.JwtAuthFilter;
 import pl.witold.petcare.security.jwt.RestAccessDeniedHandler;
+import pl.witold.petcare.security.password.BoundedPasswordEncoder;
+import pl.witold.petcare.security.password.CostAwareBCryptPasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
 
 @Configuration
 @EnableMethodSecurity
-@EnableConfigurationProperties(CorsProperties.class)
+@EnableConfigurationProperties({CorsProperties.class, LoginThrottleProperties.class})
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
@@ -69,8 +72,10 @@ public class SecurityConfig {
                         .accessDeniedHandler(accessDeniedHandler)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches finish streamed responses already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public authentication endpoints
-                        .requestMatchers(p + "/auth/register", p + "/auth/login").permitAll()
+                        .requestMatchers(p + "/auth/register", p + "/auth/login", p + "/auth/refresh", p + "/auth/logout").permitAll()
                         // Public status/health endpoints
                         .requestMatchers(p + "/status/**").permitAll()
                         // Swagger / OpenAPI documentation
@@ -103,9 +108,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt hashing runs on a dedicated pool so login bursts cannot starve request threads.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password.hashing.threads:0}") int threads,
+            @Value("${app.security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password.hashing.timeout-ms:5000}") long timeoutMs
+    ) {
+        return new BoundedPasswordEncoder(
+                new CostAwareBCryptPasswordEncoder(strength),
+                threads,
+                queueCapacity,
+                timeoutMs
+        );
     }
 
     @Bean
@@ -115,6 +133,10 @@ public class SecurityConfig {
     ) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(encoder);
+        // Re-hashes on successful login when the stored BCrypt cost differs from the configured one
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService);
+        }
         return provider;
     }
 
@@ -0,0 +1,33 @@
+package pl.witold.petcare.config;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's {@link SqlStatementMetrics} scope to the thread running an async
+ * {@code Callable} or {@code StreamingResponseBody}, so statements of streamed bodies are counted.
+ */
+class SqlMetricsAsyncInterceptor implements CallableProcessingInterceptor {
+
+    private static final String DETACH_ATTR = SqlMetricsAsyncInterceptor.class.getName() + ".detach";
+
+    @Override
+    public <T> void preProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+        Object scope = request.getAttribute(SqlMetricsFilter.SCOPE_ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (scope instanceof SqlStatementMetrics.Scope requestScope) {
+            request.setAttribute(DETACH_ATTR, SqlStatementMetrics.attach(requestScope), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task, Object concurrentResult) {
+        if (request.getAttribute(DETACH_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof Runnable detach) {
+            request.removeAttribute(DETACH_ATTR, RequestAttributes.SCOPE_REQUEST);
+            detach.run();
+        }
+    }
+}
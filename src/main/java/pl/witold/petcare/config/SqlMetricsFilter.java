@@ -0,0 +1,137 @@
+package pl.witold.petcare.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Measures the SQL statements of each request, including those of the security filters.
+ * <p>
+ * The count and database time go out in a {@code Server-Timing} header, added just before the
+ * response is committed. Async bodies such as {@code StreamingResponseBody} run with the same scope
+ * (see {@link SqlMetricsAsyncInterceptor}); they are usually committed before they finish, so their
+ * statements only show in the log line written on the async dispatch. Requests above either
+ * threshold are logged as one key=value line.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    static final String SCOPE_ATTR = SqlMetricsFilter.class.getName() + ".scope";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsFilter.class);
+
+    private final boolean serverTiming;
+    private final int statementThreshold;
+    private final long timeThresholdMs;
+
+    public SqlMetricsFilter(
+            @Value("${app.sql-metrics.server-timing:true}") boolean serverTiming,
+            @Value("${app.sql-metrics.statement-threshold:20}") int statementThreshold,
+            @Value("${app.sql-metrics.time-threshold-ms:500}") long timeThresholdMs
+    ) {
+        this.serverTiming = serverTiming;
+        this.statementThreshold = statementThreshold;
+        this.timeThresholdMs = timeThresholdMs;
+    }
+
+    /**
+     * The async dispatch finishing an async request reports the statements of the whole request.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            if (!(request.getAttribute(SCOPE_ATTR) instanceof SqlStatementMetrics.Scope scope)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            Runnable detach = SqlStatementMetrics.attach(scope);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                detach.run();
+                logIfOverBudget(request, response, scope);
+            }
+            return;
+        }
+
+        try (SqlStatementMetrics.Scope scope = SqlStatementMetrics.open()) {
+            request.setAttribute(SCOPE_ATTR, scope);
+            HttpServletResponse measured = serverTiming ? new ServerTimingResponse(response, scope) : response;
+            try {
+                filterChain.doFilter(request, measured);
+            } finally {
+                // An async body commits the response later, on its own thread
+                if (!request.isAsyncStarted()) {
+                    if (measured instanceof ServerTimingResponse timed) {
+                        timed.addServerTiming();
+                    }
+                    logIfOverBudget(request, response, scope);
+                }
+            }
+        }
+    }
+
+    private void logIfOverBudget(HttpServletRequest request, HttpServletResponse response, SqlStatementMetrics.Scope scope) {
+        if (scope.statements() > statementThreshold || scope.millis() > timeThresholdMs) {
+            log.warn("SQL budget exceeded: method={} uri={} status={} statements={} db_ms={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    scope.statements(), format(scope.millis()));
+        }
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    /**
+     * Sets the header once, when the response is about to be committed or, for responses the
+     * container commits after the filter, when the filter chain returns.
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementMetrics.Scope scope;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatementMetrics.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTiming();
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            addHeader(SERVER_TIMING, "db;dur=" + format(scope.millis()) + ";desc=\"" + scope.statements() + " statements\"");
+        }
+    }
+}
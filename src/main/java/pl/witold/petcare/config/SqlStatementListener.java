@@ -0,0 +1,33 @@
+package pl.witold.petcare.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener feeding {@link SqlStatementMetrics}; registered for every session
+ * through {@code hibernate.session.events.auto}. A JDBC batch counts as one statement.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementMetrics.recordStatement(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementMetrics.recordStatement(System.nanoTime() - batchStart);
+    }
+}
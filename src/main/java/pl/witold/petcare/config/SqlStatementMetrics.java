@@ -0,0 +1,81 @@
+package pl.witold.petcare.config;
+
+/**
+ * Per-thread count and duration of JDBC statements executed by Hibernate.
+ * <p>
+ * Nothing is recorded unless a {@link Scope} is open on the thread. Scopes nest: a statement is
+ * added to every open scope, so a test can measure a request which the request filter measures too.
+ */
+public final class SqlStatementMetrics {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Starts measuring the statements executed on this thread until the returned scope is closed.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Makes the given scope the innermost one on this thread, e.g. on the async thread continuing
+     * a request.
+     *
+     * @return restores what was current before; run it on the same thread
+     */
+    static Runnable attach(Scope scope) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(scope);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    static void recordStatement(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.nanos += nanos;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int statements;
+        private long nanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) {
+                return;
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
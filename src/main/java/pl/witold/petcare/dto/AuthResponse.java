@@ -1,13 +1,19 @@
 package pl.witold.petcare.dto;
 
 /**
- * Represents authentication response containing JWT token.
+ * Represents authentication response containing JWT token and, after login or refresh,
+ * the refresh token to obtain the next one.
  */
 public record AuthResponse(
         String accessToken,
-        String tokenType
+        String tokenType,
+        String refreshToken
 ) {
     public static AuthResponse bearer(String token) {
-        return new AuthResponse(token, "Bearer");
+        return new AuthResponse(token, "Bearer", null);
+    }
+
+    public static AuthResponse bearer(String token, String refreshToken) {
+        return new AuthResponse(token, "Bearer", refreshToken);
     }
 }
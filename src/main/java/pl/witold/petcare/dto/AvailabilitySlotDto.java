@@ -0,0 +1,14 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO describing a single free, bookable slot of a vet.
+ */
+public record AvailabilitySlotDto(
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
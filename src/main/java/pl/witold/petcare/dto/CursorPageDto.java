@@ -0,0 +1,17 @@
+package pl.witold.petcare.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset (cursor) paginated listing.
+ *
+ * @param content       items of the page
+ * @param next          opaque cursor of the following page, {@code null} on the last page
+ * @param totalElements total number of items, {@code null} unless requested
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        String next,
+        Long totalElements
+) {
+}
@@ -0,0 +1,17 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO describing the earliest free slot of a single vet, returned by cross-vet search.
+ */
+public record EarliestSlotDto(
+        Long vetProfileId,
+        Long vetUserId,
+        String vetFullName,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
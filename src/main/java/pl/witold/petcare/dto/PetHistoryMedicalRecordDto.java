@@ -0,0 +1,21 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a medical record in a pet history export.
+ */
+public record PetHistoryMedicalRecordDto(
+        Long id,
+        Long petId,
+        Long visitId,
+        Long vetProfileId,
+        String vetFullName,
+        String title,
+        String diagnosis,
+        String treatment,
+        String prescriptions,
+        String notes,
+        LocalDateTime createdAt
+) {
+}
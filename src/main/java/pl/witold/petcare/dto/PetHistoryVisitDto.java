@@ -0,0 +1,23 @@
+package pl.witold.petcare.dto;
+
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for a visit in a pet history export.
+ */
+public record PetHistoryVisitDto(
+        Long id,
+        Long petId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        VisitStatus status,
+        String reason,
+        String notes,
+        Long vetProfileId,
+        String vetFullName
+) {
+}
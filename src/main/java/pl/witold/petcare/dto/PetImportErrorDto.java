@@ -0,0 +1,14 @@
+package pl.witold.petcare.dto;
+
+/**
+ * A rejected record of a streaming pet import.
+ *
+ * @param record 1-based position of the record in the uploaded file
+ * @param line   line of the uploaded file where the record starts
+ */
+public record PetImportErrorDto(
+        long record,
+        int line,
+        String message
+) {
+}
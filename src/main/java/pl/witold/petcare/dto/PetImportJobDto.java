@@ -0,0 +1,25 @@
+package pl.witold.petcare.dto;
+
+import pl.witold.petcare.pet.PetImportStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for polling the progress of a streaming pet import.
+ * {@code failure} is set when the job stopped early; chunks committed before that are kept.
+ */
+public record PetImportJobDto(
+        UUID id,
+        PetImportStatus status,
+        long processed,
+        long imported,
+        long rejected,
+        List<PetImportErrorDto> errors,
+        boolean errorsTruncated,
+        String failure,
+        Instant createdAt,
+        Instant finishedAt
+) {
+}
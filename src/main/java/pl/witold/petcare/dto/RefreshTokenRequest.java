@@ -0,0 +1,13 @@
+package pl.witold.petcare.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Refresh token presented to obtain a new token pair or to end a session.
+ */
+public record RefreshTokenRequest(
+
+        @NotBlank(message = "Refresh token cannot be empty")
+        String refreshToken
+) {
+}
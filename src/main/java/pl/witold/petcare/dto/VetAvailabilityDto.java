@@ -0,0 +1,15 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for returning free slots of a vet within a date range.
+ */
+public record VetAvailabilityDto(
+        Long vetProfileId,
+        LocalDate from,
+        LocalDate to,
+        List<AvailabilitySlotDto> slots
+) {
+}
@@ -0,0 +1,19 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the week view of a vet. Pets and owners are listed once
+ * and referenced by id from visits.
+ */
+public record VetWeekDto(
+        Long vetProfileId,
+        LocalDate weekStart,
+        LocalDate weekEnd,
+        List<VetWeekVisitDto> visits,
+        List<VetWeekPetDto> pets,
+        List<VetWeekOwnerDto> owners,
+        List<AvailabilitySlotDto> freeSlots
+) {
+}
@@ -0,0 +1,10 @@
+package pl.witold.petcare.dto;
+
+/**
+ * DTO describing a pet owner referenced from the vet week view.
+ */
+public record VetWeekOwnerDto(
+        Long id,
+        String fullName
+) {
+}
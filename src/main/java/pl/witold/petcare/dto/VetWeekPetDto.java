@@ -0,0 +1,14 @@
+package pl.witold.petcare.dto;
+
+import pl.witold.petcare.pet.Species;
+
+/**
+ * DTO describing a pet referenced from the vet week view.
+ */
+public record VetWeekPetDto(
+        Long id,
+        String name,
+        Species species,
+        Long ownerId
+) {
+}
@@ -0,0 +1,20 @@
+package pl.witold.petcare.dto;
+
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO describing a single visit in the vet week view.
+ */
+public record VetWeekVisitDto(
+        Long id,
+        Long petId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        VisitStatus status,
+        String reason
+) {
+}
@@ -0,0 +1,13 @@
+package pl.witold.petcare.dto;
+
+import java.util.List;
+
+/**
+ * DTO for returning per-occurrence results of a batch booking.
+ */
+public record VisitBatchResultDto(
+        int acceptedCount,
+        int rejectedCount,
+        List<VisitOccurrenceResultDto> occurrences
+) {
+}
@@ -0,0 +1,18 @@
+package pl.witold.petcare.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO describing the outcome of a single occurrence of a batch booking.
+ * Accepted occurrences carry the created visit id, rejected ones the reason.
+ */
+public record VisitOccurrenceResultDto(
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean accepted,
+        Long visitId,
+        String error
+) {
+}
@@ -0,0 +1,7 @@
+package pl.witold.petcare.exceptions;
+
+public class PetImportJobNotFoundException extends NotFoundException {
+    public PetImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -15,7 +15,10 @@ import java.time.LocalDateTime;
         name = "medical_records",
         indexes = {
                 @Index(name = "idx_medical_records_pet_id", columnList = "pet_id"),
-                @Index(name = "idx_medical_records_vet_profile_id", columnList = "vet_profile_id")
+                @Index(name = "idx_medical_records_vet_profile_id", columnList = "vet_profile_id"),
+                @Index(name = "idx_medical_records_pet_created_id", columnList = "pet_id, created_at, id"),
+                @Index(name = "idx_medical_records_vet_created_id", columnList = "vet_profile_id, created_at, id"),
+                @Index(name = "idx_medical_records_created_id", columnList = "created_at, id")
         },
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_medical_records_visit_id", columnNames = {"visit_id"})
@@ -24,7 +27,8 @@ import java.time.LocalDateTime;
 public class MedicalRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_records_seq")
+    @SequenceGenerator(name = "medical_records_seq", sequenceName = "medical_records_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.EAGER)
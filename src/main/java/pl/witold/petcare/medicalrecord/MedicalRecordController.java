@@ -1,6 +1,7 @@
 package pl.witold.petcare.medicalrecord;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -14,6 +15,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.MedicalRecordResponseDto;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordCreateCommand;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordUpdateCommand;
@@ -75,6 +77,37 @@ public class MedicalRecordController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(
+            summary = "Scroll medical records for a pet",
+            description = "Returns medical records of the given pet, newest first. Access is checked against pet visibility. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of medical records for the pet",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/by-pet/{petId}/scroll")
+    public ResponseEntity<CursorPageDto<MedicalRecordResponseDto>> scrollForPet(
+            @Parameter(description = "Pet id", example = "1")
+            @PathVariable Long petId,
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(medicalRecordService.scrollForPet(petId, cursor, size, withTotal));
+    }
+
     @Operation(
             summary = "Get medical records for current vet",
             description = "Returns a paginated list of medical records authored by the currently authenticated vet, newest first. " +
@@ -93,6 +126,35 @@ public class MedicalRecordController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(
+            summary = "Scroll medical records for current vet",
+            description = "Returns medical records authored by the currently authenticated vet, newest first. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of medical records for current vet",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/me/scroll")
+    public ResponseEntity<CursorPageDto<MedicalRecordResponseDto>> scrollForCurrentVet(
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(medicalRecordService.scrollForCurrentVet(cursor, size, withTotal));
+    }
+
     @Operation(
             summary = "Get medical record by visit id",
             description = "Returns a medical record if it exists for the given visit id."
@@ -159,4 +221,33 @@ public class MedicalRecordController {
         Page<MedicalRecordResponseDto> page = medicalRecordService.getAll(pageable);
         return ResponseEntity.ok(page);
     }
+
+    @Operation(
+            summary = "Scroll all medical records",
+            description = "Returns all medical records, newest first. Intended for admin or vet dashboards. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of all medical records",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<MedicalRecordResponseDto>> scrollAll(
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(medicalRecordService.scrollAll(cursor, size, withTotal));
+    }
 }
@@ -0,0 +1,37 @@
+package pl.witold.petcare.medicalrecord;
+
+import pl.witold.petcare.pagination.CursorPaging;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in medical record listings ordered by (createdAt, id), newest first.
+ */
+record MedicalRecordCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Position after every stored record, used for the first page.
+     */
+    static final MedicalRecordCursor START = new MedicalRecordCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    static MedicalRecordCursor of(MedicalRecordRow record) {
+        return new MedicalRecordCursor(record.createdAt(), record.id());
+    }
+
+    static MedicalRecordCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        String[] parts = CursorPaging.decode(cursor, 2);
+        try {
+            return new MedicalRecordCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw CursorPaging.invalidCursor();
+        }
+    }
+
+    String encode() {
+        return CursorPaging.encode(createdAt, id);
+    }
+}
@@ -1,32 +1,37 @@
 package pl.witold.petcare.medicalrecord;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import pl.witold.petcare.dto.PetHistoryMedicalRecordDto;
+import pl.witold.petcare.pet.PetHistoryExportService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
 
     @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user", "vetProfile.specializations", "visit"})
     List<MedicalRecord> findByPetIdOrderByCreatedAtDesc(Long petId);
 
-    @Query(value = """
-            select distinct m from MedicalRecord m
-            left join fetch m.pet p
-            left join fetch p.owner
-            left join fetch m.vetProfile vp
-            left join fetch vp.user
-            left join fetch vp.specializations
-            left join fetch m.visit
-            where m.pet.id = :petId
-            order by m.createdAt desc
-            """, countQuery = "select count(distinct m) from MedicalRecord m where m.pet.id = :petId")
-    Page<MedicalRecord> findByPetIdOrderByCreatedAtDesc(@Param("petId") Long petId, Pageable pageable);
+    /**
+     * Page of a pet's records read as flat rows; only to-one associations are joined, so the row
+     * limit is applied by the database.
+     */
+    @Query(value = MedicalRecordRow.SELECT + """
+            where p.id = :petId
+            order by m.createdAt desc, m.id desc
+            """, countQuery = "select count(m) from MedicalRecord m where m.pet.id = :petId")
+    Page<MedicalRecordRow> findRowsByPetId(@Param("petId") Long petId, Pageable pageable);
 
     @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user", "vetProfile.specializations", "visit"})
     Optional<MedicalRecord> findByVisitId(Long visitId);
@@ -34,31 +39,80 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
     @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user", "vetProfile.specializations", "visit"})
     List<MedicalRecord> findByVetProfileIdOrderByCreatedAtDesc(Long vetProfileId);
 
-    @Query(value = """
-            select distinct m from MedicalRecord m
-            left join fetch m.pet p
-            left join fetch p.owner
-            left join fetch m.vetProfile vp
-            left join fetch vp.user
-            left join fetch vp.specializations
-            left join fetch m.visit
-            where m.vetProfile.id = :vetProfileId
-            order by m.createdAt desc
-            """, countQuery = "select count(distinct m) from MedicalRecord m where m.vetProfile.id = :vetProfileId")
-    Page<MedicalRecord> findByVetProfileIdOrderByCreatedAtDesc(@Param("vetProfileId") Long vetProfileId, Pageable pageable);
+    @Query(value = MedicalRecordRow.SELECT + """
+            where vp.id = :vetProfileId
+            order by m.createdAt desc, m.id desc
+            """, countQuery = "select count(m) from MedicalRecord m where m.vetProfile.id = :vetProfileId")
+    Page<MedicalRecordRow> findRowsByVetProfileId(@Param("vetProfileId") Long vetProfileId, Pageable pageable);
 
     @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user", "vetProfile.specializations", "visit"})
     List<MedicalRecord> findAllByOrderByCreatedAtDesc();
 
-    @Query(value = """
-            select distinct m from MedicalRecord m
-            left join fetch m.pet p
-            left join fetch p.owner
-            left join fetch m.vetProfile vp
-            left join fetch vp.user
-            left join fetch vp.specializations
-            left join fetch m.visit
-            order by m.createdAt desc
-            """, countQuery = "select count(distinct m) from MedicalRecord m")
-    Page<MedicalRecord> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query(value = MedicalRecordRow.SELECT + """
+            order by m.createdAt desc, m.id desc
+            """, countQuery = "select count(m) from MedicalRecord m")
+    Page<MedicalRecordRow> findAllRows(Pageable pageable);
+
+    /**
+     * Keyset page of a pet's records, newest first, following the given (createdAt, id) position.
+     */
+    @Query(MedicalRecordRow.SELECT + """
+            where p.id = :petId
+              and m.createdAt <= :createdAt
+              and (m.createdAt < :createdAt or m.id < :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    Slice<MedicalRecordRow> findByPetIdBefore(
+            @Param("petId") Long petId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(MedicalRecordRow.SELECT + """
+            where vp.id = :vetProfileId
+              and m.createdAt <= :createdAt
+              and (m.createdAt < :createdAt or m.id < :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    Slice<MedicalRecordRow> findByVetProfileIdBefore(
+            @Param("vetProfileId") Long vetProfileId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(MedicalRecordRow.SELECT + """
+            where m.createdAt <= :createdAt
+              and (m.createdAt < :createdAt or m.id < :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    Slice<MedicalRecordRow> findAllBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    long countByPetId(Long petId);
+
+    long countByVetProfileId(Long vetProfileId);
+
+    /**
+     * Streams the medical records of an owner's pets ordered by pet id, matching {@code PetRepository#streamByOwnerId}.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PetHistoryExportService.FETCH_SIZE))
+    @Query("""
+            select new pl.witold.petcare.dto.PetHistoryMedicalRecordDto(
+                m.id, p.id, vi.id, vp.id, u.fullName,
+                m.title, m.diagnosis, m.treatment, m.prescriptions, m.notes, m.createdAt
+            )
+            from MedicalRecord m
+            join m.pet p
+            join m.visit vi
+            join m.vetProfile vp
+            join vp.user u
+            where p.owner.id = :ownerId
+            order by p.id, m.createdAt, m.id
+            """)
+    Stream<PetHistoryMedicalRecordDto> streamHistoryByOwnerId(@Param("ownerId") Long ownerId);
 }
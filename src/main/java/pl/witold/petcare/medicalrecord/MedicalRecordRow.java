@@ -0,0 +1,128 @@
+package pl.witold.petcare.medicalrecord;
+
+import pl.witold.petcare.dto.MedicalRecordResponseDto;
+import pl.witold.petcare.dto.VetProfileResponseDto;
+import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.pet.Sex;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.visit.VisitRow;
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Flat projection of a medical record with its visit, pet, owner and vet, read for list endpoints
+ * without loading managed entities. A record is always created for its visit's pet and vet, so
+ * the visit part of the response reuses the same pet and vet columns.
+ * <p>
+ * Vet specializations are a collection and are loaded separately for the whole page.
+ */
+public record MedicalRecordRow(
+        Long id,
+        String title,
+        String diagnosis,
+        String treatment,
+        String prescriptions,
+        String notes,
+        LocalDateTime createdAt,
+        Long visitId,
+        LocalDate visitDate,
+        LocalTime visitStartTime,
+        LocalTime visitEndTime,
+        VisitStatus visitStatus,
+        String visitReason,
+        String visitNotes,
+        Long petId,
+        String petName,
+        Species petSpecies,
+        Sex petSex,
+        String petBreed,
+        LocalDate petBirthDate,
+        Integer petBirthYear,
+        Double petWeight,
+        String petNotes,
+        Long ownerId,
+        String ownerFullName,
+        Long vetProfileId,
+        String vetBio,
+        boolean vetAcceptsNewPatients,
+        Integer vetAverageVisitLengthMinutes,
+        Long vetUserId,
+        String vetFullName,
+        String vetUsername,
+        String vetEmail
+) {
+
+    /**
+     * Select clause and joins shared by the row queries; callers append the where and order by clauses.
+     */
+    static final String SELECT = """
+            select new pl.witold.petcare.medicalrecord.MedicalRecordRow(
+                m.id, m.title, m.diagnosis, m.treatment, m.prescriptions, m.notes, m.createdAt,
+                vi.id, vi.date, vi.startTime, vi.endTime, vi.status, vi.reason, vi.notes,
+                p.id, p.name, p.species, p.sex, p.breed, p.birthDate, p.birthYear, p.weight, p.notes,
+                o.id, o.fullName,
+                vp.id, vp.bio, vp.acceptsNewPatients, vp.averageVisitLengthMinutes,
+                u.id, u.fullName, u.username, u.email
+            )
+            from MedicalRecord m
+            join m.visit vi
+            join m.pet p
+            join p.owner o
+            join m.vetProfile vp
+            join vp.user u
+            """;
+
+    public MedicalRecordResponseDto toDto(Set<VetSpecialization> specializations) {
+        VisitResponseDto visit = new VisitRow(
+                visitId,
+                visitDate,
+                visitStartTime,
+                visitEndTime,
+                visitStatus,
+                visitReason,
+                visitNotes,
+                petId,
+                petName,
+                petSpecies,
+                petSex,
+                petBreed,
+                petBirthDate,
+                petBirthYear,
+                petWeight,
+                petNotes,
+                ownerId,
+                ownerFullName,
+                vetProfileId,
+                vetUserId,
+                vetFullName
+        ).toDto();
+        VetProfileResponseDto vetProfile = new VetProfileResponseDto(
+                vetProfileId,
+                vetUserId,
+                vetFullName,
+                vetUsername,
+                vetEmail,
+                vetBio,
+                vetAcceptsNewPatients,
+                vetAverageVisitLengthMinutes,
+                specializations
+        );
+        return new MedicalRecordResponseDto(
+                id,
+                visit.pet(),
+                vetProfile,
+                visit,
+                title,
+                diagnosis,
+                treatment,
+                prescriptions,
+                notes,
+                createdAt
+        );
+    }
+}
@@ -2,6 +2,7 @@ package pl.witold.petcare.medicalrecord;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.MedicalRecordResponseDto;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordCreateCommand;
 
@@ -16,10 +17,20 @@ public interface MedicalRecordService {
 
     Page<MedicalRecordResponseDto> getForPet(Long petId, Pageable pageable);
 
+    /**
+     * Returns a keyset page of the pet's records, newest first.
+     *
+     * @param cursor    {@code next} value of the previous page, {@code null} for the first page
+     * @param withTotal whether to also count all records of the pet
+     */
+    CursorPageDto<MedicalRecordResponseDto> scrollForPet(Long petId, String cursor, int size, boolean withTotal);
+
     List<MedicalRecordResponseDto> getForCurrentVet();
 
     Page<MedicalRecordResponseDto> getForCurrentVet(Pageable pageable);
 
+    CursorPageDto<MedicalRecordResponseDto> scrollForCurrentVet(String cursor, int size, boolean withTotal);
+
     Optional<MedicalRecordResponseDto> getByVisitId(Long visitId);
 
     MedicalRecordResponseDto update(Long id, pl.witold.petcare.medicalrecord.commands.MedicalRecordUpdateCommand command);
@@ -29,4 +40,6 @@ public interface MedicalRecordService {
     List<MedicalRecordResponseDto> getAll();
 
     Page<MedicalRecordResponseDto> getAll(Pageable pageable);
+
+    CursorPageDto<MedicalRecordResponseDto> scrollAll(String cursor, int size, boolean withTotal);
 }
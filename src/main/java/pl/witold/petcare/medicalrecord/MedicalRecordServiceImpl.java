@@ -4,21 +4,25 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.MedicalRecordResponseDto;
 import pl.witold.petcare.exceptions.DuplicateMedicalRecordException;
 import pl.witold.petcare.exceptions.MedicalRecordStatusNotAllowedException;
 import pl.witold.petcare.exceptions.ResourceNotFoundException;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordCreateCommand;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordUpdateCommand;
+import pl.witold.petcare.pagination.CursorPaging;
 import pl.witold.petcare.pet.Pet;
 import pl.witold.petcare.pet.PetAccessService;
 import pl.witold.petcare.pet.PetService;
 import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.user.Role;
 import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.VetSpecialization;
 import pl.witold.petcare.vet.service.VetProfileService;
 import pl.witold.petcare.visit.Visit;
 import pl.witold.petcare.visit.VisitRepository;
@@ -26,8 +30,11 @@ import pl.witold.petcare.visit.VisitStatus;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -89,8 +96,18 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
         petAccessService.checkCanView(pet);
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return medicalRecordRepository.findByPetIdOrderByCreatedAtDesc(pet.getId(), unsortedPageable)
-                .map(MedicalRecordMapper::toDto);
+        return toPage(medicalRecordRepository.findRowsByPetId(pet.getId(), unsortedPageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MedicalRecordResponseDto> scrollForPet(Long petId, String cursor, int size, boolean withTotal) {
+        Pet pet = petService.getById(petId);
+        petAccessService.checkCanView(pet);
+        MedicalRecordCursor before = MedicalRecordCursor.decode(cursor);
+        Slice<MedicalRecordRow> slice = medicalRecordRepository.findByPetIdBefore(
+                pet.getId(), before.createdAt(), before.id(), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? medicalRecordRepository.countByPetId(pet.getId()) : null);
     }
 
     @Override
@@ -109,8 +126,17 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
         VetProfile profile = vetProfileService.getOrCreateCurrentVetProfile();
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return medicalRecordRepository.findByVetProfileIdOrderByCreatedAtDesc(profile.getId(), unsortedPageable)
-                .map(MedicalRecordMapper::toDto);
+        return toPage(medicalRecordRepository.findRowsByVetProfileId(profile.getId(), unsortedPageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MedicalRecordResponseDto> scrollForCurrentVet(String cursor, int size, boolean withTotal) {
+        VetProfile profile = vetProfileService.getOrCreateCurrentVetProfile();
+        MedicalRecordCursor before = MedicalRecordCursor.decode(cursor);
+        Slice<MedicalRecordRow> slice = medicalRecordRepository.findByVetProfileIdBefore(
+                profile.getId(), before.createdAt(), before.id(), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? medicalRecordRepository.countByVetProfileId(profile.getId()) : null);
     }
 
     @Override
@@ -153,11 +179,39 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
     public Page<MedicalRecordResponseDto> getAll(Pageable pageable) {
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return medicalRecordRepository.findAllByOrderByCreatedAtDesc(unsortedPageable)
-                .map(MedicalRecordMapper::toDto);
+        return toPage(medicalRecordRepository.findAllRows(unsortedPageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MedicalRecordResponseDto> scrollAll(String cursor, int size, boolean withTotal) {
+        MedicalRecordCursor before = MedicalRecordCursor.decode(cursor);
+        Slice<MedicalRecordRow> slice = medicalRecordRepository.findAllBefore(
+                before.createdAt(), before.id(), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? medicalRecordRepository.count() : null);
     }
 
     // --- Private helpers ---
+    private Page<MedicalRecordResponseDto> toPage(Page<MedicalRecordRow> rows) {
+        Function<MedicalRecordRow, MedicalRecordResponseDto> mapper = rowMapper(rows.getContent());
+        return rows.map(mapper);
+    }
+
+    private CursorPageDto<MedicalRecordResponseDto> toCursorPage(Slice<MedicalRecordRow> slice, Long total) {
+        return CursorPaging.toPage(slice, row -> MedicalRecordCursor.of(row).encode(), rowMapper(slice.getContent()), total);
+    }
+
+    /**
+     * Maps rows of one page to DTOs, loading the vet specializations of the whole page in one query.
+     */
+    private Function<MedicalRecordRow, MedicalRecordResponseDto> rowMapper(List<MedicalRecordRow> rows) {
+        Set<Long> vetProfileIds = rows.stream()
+                .map(MedicalRecordRow::vetProfileId)
+                .collect(Collectors.toSet());
+        Map<Long, Set<VetSpecialization>> specializations = vetProfileService.getSpecializations(vetProfileIds);
+        return row -> row.toDto(specializations.getOrDefault(row.vetProfileId(), Set.of()));
+    }
+
     private void assertCanModifyForVet(VetProfile targetProfile, String actionPhrase) {
         boolean isAdmin = currentUserService.hasAnyRole(Role.ADMIN);
         if (isAdmin) return;
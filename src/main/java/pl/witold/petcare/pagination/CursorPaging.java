@@ -0,0 +1,83 @@
+package pl.witold.petcare.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import pl.witold.petcare.dto.CursorPageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by keyset paginated listings.
+ * <p>
+ * A cursor is the sort key of the last item of a page, encoded as URL-safe Base64 so clients
+ * treat it as opaque. The next page is read with a range predicate on that key instead of an
+ * offset, so its cost does not grow with the page depth.
+ */
+public final class CursorPaging {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private CursorPaging() {
+    }
+
+    public static String encode(Object... keyParts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keyParts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keyParts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a cursor into its key parts.
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw invalidCursor();
+        }
+        return parts;
+    }
+
+    public static IllegalArgumentException invalidCursor() {
+        return new IllegalArgumentException("Invalid page cursor");
+    }
+
+    /**
+     * First slice of the requested size; sorting is part of the keyset queries.
+     */
+    public static Pageable firstSlice(int requestedSize) {
+        return PageRequest.of(0, Math.clamp(requestedSize, 1, MAX_SIZE));
+    }
+
+    public static <E, T> CursorPageDto<T> toPage(
+            Slice<E> slice,
+            Function<E, String> cursorOf,
+            Function<E, T> mapper,
+            Long totalElements
+    ) {
+        List<E> items = slice.getContent();
+        String next = slice.hasNext() && !items.isEmpty()
+                ? cursorOf.apply(items.get(items.size() - 1))
+                : null;
+        return new CursorPageDto<>(items.stream().map(mapper).toList(), next, totalElements);
+    }
+}
@@ -9,11 +9,17 @@ import java.time.LocalDate;
 
 @Getter
 @Entity
-@Table(name = "pets")
+@Table(
+        name = "pets",
+        indexes = {
+                @Index(name = "idx_pets_owner_id_id", columnList = "owner_id, id")
+        }
+)
 public class Pet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pets_seq")
+    @SequenceGenerator(name = "pets_seq", sequenceName = "pets_seq", allocationSize = 50)
     private Long id;
 
     @Setter
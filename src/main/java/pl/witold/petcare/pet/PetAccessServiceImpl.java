@@ -5,7 +5,6 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.user.Role;
-import pl.witold.petcare.user.User;
 
 /**
  * Default implementation of PetAccessService.
@@ -39,8 +38,7 @@ public class PetAccessServiceImpl implements PetAccessService {
         if (currentUserService.hasAnyRole(Role.ADMIN, Role.VET)) {
             return true;
         }
-        User currentUser = currentUserService.getCurrentUser();
-        return pet.getOwner().getId().equals(currentUser.getId());
+        return pet.getOwner().getId().equals(currentUserService.getCurrentUserId());
     }
 
     @Override
@@ -51,7 +49,6 @@ public class PetAccessServiceImpl implements PetAccessService {
         if (currentUserService.hasAnyRole(Role.ADMIN, Role.VET)) {
             return true;
         }
-        User currentUser = currentUserService.getCurrentUser();
-        return pet.getOwner().getId().equals(currentUser.getId());
+        return pet.getOwner().getId().equals(currentUserService.getCurrentUserId());
     }
 }
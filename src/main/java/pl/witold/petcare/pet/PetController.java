@@ -13,15 +13,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.PetImportDto;
 import pl.witold.petcare.dto.PetResponseDto;
 import pl.witold.petcare.pet.commands.PetCreateCommand;
 import pl.witold.petcare.pet.commands.PetUpdateCommand;
-import pl.witold.petcare.user.User;
-import pl.witold.petcare.user.UserService;
+import pl.witold.petcare.security.CurrentUserService;
 
 import java.util.List;
 
@@ -38,7 +41,9 @@ import java.util.List;
 public class PetController {
 
     private final PetService petService;
-    private final UserService userService;
+    private final PetHistoryExportService petHistoryExportService;
+    private final PetHistoryExportLimiter petHistoryExportLimiter;
+    private final CurrentUserService currentUserService;
 
     /**
      * Creates a new pet.
@@ -88,9 +93,9 @@ public class PetController {
             )
     )
     @GetMapping("/me/export")
-    public ResponseEntity<List<PetImportDto>> exportMyPets(Authentication authentication) {
-        User currentUser = userService.getByUsername(authentication.getName());
-        List<PetImportDto> exported = petService.getByOwnerId(currentUser.getId())
+    public ResponseEntity<List<PetImportDto>> exportMyPets() {
+        Long currentUserId = currentUserService.getCurrentUserId();
+        List<PetImportDto> exported = petService.getByOwnerId(currentUserId)
                 .stream()
                 .map(PetMapper::toImportDto)
                 .toList();
@@ -100,6 +105,52 @@ public class PetController {
         return ResponseEntity.ok(exported);
     }
 
+    /**
+     * Streams the current user's pets with their visits and medical records.
+     */
+    @Operation(
+            summary = "Export current user's pet history",
+            description = "Streams every pet of the current user with its visits and medical records. "
+                    + "NDJSON writes one {pet, visits, medicalRecords} object per line; JSON_GZIP writes a "
+                    + "gzip-compressed JSON array of the same objects."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Pet history stream",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = "application/gzip")
+            }
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Too many exports are running; retry later"
+    )
+    @GetMapping("/me/export/history")
+    public ResponseEntity<StreamingResponseBody> exportMyPetHistory(
+            @Parameter(description = "Output format", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") PetHistoryExportFormat format
+    ) {
+        Long currentUserId = currentUserService.getCurrentUserId();
+        boolean gzip = format == PetHistoryExportFormat.JSON_GZIP;
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(gzip ? "pet-history.json.gz" : "pet-history.ndjson")
+                .build();
+        // The slot is taken on the request thread, so a busy server answers 503 before streaming starts
+        Runnable release = petHistoryExportLimiter.acquire();
+        StreamingResponseBody body = out -> {
+            try {
+                petHistoryExportService.exportHistory(currentUserId, format, out);
+            } finally {
+                release.run();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
     /**
      * Import pets from JSON and assign them to the current user. New IDs will be generated.
      */
@@ -117,14 +168,13 @@ public class PetController {
     )
     @PostMapping("/me/import")
     public ResponseEntity<List<PetResponseDto>> importMyPets(
-            Authentication authentication,
             @Valid @org.springframework.web.bind.annotation.RequestBody List<PetImportDto> payload
     ) {
         if (payload == null || payload.isEmpty()) {
             throw new IllegalArgumentException("At least one pet must be provided for import");
         }
-        User currentUser = userService.getByUsername(authentication.getName());
-        List<PetResponseDto> created = petService.importForOwner(currentUser.getId(), payload)
+        Long currentUserId = currentUserService.getCurrentUserId();
+        List<PetResponseDto> created = petService.importForOwner(currentUserId, payload)
                 .stream()
                 .map(PetMapper::toDto)
                 .toList();
@@ -152,9 +202,36 @@ public class PetController {
     public ResponseEntity<Page<PetResponseDto>> getAll(
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<Pet> pets = petService.getAll(pageable);
-        Page<PetResponseDto> result = pets.map(PetMapper::toDto);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(petService.getAll(pageable));
+    }
+
+    @Operation(
+            summary = "Scroll all pets",
+            description = "Returns all pets ordered by id. Intended mainly for VET and ADMIN usage. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of pets returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<PetResponseDto>> scrollAll(
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(petService.scrollAll(cursor, size, withTotal));
     }
 
     /**
@@ -209,9 +286,38 @@ public class PetController {
             @PathVariable Long ownerId,
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<Pet> pets = petService.getByOwnerId(ownerId, pageable);
-        Page<PetResponseDto> result = pets.map(PetMapper::toDto);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(petService.getByOwnerId(ownerId, pageable));
+    }
+
+    @Operation(
+            summary = "Scroll pets by owner id",
+            description = "Returns pets belonging to the given owner id ordered by id. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of pets for the given owner returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/owner/{ownerId}/scroll")
+    public ResponseEntity<CursorPageDto<PetResponseDto>> scrollByOwner(
+            @Parameter(description = "Owner id", example = "1")
+            @PathVariable Long ownerId,
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(petService.scrollByOwnerId(ownerId, cursor, size, withTotal));
     }
 
     /**
@@ -234,9 +340,9 @@ public class PetController {
             description = "User is not authenticated"
     )
     @GetMapping("/me")
-    public ResponseEntity<List<PetResponseDto>> getMyPets(Authentication authentication) {
-        User currentUser = userService.getByUsername(authentication.getName());
-        List<PetResponseDto> result = petService.getByOwnerIdAsDto(currentUser.getId());
+    public ResponseEntity<List<PetResponseDto>> getMyPets() {
+        Long currentUserId = currentUserService.getCurrentUserId();
+        List<PetResponseDto> result = petService.getByOwnerIdAsDto(currentUserId);
         return ResponseEntity.ok(result);
     }
 
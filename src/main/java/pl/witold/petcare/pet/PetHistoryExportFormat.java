@@ -0,0 +1,15 @@
+package pl.witold.petcare.pet;
+
+/**
+ * Output formats of the pet history export.
+ */
+public enum PetHistoryExportFormat {
+    /**
+     * One JSON object per pet and line.
+     */
+    NDJSON,
+    /**
+     * A gzip-compressed JSON array of the same objects.
+     */
+    JSON_GZIP
+}
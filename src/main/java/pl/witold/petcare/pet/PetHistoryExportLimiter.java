@@ -0,0 +1,47 @@
+package pl.witold.petcare.pet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.witold.petcare.exceptions.ServiceBusyException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of pet history exports streaming at once. Each one holds a read-only
+ * transaction, a pooled connection and three cursors until the client has downloaded
+ * everything, so a few slow clients could otherwise take every connection of the pool.
+ */
+@Component
+public class PetHistoryExportLimiter {
+
+    private static final String BUSY_MESSAGE = "Too many history exports are running at the moment, please retry shortly";
+
+    private final Semaphore permits;
+
+    public PetHistoryExportLimiter(@Value("${app.pets.export.max-concurrent:4}") int maxConcurrent) {
+        this.permits = new Semaphore(Math.max(maxConcurrent, 1));
+    }
+
+    /**
+     * Takes an export slot without waiting.
+     *
+     * @return releases the slot; further calls do nothing
+     * @throws ServiceBusyException if every slot is taken
+     */
+    public Runnable acquire() {
+        if (!permits.tryAcquire()) {
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,18 @@
+package pl.witold.petcare.pet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PetHistoryExportService {
+
+    /**
+     * JDBC fetch size of the export cursors.
+     */
+    String FETCH_SIZE = "500";
+
+    /**
+     * Writes every pet of the owner with its visits and medical records to {@code out}, one
+     * {@code {"pet": ..., "visits": [...], "medicalRecords": [...]}} object per pet.
+     */
+    void exportHistory(Long ownerId, PetHistoryExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,130 @@
+package pl.witold.petcare.pet;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.dto.PetHistoryMedicalRecordDto;
+import pl.witold.petcare.dto.PetHistoryVisitDto;
+import pl.witold.petcare.dto.PetResponseDto;
+import pl.witold.petcare.medicalrecord.MedicalRecordRepository;
+import pl.witold.petcare.security.CurrentUserService;
+import pl.witold.petcare.user.Role;
+import pl.witold.petcare.visit.VisitRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes an owner's pet history straight from three database cursors (pets, visits, medical
+ * records), all ordered by pet id and merged as they are read. Rows are DTO projections, so
+ * nothing accumulates in the persistence context and heap use does not depend on the history size.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PetHistoryExportServiceImpl implements PetHistoryExportService {
+
+    private final PetRepository petRepository;
+    private final VisitRepository visitRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final CurrentUserService currentUserService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportHistory(Long ownerId, PetHistoryExportFormat format, OutputStream out) throws IOException {
+        assertOwnerScope(ownerId);
+        try (Stream<PetResponseDto> pets = petRepository.streamByOwnerId(ownerId);
+             Stream<PetHistoryVisitDto> visits = visitRepository.streamHistoryByOwnerId(ownerId);
+             Stream<PetHistoryMedicalRecordDto> records = medicalRecordRepository.streamHistoryByOwnerId(ownerId)) {
+            Cursor<PetHistoryVisitDto> visitCursor = new Cursor<>(visits.iterator(), PetHistoryVisitDto::petId);
+            Cursor<PetHistoryMedicalRecordDto> recordCursor = new Cursor<>(records.iterator(), PetHistoryMedicalRecordDto::petId);
+
+            if (format == PetHistoryExportFormat.JSON_GZIP) {
+                GZIPOutputStream gzip = new GZIPOutputStream(out);
+                JsonGenerator generator = generator(gzip);
+                generator.writeStartArray();
+                for (Iterator<PetResponseDto> it = pets.iterator(); it.hasNext(); ) {
+                    writePet(generator, it.next(), visitCursor, recordCursor);
+                }
+                generator.writeEndArray();
+                generator.flush();
+                gzip.finish();
+            } else {
+                JsonGenerator generator = generator(out);
+                // Root values are separated by the newline written after each pet instead
+                generator.setRootValueSeparator(null);
+                for (Iterator<PetResponseDto> it = pets.iterator(); it.hasNext(); ) {
+                    writePet(generator, it.next(), visitCursor, recordCursor);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+        }
+    }
+
+    private void writePet(
+            JsonGenerator generator,
+            PetResponseDto pet,
+            Cursor<PetHistoryVisitDto> visits,
+            Cursor<PetHistoryMedicalRecordDto> records
+    ) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectField("pet", pet);
+        generator.writeArrayFieldStart("visits");
+        while (visits.hasRowsFor(pet.id())) {
+            generator.writeObject(visits.next());
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("medicalRecords");
+        while (records.hasRowsFor(pet.id())) {
+            generator.writeObject(records.next());
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        // The caller owns the response stream
+        return objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private void assertOwnerScope(Long ownerId) {
+        if (currentUserService.hasRole(Role.ADMIN) || currentUserService.hasRole(Role.VET)) return;
+        if (!currentUserService.getCurrentUserId().equals(ownerId)) {
+            throw new AccessDeniedException("You are not allowed to export pets for this owner");
+        }
+    }
+
+    /**
+     * Iterator over rows ordered by pet id, with one row of look-ahead.
+     */
+    private static final class Cursor<T> {
+
+        private final Iterator<T> rows;
+        private final Function<T, Long> petId;
+        private T next;
+
+        Cursor(Iterator<T> rows, Function<T, Long> petId) {
+            this.rows = rows;
+            this.petId = petId;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
+
+        boolean hasRowsFor(Long pet) {
+            return next != null && petId.apply(next).equals(pet);
+        }
+
+        T next() {
+            T current = next;
+            next = rows.hasNext() ? rows.next() : null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package pl.witold.petcare.pet;
+
+import pl.witold.petcare.dto.PetImportErrorDto;
+import pl.witold.petcare.dto.PetImportJobDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one streaming pet import. Written by its worker thread, read by polling requests.
+ */
+final class PetImportJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final Long ownerId;
+    private final int maxErrors;
+    private final Instant createdAt = Instant.now();
+
+    private final List<PetImportErrorDto> errors = new ArrayList<>();
+    private PetImportStatus status = PetImportStatus.QUEUED;
+    private long processed;
+    private long imported;
+    private long rejected;
+    private String failure;
+    private Instant finishedAt;
+
+    PetImportJob(Long ownerId, int maxErrors) {
+        this.ownerId = ownerId;
+        this.maxErrors = maxErrors;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    Long ownerId() {
+        return ownerId;
+    }
+
+    synchronized void started() {
+        status = PetImportStatus.RUNNING;
+    }
+
+    synchronized void accepted() {
+        processed++;
+    }
+
+    synchronized void rejected(long record, int line, String message) {
+        processed++;
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new PetImportErrorDto(record, line, message));
+        }
+    }
+
+    synchronized void imported(int count) {
+        imported += count;
+    }
+
+    synchronized void completed() {
+        status = PetImportStatus.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void failed(String message) {
+        status = PetImportStatus.FAILED;
+        failure = message;
+        finishedAt = Instant.now();
+    }
+
+    synchronized boolean isExpired(Instant now, Duration retention) {
+        return finishedAt != null && finishedAt.plus(retention).isBefore(now);
+    }
+
+    synchronized PetImportJobDto toDto() {
+        return new PetImportJobDto(
+                id,
+                status,
+                processed,
+                imported,
+                rejected,
+                List.copyOf(errors),
+                rejected > errors.size(),
+                failure,
+                createdAt,
+                finishedAt
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package pl.witold.petcare.pet;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import pl.witold.petcare.dto.PetImportJobDto;
+import pl.witold.petcare.security.CurrentUserService;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for streaming pet imports, meant for uploads too large for {@code POST /pets/me/import}.
+ */
+@Tag(
+        name = "Pet import jobs",
+        description = "Streaming import of large pet files with progress polling"
+)
+@RestController
+@RequestMapping("${api.prefix:/api}/pets/me/import/jobs")
+@RequiredArgsConstructor
+public class PetImportJobController {
+
+    private final PetImportJobService petImportJobService;
+    private final CurrentUserService currentUserService;
+
+    @Operation(
+            summary = "Start a streaming pet import",
+            description = "Accepts pets as NDJSON (one PetImportDto per line) or as a JSON array and imports them "
+                    + "for the current user in the background. Invalid records, including NDJSON lines which are not "
+                    + "valid JSON, are skipped and reported per line; "
+                    + "valid ones are committed in chunks. Poll the returned job for progress."
+    )
+    @ApiResponse(
+            responseCode = "202",
+            description = "Import queued",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PetImportJobDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "413",
+            description = "Upload is larger than app.pets.import.max-upload-size"
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Too many imports are running; retry later"
+    )
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PetImportJobDto> start(InputStream body) {
+        Long currentUserId = currentUserService.getCurrentUserId();
+        PetImportJobDto job = petImportJobService.start(currentUserId, body);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(
+            summary = "Get pet import progress",
+            description = "Returns counters and per-line errors of an import started by the current user."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Import job returned",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PetImportJobDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Import job not found or already expired"
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PetImportJobDto> getJob(
+            @Parameter(description = "Import job id")
+            @PathVariable UUID jobId
+    ) {
+        return ResponseEntity.ok(petImportJobService.getJob(jobId));
+    }
+}
@@ -0,0 +1,18 @@
+package pl.witold.petcare.pet;
+
+import pl.witold.petcare.dto.PetImportJobDto;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface PetImportJobService {
+
+    /**
+     * Spools the uploaded pets (NDJSON or a JSON array of {@code PetImportDto}) and queues their import.
+     *
+     * @return the queued job, to be polled with {@link #getJob(UUID)}
+     */
+    PetImportJobDto start(Long ownerId, InputStream body);
+
+    PetImportJobDto getJob(UUID jobId);
+}
@@ -0,0 +1,369 @@
+package pl.witold.petcare.pet;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.witold.petcare.config.PetImportProperties;
+import pl.witold.petcare.dto.PetImportDto;
+import pl.witold.petcare.dto.PetImportJobDto;
+import pl.witold.petcare.exceptions.PayloadTooLargeException;
+import pl.witold.petcare.exceptions.PetImportJobNotFoundException;
+import pl.witold.petcare.exceptions.ServiceBusyException;
+import pl.witold.petcare.exceptions.UserNotFoundException;
+import pl.witold.petcare.security.CurrentUserService;
+import pl.witold.petcare.user.Role;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming pet import. The upload is copied to a temporary file and parsed record by record on the
+ * import pool, so memory use does not grow with the file. Valid records are committed in chunks of
+ * {@code app.pets.import.chunk-size}; invalid ones are reported with their line and skipped.
+ * <p>
+ * Not {@code @Transactional}: each chunk runs in its own transaction. At most
+ * {@code app.pets.import.threads} imports run at once and {@code queue-capacity} wait; further
+ * uploads are rejected instead of piling up spooled files.
+ * <p>
+ * Job state lives in this node's memory only, so polling works for a single node (or with sticky
+ * routing); a job is unknown to any other node and gone after a restart.
+ */
+@Service
+public class PetImportJobServiceImpl implements PetImportJobService, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PetImportJobServiceImpl.class);
+
+    private static final int FORMAT_PEEK_CHARS = 8192;
+
+    private final PetRepository petRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PetImportProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<UUID, PetImportJob> jobs = new ConcurrentHashMap<>();
+
+    public PetImportJobServiceImpl(
+            PetRepository petRepository,
+            UserRepository userRepository,
+            CurrentUserService currentUserService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            PetImportProperties properties
+    ) {
+        this.petRepository = petRepository;
+        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        int threads = Math.max(properties.threads(), 1);
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(properties.queueCapacity(), 1)),
+                importThreads(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public PetImportJobDto start(Long ownerId, InputStream body) {
+        assertOwnerScope(ownerId);
+        if (!userRepository.existsById(ownerId)) {
+            throw new UserNotFoundException("Owner with ID " + ownerId + " not found");
+        }
+        evictExpired();
+
+        Path file = spool(body);
+        PetImportJob job = new PetImportJob(ownerId, properties.maxErrors());
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            deleteQuietly(file);
+            throw new ServiceBusyException("Too many pet imports are running at the moment, please retry shortly");
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public PetImportJobDto getJob(UUID jobId) {
+        evictExpired();
+        PetImportJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !(currentUserService.hasRole(Role.ADMIN)
+                || job.ownerId().equals(currentUserService.getCurrentUserId()))) {
+            throw new PetImportJobNotFoundException("Import job " + jobId + " not found");
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(PetImportJob job, Path file) {
+        job.started();
+        List<PetImportDto> chunk = new ArrayList<>(properties.chunkSize());
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (startsWithArray(reader)) {
+                importArray(job, reader, chunk);
+            } else {
+                importLines(job, reader, chunk);
+            }
+            save(job, chunk);
+            job.completed();
+        } catch (JsonProcessingException e) {
+            int line = e.getLocation() != null ? e.getLocation().getLineNr() : -1;
+            job.failed("Malformed JSON at line " + line + ": " + e.getOriginalMessage());
+        } catch (Exception e) {
+            log.error("Pet import {} failed", job.id(), e);
+            job.failed("Import stopped: " + e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * A JSON array is one document, so a syntax error anywhere in it fails the job.
+     */
+    private void importArray(PetImportJob job, BufferedReader reader, List<PetImportDto> chunk) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(reader)) {
+            parser.nextToken(); // START_ARRAY
+            long record = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                record++;
+                int line = parser.currentTokenLocation().getLineNr();
+                accept(job, chunk, record, line, read(parser.readValueAsTree(), chunk));
+            }
+        }
+    }
+
+    /**
+     * NDJSON lines are independent, so a line which is not valid JSON only rejects its record.
+     */
+    private void importLines(PetImportJob job, BufferedReader reader, List<PetImportDto> chunk) throws IOException {
+        int limit = properties.maxLineLength();
+        StringBuilder text = new StringBuilder();
+        long record = 0;
+        int line = 0;
+        long length;
+        while ((length = readLine(reader, text, limit)) >= 0) {
+            line++;
+            if (length <= limit && text.toString().isBlank()) {
+                continue;
+            }
+            record++;
+            String error;
+            if (length > limit) {
+                error = "Line exceeds " + limit + " characters";
+            } else {
+                try {
+                    error = read(objectMapper.readTree(text.toString()), chunk);
+                } catch (JsonProcessingException e) {
+                    error = "Malformed JSON: " + e.getOriginalMessage();
+                }
+            }
+            accept(job, chunk, record, line, error);
+        }
+    }
+
+    /**
+     * Reads the next line into {@code text}, keeping at most {@code limit} characters; the rest of
+     * a longer line is skipped, so one huge line never sits in memory whole.
+     *
+     * @return length of the whole line without its terminator, or -1 at the end of input
+     */
+    private static long readLine(BufferedReader reader, StringBuilder text, int limit) throws IOException {
+        text.setLength(0);
+        long length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < limit) {
+                text.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+        if (length <= limit && !text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+            length--;
+        }
+        return length;
+    }
+
+    private void accept(PetImportJob job, List<PetImportDto> chunk, long record, int line, String error) {
+        if (error == null) {
+            job.accepted();
+        } else {
+            job.rejected(record, line, error);
+        }
+        if (chunk.size() >= properties.chunkSize()) {
+            save(job, chunk);
+        }
+    }
+
+    /**
+     * Looks at the first non-blank character without consuming it.
+     */
+    private static boolean startsWithArray(BufferedReader reader) throws IOException {
+        reader.mark(FORMAT_PEEK_CHARS);
+        try {
+            for (int i = 0; i < FORMAT_PEEK_CHARS; i++) {
+                int c = reader.read();
+                if (c == -1) {
+                    return false;
+                }
+                if (!Character.isWhitespace(c) && c != '\uFEFF') {
+                    return c == '[';
+                }
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Binds and validates one record, adding it to the chunk.
+     *
+     * @return the reason the record was rejected, or {@code null} if it was accepted
+     */
+    private String read(JsonNode node, List<PetImportDto> chunk) {
+        PetImportDto dto;
+        try {
+            dto = objectMapper.treeToValue(node, PetImportDto.class);
+        } catch (JsonProcessingException e) {
+            return e.getOriginalMessage();
+        }
+        if (dto == null) {
+            return "Record must be a JSON object";
+        }
+        Set<ConstraintViolation<PetImportDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        chunk.add(dto);
+        return null;
+    }
+
+    private void save(PetImportJob job, List<PetImportDto> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.getReferenceById(job.ownerId());
+            petRepository.saveAll(chunk.stream()
+                    .map(dto -> PetMapper.fromImportDto(owner, dto))
+                    .toList());
+        });
+        job.imported(chunk.size());
+        chunk.clear();
+    }
+
+    private void assertOwnerScope(Long ownerId) {
+        if (currentUserService.hasRole(Role.ADMIN) || currentUserService.hasRole(Role.VET)) return;
+        if (!currentUserService.getCurrentUserId().equals(ownerId)) {
+            throw new AccessDeniedException("You are not allowed to import pets for this owner");
+        }
+    }
+
+    private void evictExpired() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.isExpired(now, properties.retention()));
+    }
+
+    private Path spool(InputStream body) {
+        long limit = properties.maxUploadSize().toBytes();
+        Path file = null;
+        try {
+            file = Files.createTempFile("pet-import-", ".json");
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    size += read;
+                    if (size > limit) {
+                        throw new PayloadTooLargeException("Pet imports are limited to " + limit + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("At least one pet must be provided for import");
+            }
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not store the uploaded pets", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static ThreadFactory importThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pet-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import file {}", file, e);
+        }
+    }
+}
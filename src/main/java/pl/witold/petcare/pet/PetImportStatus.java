@@ -0,0 +1,8 @@
+package pl.witold.petcare.pet;
+
+public enum PetImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
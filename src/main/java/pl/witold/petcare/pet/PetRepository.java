@@ -1,16 +1,33 @@
 package pl.witold.petcare.pet;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import pl.witold.petcare.dto.PetResponseDto;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
 
+    /**
+     * Select clause building {@link PetResponseDto} rows directly, for list endpoints.
+     */
+    String DTO_SELECT = """
+            select new pl.witold.petcare.dto.PetResponseDto(
+                p.id, o.id, o.fullName, p.name, p.species, p.sex, p.breed, p.birthDate, p.birthYear, p.weight, p.notes
+            )
+            from Pet p
+            join p.owner o
+            """;
+
     List<Pet> findByOwnerId(Long ownerId);
 
     @Query("""
@@ -18,23 +35,64 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
             """)
     Optional<Pet> findByIdWithOwner(@Param("id") Long id);
 
+    /**
+     * Loads a pet with its owner and the owner's roles in one query (used by visit booking).
+     */
     @Query("""
-            select p from Pet p join fetch p.owner o
+            select p from Pet p join fetch p.owner o left join fetch o.roles where p.id = :id
             """)
-    List<Pet> findAllWithOwner();
+    Optional<Pet> findForBooking(@Param("id") Long id);
 
     @Query("""
             select p from Pet p join fetch p.owner o
             """)
-    Page<Pet> findAllWithOwner(Pageable pageable);
+    List<Pet> findAllWithOwner();
+
+    @Query(value = DTO_SELECT, countQuery = "select count(p) from Pet p")
+    Page<PetResponseDto> findAllAsDto(Pageable pageable);
 
     @Query("""
             select p from Pet p join fetch p.owner o where o.id = :ownerId
             """)
     List<Pet> findByOwnerIdWithOwner(@Param("ownerId") Long ownerId);
 
-    @Query("""
-            select p from Pet p join fetch p.owner o where o.id = :ownerId
+    @Query(DTO_SELECT + """
+            where o.id = :ownerId
+            """)
+    List<PetResponseDto> findByOwnerIdAsDto(@Param("ownerId") Long ownerId);
+
+    @Query(value = DTO_SELECT + """
+            where o.id = :ownerId
+            """, countQuery = "select count(p) from Pet p where p.owner.id = :ownerId")
+    Page<PetResponseDto> findByOwnerIdAsDto(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    /**
+     * Keyset page of all pets with ids greater than the given one.
+     */
+    @Query(DTO_SELECT + """
+            where p.id > :id
+            order by p.id asc
+            """)
+    Slice<PetResponseDto> findAllAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Keyset page of an owner's pets with ids greater than the given one.
+     */
+    @Query(DTO_SELECT + """
+            where o.id = :ownerId and p.id > :id
+            order by p.id asc
+            """)
+    Slice<PetResponseDto> findByOwnerIdAfter(@Param("ownerId") Long ownerId, @Param("id") Long id, Pageable pageable);
+
+    long countByOwnerId(Long ownerId);
+
+    /**
+     * Streams an owner's pets ordered by id for the history export; must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PetHistoryExportService.FETCH_SIZE))
+    @Query(DTO_SELECT + """
+            where o.id = :ownerId
+            order by p.id
             """)
-    Page<Pet> findByOwnerIdWithOwner(@Param("ownerId") Long ownerId, Pageable pageable);
+    Stream<PetResponseDto> streamByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -2,6 +2,7 @@ package pl.witold.petcare.pet;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.PetImportDto;
 import pl.witold.petcare.dto.PetResponseDto;
 import pl.witold.petcare.pet.commands.PetCreateCommand;
@@ -18,11 +19,21 @@ public interface PetService {
 
     List<Pet> getAll();
 
-    Page<Pet> getAll(Pageable pageable);
+    Page<PetResponseDto> getAll(Pageable pageable);
+
+    /**
+     * Returns a keyset page of all pets ordered by id.
+     *
+     * @param cursor    {@code next} value of the previous page, {@code null} for the first page
+     * @param withTotal whether to also count all pets
+     */
+    CursorPageDto<PetResponseDto> scrollAll(String cursor, int size, boolean withTotal);
 
     List<Pet> getByOwnerId(Long ownerId);
 
-    Page<Pet> getByOwnerId(Long ownerId, Pageable pageable);
+    Page<PetResponseDto> getByOwnerId(Long ownerId, Pageable pageable);
+
+    CursorPageDto<PetResponseDto> scrollByOwnerId(Long ownerId, String cursor, int size, boolean withTotal);
 
     List<PetResponseDto> getByOwnerIdAsDto(Long ownerId);
 
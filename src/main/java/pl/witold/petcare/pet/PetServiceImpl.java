@@ -3,13 +3,16 @@ package pl.witold.petcare.pet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.dto.CursorPageDto;
 import pl.witold.petcare.dto.PetImportDto;
 import pl.witold.petcare.dto.PetResponseDto;
 import pl.witold.petcare.exceptions.PetNotFoundException;
 import pl.witold.petcare.exceptions.UserNotFoundException;
+import pl.witold.petcare.pagination.CursorPaging;
 import pl.witold.petcare.pet.commands.PetCreateCommand;
 import pl.witold.petcare.pet.commands.PetUpdateCommand;
 import pl.witold.petcare.security.CurrentUserService;
@@ -18,6 +21,7 @@ import pl.witold.petcare.user.User;
 import pl.witold.petcare.user.UserRepository;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Implementation of PetService interface.
@@ -92,11 +96,21 @@ public class PetServiceImpl implements PetService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Pet> getAll(Pageable pageable) {
+    public Page<PetResponseDto> getAll(Pageable pageable) {
         if (!isElevated()) {
             throw new AccessDeniedException("You are not allowed to access all pets");
         }
-        return petRepository.findAllWithOwner(pageable);
+        return petRepository.findAllAsDto(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<PetResponseDto> scrollAll(String cursor, int size, boolean withTotal) {
+        if (!isElevated()) {
+            throw new AccessDeniedException("You are not allowed to access all pets");
+        }
+        Slice<PetResponseDto> slice = petRepository.findAllAfter(decodeCursor(cursor), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? petRepository.count() : null);
     }
 
     @Override
@@ -108,20 +122,24 @@ public class PetServiceImpl implements PetService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Pet> getByOwnerId(Long ownerId, Pageable pageable) {
+    public Page<PetResponseDto> getByOwnerId(Long ownerId, Pageable pageable) {
+        assertOwnerScope(ownerId, "access pets");
+        return petRepository.findByOwnerIdAsDto(ownerId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<PetResponseDto> scrollByOwnerId(Long ownerId, String cursor, int size, boolean withTotal) {
         assertOwnerScope(ownerId, "access pets");
-        return petRepository.findByOwnerIdWithOwner(ownerId, pageable);
+        Slice<PetResponseDto> slice = petRepository.findByOwnerIdAfter(ownerId, decodeCursor(cursor), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? petRepository.countByOwnerId(ownerId) : null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PetResponseDto> getByOwnerIdAsDto(Long ownerId) {
         assertOwnerScope(ownerId, "access pets");
-        List<Pet> pets = petRepository.findByOwnerIdWithOwner(ownerId);
-        // Map to DTOs while still in transaction to avoid LazyInitializationException
-        return pets.stream()
-                .map(PetMapper::toDto)
-                .toList();
+        return petRepository.findByOwnerIdAsDto(ownerId);
     }
 
     @Override
@@ -135,10 +153,10 @@ public class PetServiceImpl implements PetService {
     public List<Pet> importForOwner(Long ownerId, List<PetImportDto> pets) {
         assertOwnerScope(ownerId, "import pets");
         User owner = getOwnerOrThrow(ownerId);
-        return pets.stream()
+        // Sequence ids let the inserts go out as JDBC batches on flush
+        return petRepository.saveAll(pets.stream()
                 .map(dto -> PetMapper.fromImportDto(owner, dto))
-                .map(petRepository::save)
-                .toList();
+                .toList());
     }
 
     private Pet getByIdWithOwner(Long id) {
@@ -146,13 +164,31 @@ public class PetServiceImpl implements PetService {
                 .orElseThrow(() -> new PetNotFoundException("Pet with ID " + id + " not found"));
     }
 
+    private static CursorPageDto<PetResponseDto> toCursorPage(Slice<PetResponseDto> slice, Long total) {
+        return CursorPaging.toPage(slice, pet -> CursorPaging.encode(pet.id()), Function.identity(), total);
+    }
+
+    /**
+     * Pet listings are ordered by id alone, so the cursor holds just the last id.
+     */
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(CursorPaging.decode(cursor, 1)[0]);
+        } catch (NumberFormatException ex) {
+            throw CursorPaging.invalidCursor();
+        }
+    }
+
     private boolean isElevated() {
         return currentUserService.hasRole(Role.ADMIN) || currentUserService.hasRole(Role.VET);
     }
 
     private void assertOwnerScope(Long ownerId, String action) {
         if (isElevated()) return;
-        Long currentId = currentUserService.getCurrentUser().getId();
+        Long currentId = currentUserService.getCurrentUserId();
         if (!currentId.equals(ownerId)) {
             throw new AccessDeniedException("You are not allowed to " + action + " for this owner");
         }
@@ -162,11 +198,11 @@ public class PetServiceImpl implements PetService {
         if (isElevated()) {
             return getOwnerOrThrow(requestedOwnerId);
         }
-        Long currentId = currentUserService.getCurrentUser().getId();
+        Long currentId = currentUserService.getCurrentUserId();
         if (!currentId.equals(requestedOwnerId)) {
             throw new AccessDeniedException("You are not allowed to create pets for another user");
         }
-        return currentUserService.getCurrentUser();
+        return getOwnerOrThrow(currentId);
     }
 
     private User resolveOwnerForUpdate(Long requestedOwnerId, Pet pet) {
@@ -176,7 +212,7 @@ public class PetServiceImpl implements PetService {
             }
             return pet.getOwner();
         }
-        Long currentId = currentUserService.getCurrentUser().getId();
+        Long currentId = currentUserService.getCurrentUserId();
         if (!pet.getOwner().getId().equals(currentId) || !requestedOwnerId.equals(currentId)) {
             throw new AccessDeniedException("You are not allowed to change pet owner");
         }
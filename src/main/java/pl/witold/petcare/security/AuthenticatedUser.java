@@ -0,0 +1,18 @@
+package pl.witold.petcare.security;
+
+import pl.witold.petcare.user.Role;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Principal of a request authenticated with a JWT, built straight from verified claims
+ * without loading the user from the database.
+ */
+public record AuthenticatedUser(Long id, String username, Set<Role> roles) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
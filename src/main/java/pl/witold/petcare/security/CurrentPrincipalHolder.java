@@ -0,0 +1,88 @@
+package pl.witold.petcare.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import pl.witold.petcare.exceptions.UserNotFoundException;
+import pl.witold.petcare.user.Role;
+import pl.witold.petcare.user.UserRepository;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Resolves the principal (id, username, roles) of the current request at most once.
+ * <p>
+ * JWT and login authentications already carry it. Any other authentication is resolved
+ * with a single id lookup and kept as a request attribute for the rest of the request.
+ * Outside of a web request nothing is memoised.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentPrincipalHolder {
+
+    static final String PRINCIPAL_ATTR = CurrentPrincipalHolder.class.getName() + ".PRINCIPAL";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Returns the principal of the current request.
+     *
+     * @throws AccessDeniedException if there is no authenticated user
+     */
+    public AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new AccessDeniedException("User is not authenticated");
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
+        }
+        if (principal instanceof SecurityUser user) {
+            return new AuthenticatedUser(user.getId(), user.getUsername(), rolesOf(authentication));
+        }
+
+        String username = authentication.getName();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(PRINCIPAL_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof AuthenticatedUser cached
+                && cached.username().equals(username)) {
+            return cached;
+        }
+
+        Long id = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User with username " + username + " not found"));
+        AuthenticatedUser resolved = new AuthenticatedUser(id, username, rolesOf(authentication));
+        if (attributes != null) {
+            attributes.setAttribute(PRINCIPAL_ATTR, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
+    private static Set<Role> rolesOf(Authentication authentication) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name == null || !name.startsWith(ROLE_PREFIX)) {
+                continue;
+            }
+            for (Role role : Role.values()) {
+                if (role.name().equals(name.substring(ROLE_PREFIX.length()))) {
+                    roles.add(role);
+                }
+            }
+        }
+        return roles;
+    }
+}
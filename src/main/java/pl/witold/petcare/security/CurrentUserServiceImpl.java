@@ -1,7 +1,6 @@
 package pl.witold.petcare.security;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -13,33 +12,27 @@ import pl.witold.petcare.user.UserRepository;
 
 /**
  * Default implementation of CurrentUserService that reads data from Spring Security context.
+ * The user id is taken from {@link CurrentPrincipalHolder}; only {@link #getCurrentUser()} loads the entity.
  */
 @Service
 @RequiredArgsConstructor
 public class CurrentUserServiceImpl implements CurrentUserService {
 
     private final UserRepository userRepository;
+    private final CurrentPrincipalHolder principalHolder;
 
     @Override
     @Transactional(readOnly = true)
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new AccessDeniedException("User is not authenticated");
-        }
+        AuthenticatedUser principal = principalHolder.get();
 
-        String username = authentication.getName();
-
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User with username " + username + " not found"));
+        return userRepository.findById(principal.id())
+                .orElseThrow(() -> new UserNotFoundException("User with username " + principal.username() + " not found"));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Long getCurrentUserId() {
-        return getCurrentUser().getId();
+        return principalHolder.get().id();
     }
 
     @Override
@@ -1,11 +1,15 @@
 package pl.witold.petcare.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.user.Role;
 import pl.witold.petcare.user.User;
 import pl.witold.petcare.user.UserRepository;
@@ -14,7 +18,9 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     private final UserRepository userRepository;
 
@@ -29,17 +35,58 @@ public class CustomUserDetailsService implements UserDetailsService {
                         new UsernameNotFoundException("User not found: " + username)
                 );
 
+        return toSecurityUser(user);
+    }
+
+    /**
+     * Loads a user by id, e.g. when a refresh token names the user.
+     */
+    public SecurityUser loadUserById(Long id) throws UsernameNotFoundException {
+        User user = userRepository.findById(id)
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found: " + id)
+                );
+        return toSecurityUser(user);
+    }
+
+    private SecurityUser toSecurityUser(User user) {
         Collection<? extends GrantedAuthority> authorities = user.getRoles().stream()
                 .map(this::mapRoleToAuthority)
                 .collect(Collectors.toSet());
 
-        return new org.springframework.security.core.userdetails.User(
+        return new SecurityUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPasswordHash(),
+                user.getTokenVersion(),
                 authorities
         );
     }
 
+    /**
+     * Stores a hash re-encoded on login with the currently configured BCrypt cost.
+     * Tokens stay valid, the password itself did not change.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        log.debug("Re-hashed password of user {}", user.getUsername());
+
+        if (user instanceof SecurityUser securityUser) {
+            return new SecurityUser(
+                    securityUser.getId(),
+                    securityUser.getUsername(),
+                    newPassword,
+                    securityUser.getTokenVersion(),
+                    securityUser.getAuthorities()
+            );
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
     private GrantedAuthority mapRoleToAuthority(Role role) {
         return new SimpleGrantedAuthority("ROLE_" + role.name());
     }
@@ -0,0 +1,30 @@
+package pl.witold.petcare.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * {@link org.springframework.security.core.userdetails.UserDetails} which also carries
+ * the user id and token version, so issued tokens can be trusted without a lookup.
+ */
+@Getter
+public class SecurityUser extends User {
+
+    private final Long id;
+    private final int tokenVersion;
+
+    public SecurityUser(
+            Long id,
+            String username,
+            String password,
+            int tokenVersion,
+            Collection<? extends GrantedAuthority> authorities
+    ) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+}
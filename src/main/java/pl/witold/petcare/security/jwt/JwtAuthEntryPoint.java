@@ -47,6 +47,10 @@ public class JwtAuthEntryPoint implements AuthenticationEntryPoint {
                 status = HttpStatus.FORBIDDEN;
                 message = "Invalid JWT signature";
             }
+            case "TOKEN_REVOKED" -> {
+                status = HttpStatus.FORBIDDEN;
+                message = "JWT token has been revoked";
+            }
             case "INVALID_TOKEN" -> {
                 status = HttpStatus.FORBIDDEN;
                 message = "Invalid JWT token";
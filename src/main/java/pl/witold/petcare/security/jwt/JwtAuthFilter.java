@@ -1,5 +1,6 @@
 package pl.witold.petcare.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -8,27 +9,41 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import pl.witold.petcare.security.AuthenticatedUser;
+import pl.witold.petcare.user.Role;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RevokedSessionIndex revokedSessions;
 
     public static final String JWT_ERROR_ATTR = "JWT_ERROR";
 
     public JwtAuthFilter(JwtService jwtService,
-                         UserDetailsService userDetailsService) {
+                         UserDetailsService userDetailsService,
+                         TokenVersionRegistry tokenVersionRegistry,
+                         RevokedSessionIndex revokedSessions) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.revokedSessions = revokedSessions;
     }
 
     @Override
@@ -47,11 +62,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String username = null;
+        Claims claims = null;
 
         try {
-            // May throw ExpiredJwtException / SignatureException etc.
-            username = jwtService.extractUsername(jwt);
+            // Single parse: signature and expiry are checked together
+            claims = jwtService.verify(jwt);
         } catch (ExpiredJwtException e) {
             request.setAttribute(JWT_ERROR_ATTR, "TOKEN_EXPIRED");
         } catch (SignatureException e) {
@@ -60,26 +75,82 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             request.setAttribute(JWT_ERROR_ATTR, "INVALID_TOKEN");
         }
 
+        String username = claims != null ? claims.getSubject() : null;
+        if (claims != null && username == null) {
+            request.setAttribute(JWT_ERROR_ATTR, "INVALID_TOKEN");
+        }
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+            UsernamePasswordAuthenticationToken authToken = claims.get(JwtService.USER_ID_CLAIM) != null
+                    ? fromClaims(claims, username, request)
+                    : fromUserDetails(username);
+
+            if (authToken != null) {
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else {
-                // Token failed validation (e.g. tampered)
-                request.setAttribute(JWT_ERROR_ATTR, "INVALID_TOKEN");
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Trusts id and roles of a verified token as long as its version is still current,
+     * so the request is authenticated without loading the user.
+     */
+    private UsernamePasswordAuthenticationToken fromClaims(
+            Claims claims,
+            String username,
+            HttpServletRequest request
+    ) {
+        Set<Role> roles;
+        Long userId;
+        int tokenVersion;
+        try {
+            userId = ((Number) claims.get(JwtService.USER_ID_CLAIM)).longValue();
+            tokenVersion = ((Number) claims.get(JwtService.TOKEN_VERSION_CLAIM)).intValue();
+            roles = toRoles(claims.get(JwtService.ROLES_CLAIM));
+        } catch (RuntimeException e) {
+            request.setAttribute(JWT_ERROR_ATTR, "INVALID_TOKEN");
+            return null;
+        }
+
+        Object sessionId = claims.get(JwtService.SESSION_ID_CLAIM);
+        if (!tokenVersionRegistry.isCurrent(userId, tokenVersion)
+                || (sessionId != null && revokedSessions.isRevoked(sessionId.toString()))) {
+            request.setAttribute(JWT_ERROR_ATTR, "TOKEN_REVOKED");
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+        return new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, username, roles),
+                null,
+                authorities
+        );
+    }
+
+    /**
+     * Tokens issued before claims carried the user id still authenticate through a user lookup.
+     */
+    private UsernamePasswordAuthenticationToken fromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+    }
+
+    private static Set<Role> toRoles(Object claim) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Object role : (Collection<?>) claim) {
+            roles.add(Role.valueOf(role.toString()));
+        }
+        return roles;
+    }
 }
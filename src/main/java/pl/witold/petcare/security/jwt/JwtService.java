@@ -1,63 +1,173 @@
 package pl.witold.petcare.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import pl.witold.petcare.security.SecurityUser;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret; // BASE64-encoded key
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    public static final String SESSION_ID_CLAIM = "sid";
 
-    @Value("${app.jwt.expiration-ms:3600000}") // 1h
-    private long jwtExpirationMs;
+    private static final String ROLE_PREFIX = "ROLE_";
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final long jwtExpirationMs;
+    private final int verifiedCacheSize;
+
+    // Built once; both are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    /**
+     * SHA-256 of recently verified tokens mapped to their claims. Hot clients skip signature
+     * verification until the token expires. Lookups take no lock; once the map outgrows its
+     * size, one thread sweeps expired tokens and, if needed, drops arbitrary ones.
+     */
+    private final ConcurrentMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public JwtService(
+            @Value("${app.jwt.secret}") String secret, // BASE64-encoded key
+            @Value("${app.jwt.expiration-ms:3600000}") long jwtExpirationMs, // 1h
+            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize
+    ) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
+    /**
+     * Issues a token for the given user. Tokens of a {@link SecurityUser} also carry the user id,
+     * roles and token version, which lets requests authenticate without loading the user.
+     */
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null);
+    }
+
+    /**
+     * Issues a token bound to a refresh session, so it stops working once the session is revoked.
+     */
+    public String generateToken(UserDetails userDetails, String sessionId) {
         Instant now = Instant.now();
         Date issuedAt = Date.from(now);
         Date expiry = Date.from(now.plusMillis(jwtExpirationMs));
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuedAt(issuedAt)
-                .expiration(expiry)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiry);
+
+        if (userDetails instanceof SecurityUser user) {
+            List<String> roles = user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                    .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                    .sorted()
+                    .toList();
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLES_CLAIM, roles)
+                    .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_CLAIM, sessionId);
+        }
+
+        return builder.signWith(signingKey).compact();
+    }
+
+    /**
+     * Verifies signature and expiry of a token with a single parse and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        if (verifiedCacheSize <= 0) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+
+        String key = sha256(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken hit = verified.get(key);
+        if (hit != null) {
+            if (hit.expiresAtMs() > now) {
+                return hit.claims();
+            }
+            verified.remove(key, hit);
+        }
+
+        // Throws ExpiredJwtException for tokens which just expired
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verified.put(key, new VerifiedToken(claims, expiration.getTime()));
+            if (verified.size() > verifiedCacheSize) {
+                sweep(now);
+            }
+        }
+        return claims;
     }
 
-    public String extractUsername(String token) {
-        return getAllClaims(token).getSubject();
+    /**
+     * Drops expired tokens, then arbitrary ones until a tenth of the capacity is free, so
+     * sweeps stay rare. Concurrent callers skip the sweep instead of waiting for it.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verified.values().removeIf(token -> token.expiresAtMs() <= now);
+            int target = verifiedCacheSize - Math.max(1, verifiedCacheSize / 10);
+            Iterator<String> keys = verified.keySet().iterator();
+            while (verified.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    int cachedTokens() {
+        return verified.size();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = getAllClaims(token).getExpiration();
-        return expiration.before(new Date());
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    private Claims getAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private record VerifiedToken(Claims claims, long expiresAtMs) {
     }
 }
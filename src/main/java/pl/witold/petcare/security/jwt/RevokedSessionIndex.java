@@ -0,0 +1,83 @@
+package pl.witold.petcare.security.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.witold.petcare.auth.RefreshTokenRepository;
+import pl.witold.petcare.auth.RevokedSessionView;
+import pl.witold.petcare.auth.events.SessionRevokedEvent;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory set of revoked refresh sessions, so access and refresh tokens of a logged-out
+ * session are rejected without a database round trip.
+ * <p>
+ * Filled from the database on startup and updated once a revocation on this node committed,
+ * so a rolled back revocation never rejects a live session. An entry is dropped once every
+ * token of its session has expired anyway.
+ */
+@Component
+public class RevokedSessionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedSessionIndex.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * Session id mapped to the expiry (epoch millis) of its newest token.
+     */
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public RevokedSessionIndex(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedSessionView view : refreshTokenRepository.findRevokedSessions(now)) {
+            revoked.put(view.sessionId(), toMillis(view.expiresAt()));
+        }
+        log.debug("Loaded {} revoked refresh sessions", revoked.size());
+    }
+
+    public boolean isRevoked(String sessionId) {
+        Long expiresAt = revoked.get(sessionId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(sessionId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        revoke(event.sessionId(), event.expiresAt());
+    }
+
+    public void revoke(String sessionId, LocalDateTime expiresAt) {
+        long now = System.currentTimeMillis();
+        // Revocations are rare, a full sweep keeps the set at live sessions only
+        revoked.values().removeIf(expiry -> expiry <= now);
+        revoked.merge(sessionId, toMillis(expiresAt), Math::max);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,89 @@
+package pl.witold.petcare.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.user.events.UserCredentialsChangedEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Current token version per user id, used to reject JWTs issued before a password,
+ * role or username change.
+ * <p>
+ * Entries are loaded lazily with a single-column query and dropped after a change commits
+ * on this node. Other nodes pick the change up once their entry is older than the
+ * configured TTL.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    /**
+     * Cached version of a removed user; never matches a token.
+     */
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+
+    private final ConcurrentMap<Long, Entry> versions = new ConcurrentHashMap<>();
+    private long invalidations;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${app.jwt.token-version-ttl-ms:30000}") long ttlMs
+    ) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Returns true if a token carrying the given version is still valid for the user.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return userId != null && currentVersion(userId) == tokenVersion;
+    }
+
+    private int currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry cached = versions.get(userId);
+        if (cached != null && now - cached.loadedAtMs() < ttlMs) {
+            return cached.version();
+        }
+
+        long stamp = stamp();
+        int loaded = userRepository.findTokenVersion(userId).orElse(UNKNOWN_USER);
+        synchronized (versions) {
+            if (invalidations == stamp) {
+                versions.put(userId, new Entry(loaded, now));
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (versions) {
+            invalidations++;
+            versions.remove(userId);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private long stamp() {
+        synchronized (versions) {
+            return invalidations;
+        }
+    }
+
+    private record Entry(int version, long loadedAtMs) {
+    }
+}
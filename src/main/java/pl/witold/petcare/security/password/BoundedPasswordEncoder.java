@@ -0,0 +1,166 @@
+package pl.witold.petcare.security.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.witold.petcare.exceptions.ServiceBusyException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} which runs the (CPU-heavy) delegate on a dedicated pool.
+ * <p>
+ * At most {@code threads} hashes run at once and at most {@code queueCapacity} wait for a
+ * worker, so a burst of logins cannot take every core from other requests. Calls beyond that,
+ * or calls which wait longer than the timeout, fail fast with {@link ServiceBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final String BUSY_MESSAGE = "Too many sign-in requests at the moment, please retry shortly";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * @param threads       worker count; {@code 0} or less means one per available core
+     * @param queueCapacity calls allowed to wait for a worker; {@code 0} disables queueing
+     * @param timeoutMs     longest time a caller waits for its result
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+
+        this.delegate = delegate;
+        this.queueCapacity = Math.max(queueCapacity, 0);
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                queue,
+                hashingThreads(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, no need to offload
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                done,
+                rejected.sum(),
+                timedOut.sum(),
+                done == 0 ? 0 : waitNanos.sum() / done / 1_000_000.0,
+                done == 0 ? 0 : hashNanos.sum() / done / 1_000_000.0
+        );
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static ThreadFactory hashingThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Pool snapshot; wait and hash times are averages over completed calls.
+     */
+    public record Stats(
+            int threads,
+            int active,
+            int queueDepth,
+            int queueCapacity,
+            long completed,
+            long rejected,
+            long timedOut,
+            double avgWaitMs,
+            double avgHashMs
+    ) {
+    }
+}
@@ -1,6 +1,13 @@
 package pl.witold.petcare.status;
 
 import org.springframework.stereotype.Service;
+import pl.witold.petcare.auth.LoginThrottle;
+import pl.witold.petcare.availability.AvailabilityIndex;
+import pl.witold.petcare.config.ReplicaRouter;
+import pl.witold.petcare.config.SecondLevelCacheStats;
+import pl.witold.petcare.security.password.BoundedPasswordEncoder;
+import pl.witold.petcare.vet.service.VetScheduleCache;
+import pl.witold.petcare.vet.service.VetTimeOffIndex;
 
 import javax.sql.DataSource;
 import java.lang.management.ManagementFactory;
@@ -15,9 +22,32 @@ import java.util.Optional;
 public class StatusService {
 
     private final Optional<DataSource> dataSource;
+    private final VetScheduleCache vetScheduleCache;
+    private final VetTimeOffIndex vetTimeOffIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final Optional<ReplicaRouter> replicaRouter;
 
-    public StatusService(Optional<DataSource> dataSource) {
+    public StatusService(
+            Optional<DataSource> dataSource,
+            VetScheduleCache vetScheduleCache,
+            VetTimeOffIndex vetTimeOffIndex,
+            AvailabilityIndex availabilityIndex,
+            BoundedPasswordEncoder passwordEncoder,
+            LoginThrottle loginThrottle,
+            SecondLevelCacheStats secondLevelCacheStats,
+            Optional<ReplicaRouter> replicaRouter
+    ) {
         this.dataSource = dataSource;
+        this.vetScheduleCache = vetScheduleCache;
+        this.vetTimeOffIndex = vetTimeOffIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
+        this.secondLevelCacheStats = secondLevelCacheStats;
+        this.replicaRouter = replicaRouter;
     }
 
     public Map<String, Object> overall() {
@@ -36,6 +66,15 @@ public class StatusService {
             }
         }
         details.put("db", dbStatus);
+        replicaRouter.ifPresent(router -> details.put("db_replicas", router.stats()));
+        details.put("caches", Map.of(
+                "vet_schedules", vetScheduleCache.stats(),
+                "vet_time_off", vetTimeOffIndex.stats(),
+                "availability", availabilityIndex.stats(),
+                "hibernate", secondLevelCacheStats.stats()
+        ));
+        details.put("password_hashing", passwordEncoder.stats());
+        details.put("login_throttle", loginThrottle.stats());
 
         String status = "UP";
         if ("DOWN".equals(dbStatus)) status = "DEGRADED";
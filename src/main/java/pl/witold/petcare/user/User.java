@@ -3,6 +3,9 @@ package pl.witold.petcare.user;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
@@ -31,17 +34,27 @@ public class User {
     @Column(nullable = false, length = 60)
     private String passwordHash;
 
+    /**
+     * Roles are cached on their own; the user row itself is not, as its token version and password
+     * hash must always be read fresh. Cache misses of a page of users load in one batch.
+     */
     @Setter
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
+    @BatchSize(size = 100)
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
             joinColumns = @JoinColumn(
                     foreignKey = @ForeignKey(name = "fk_user_roles_user")
-            )
+            ),
+            indexes = @Index(name = "idx_user_roles_user_id", columnList = "user_id")
     )
     @Column(nullable = false, length = 32)
     @Enumerated(EnumType.STRING)
     private Set<Role> roles;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     protected User() {
         // for JPA
     }
@@ -54,4 +67,11 @@ public class User {
         this.roles = roles;
     }
 
+    /**
+     * Invalidates every token issued to this user so far.
+     */
+    public void bumpTokenVersion() {
+        this.tokenVersion++;
+    }
+
 }
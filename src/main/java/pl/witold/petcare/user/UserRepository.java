@@ -1,6 +1,9 @@
 package pl.witold.petcare.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -12,4 +15,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.passwordHash = :passwordHash where u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("passwordHash") String passwordHash);
 }
@@ -1,6 +1,7 @@
 package pl.witold.petcare.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -9,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.exceptions.FieldIsAlreadyTakenException;
 import pl.witold.petcare.exceptions.UserNotFoundException;
 import pl.witold.petcare.user.commands.UserRegistrationCommand;
+import pl.witold.petcare.user.events.UserCredentialsChangedEvent;
 
 import java.util.List;
 import java.util.Set;
@@ -24,6 +26,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User create(UserRegistrationCommand command) {
@@ -50,10 +53,19 @@ public class UserServiceImpl implements UserService {
     @Override
     public User update(Long id, User updatedUser) {
         User existing = getById(id);
+        // Tokens carry the username as subject, so a rename revokes them
+        boolean renamed = !existing.getUsername().equals(updatedUser.getUsername());
         existing.setFullName(updatedUser.getFullName());
         existing.setEmail(updatedUser.getEmail());
         existing.setUsername(updatedUser.getUsername());
-        return userRepository.save(existing);
+        if (renamed) {
+            existing.bumpTokenVersion();
+        }
+        User saved = userRepository.save(existing);
+        if (renamed) {
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(id));
+        }
+        return saved;
     }
 
     @Override
@@ -103,19 +115,24 @@ public class UserServiceImpl implements UserService {
     public void deleteById(Long id) {
         User user = getById(id);
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(id));
     }
 
     @Override
     public void changePassword(Long userId, String rawNewPassword) {
         User user = getById(userId);
         user.setPasswordHash(passwordEncoder.encode(rawNewPassword));
+        user.bumpTokenVersion();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId));
     }
 
     @Override
     public void updateRoles(Long userId, Set<Role> roles) {
         User user = getById(userId);
         user.setRoles(roles);
+        user.bumpTokenVersion();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId));
     }
 }
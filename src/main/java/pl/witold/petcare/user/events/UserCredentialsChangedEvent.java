@@ -0,0 +1,8 @@
+package pl.witold.petcare.user.events;
+
+/**
+ * Published after the password, roles or username of a user changed or the user was removed.
+ * Tokens issued before the change must no longer authenticate.
+ */
+public record UserCredentialsChangedEvent(Long userId) {
+}
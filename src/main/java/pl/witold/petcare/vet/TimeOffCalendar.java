@@ -0,0 +1,80 @@
+package pl.witold.petcare.vet;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable time-off calendar of a single vet. Overlapping and adjacent ranges are merged
+ * and kept in a map keyed by start date, so point and range lookups are O(log n).
+ */
+public final class TimeOffCalendar {
+
+    public static final TimeOffCalendar EMPTY = new TimeOffCalendar(new TreeMap<>());
+
+    private final NavigableMap<LocalDate, LocalDate> ranges;
+
+    private TimeOffCalendar(NavigableMap<LocalDate, LocalDate> ranges) {
+        this.ranges = Collections.unmodifiableNavigableMap(ranges);
+    }
+
+    public static TimeOffCalendar of(Collection<VetTimeOffView> timeOff) {
+        List<VetTimeOffView> sorted = new ArrayList<>(timeOff);
+        sorted.sort(Comparator.comparing(VetTimeOffView::startDate));
+
+        NavigableMap<LocalDate, LocalDate> merged = new TreeMap<>();
+        Map.Entry<LocalDate, LocalDate> last = null;
+        for (VetTimeOffView range : sorted) {
+            if (last != null && !range.startDate().isAfter(last.getValue().plusDays(1))) {
+                if (range.endDate().isAfter(last.getValue())) {
+                    merged.put(last.getKey(), range.endDate());
+                }
+            } else {
+                merged.put(range.startDate(), range.endDate());
+            }
+            last = merged.lastEntry();
+        }
+        return new TimeOffCalendar(merged);
+    }
+
+    /**
+     * Returns true when the given date falls into any time-off range.
+     */
+    public boolean isOnLeave(LocalDate date) {
+        Map.Entry<LocalDate, LocalDate> range = ranges.floorEntry(date);
+        return range != null && !date.isAfter(range.getValue());
+    }
+
+    /**
+     * Returns blocked dates between given dates (inclusive) in chronological order.
+     */
+    public List<LocalDate> blockedDates(LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        LocalDate first = ranges.floorKey(from);
+        NavigableMap<LocalDate, LocalDate> candidates = ranges.subMap(first != null ? first : from, true, to, true);
+        for (Map.Entry<LocalDate, LocalDate> range : candidates.entrySet()) {
+            LocalDate start = range.getKey().isBefore(from) ? from : range.getKey();
+            LocalDate end = range.getValue().isAfter(to) ? to : range.getValue();
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                result.add(date);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns merged ranges keyed by start date.
+     */
+    public NavigableMap<LocalDate, LocalDate> ranges() {
+        return ranges;
+    }
+}
@@ -0,0 +1,11 @@
+package pl.witold.petcare.vet;
+
+/**
+ * Projection of a vet considered by the earliest free slot search.
+ */
+public record VetCandidateView(
+        Long vetProfileId,
+        Long userId,
+        String fullName
+) {
+}
@@ -3,6 +3,8 @@ package pl.witold.petcare.vet;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import pl.witold.petcare.user.User;
 
 import java.util.HashSet;
@@ -13,6 +15,8 @@ import java.util.Set;
  */
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vet-profiles")
 @Table(name = "vet_profiles")
 public class VetProfile {
 
@@ -38,10 +42,15 @@ public class VetProfile {
     private Integer averageVisitLengthMinutes = 20;
 
     @Setter
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vet-profile-specializations")
     @ElementCollection(targetClass = VetSpecialization.class, fetch = FetchType.EAGER)
     @CollectionTable(
             name = "vet_profile_specializations",
-            joinColumns = @JoinColumn(name = "vet_profile_id")
+            joinColumns = @JoinColumn(name = "vet_profile_id"),
+            indexes = {
+                    @Index(name = "idx_vet_profile_specializations_vet", columnList = "vet_profile_id, specialization"),
+                    @Index(name = "idx_vet_profile_specializations_spec", columnList = "specialization, vet_profile_id")
+            }
     )
     @Enumerated(EnumType.STRING)
     @Column(name = "specialization", length = 64, nullable = false)
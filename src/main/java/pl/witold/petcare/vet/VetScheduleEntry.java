@@ -3,6 +3,8 @@ package pl.witold.petcare.vet;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -13,11 +15,17 @@ import java.time.LocalTime;
  */
 @Getter
 @Entity
-@Table(name = "vet_schedule_entries")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vet-schedule-entries")
+@Table(
+        name = "vet_schedule_entries",
+        indexes = @Index(name = "idx_vet_schedule_entries_vet_day", columnList = "vet_profile_id, day_of_week, start_time")
+)
 public class VetScheduleEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vet_schedule_entries_seq")
+    @SequenceGenerator(name = "vet_schedule_entries_seq", sequenceName = "vet_schedule_entries_seq", allocationSize = 50)
     private Long id;
 
     @Setter
@@ -0,0 +1,16 @@
+package pl.witold.petcare.vet;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Lightweight projection of a schedule entry, used to load schedules of many vets at once.
+ */
+public record VetScheduleRuleView(
+        Long vetProfileId,
+        DayOfWeek dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        Integer slotLengthMinutes
+) {
+}
@@ -0,0 +1,10 @@
+package pl.witold.petcare.vet;
+
+/**
+ * One specialization of a vet profile, read for a batch of profiles at once.
+ */
+public record VetSpecializationView(
+        Long vetProfileId,
+        VetSpecialization specialization
+) {
+}
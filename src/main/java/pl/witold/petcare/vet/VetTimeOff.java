@@ -12,11 +12,15 @@ import java.time.LocalDate;
  */
 @Getter
 @Entity
-@Table(name = "vet_time_off")
+@Table(
+        name = "vet_time_off",
+        indexes = @Index(name = "idx_vet_time_off_vet_dates", columnList = "vet_profile_id, start_date, end_date")
+)
 public class VetTimeOff {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vet_time_off_seq")
+    @SequenceGenerator(name = "vet_time_off_seq", sequenceName = "vet_time_off_seq", allocationSize = 50)
     private Long id;
 
     @Setter
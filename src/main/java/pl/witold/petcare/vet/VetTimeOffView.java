@@ -0,0 +1,13 @@
+package pl.witold.petcare.vet;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a time-off entry, used to load time-off of many vets at once.
+ */
+public record VetTimeOffView(
+        Long vetProfileId,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
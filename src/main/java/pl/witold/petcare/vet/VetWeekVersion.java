@@ -0,0 +1,32 @@
+package pl.witold.petcare.vet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Change counter of a vet's week view, shared by all nodes. It backs the week view ETag.
+ */
+@Getter
+@Entity
+@Table(name = "vet_week_versions")
+public class VetWeekVersion {
+
+    @Id
+    @Column(name = "vet_profile_id")
+    private Long vetProfileId;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    protected VetWeekVersion() {
+        // for JPA
+    }
+
+    public VetWeekVersion(Long vetProfileId, long version) {
+        this.vetProfileId = vetProfileId;
+        this.version = version;
+    }
+}
@@ -0,0 +1,58 @@
+package pl.witold.petcare.vet;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable weekly schedule of a single vet. Rules are grouped per day of week
+ * and sorted by start time; rules without a positive slot length are dropped.
+ */
+public final class WeeklySchedule {
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(new EnumMap<>(DayOfWeek.class));
+
+    private final Map<DayOfWeek, List<VetScheduleRuleView>> days;
+
+    private WeeklySchedule(Map<DayOfWeek, List<VetScheduleRuleView>> days) {
+        this.days = days;
+    }
+
+    public static WeeklySchedule of(Collection<VetScheduleRuleView> rules) {
+        Map<DayOfWeek, List<VetScheduleRuleView>> grouped = new EnumMap<>(DayOfWeek.class);
+        for (VetScheduleRuleView rule : rules) {
+            if (rule.slotLengthMinutes() == null || rule.slotLengthMinutes() <= 0) {
+                continue;
+            }
+            grouped.computeIfAbsent(rule.dayOfWeek(), day -> new ArrayList<>()).add(rule);
+        }
+        grouped.replaceAll((day, dayRules) -> dayRules.stream()
+                .sorted(Comparator.comparing(VetScheduleRuleView::startTime))
+                .toList());
+        return new WeeklySchedule(grouped);
+    }
+
+    /**
+     * Returns rules of the given day sorted by start time.
+     */
+    public List<VetScheduleRuleView> rulesFor(DayOfWeek dayOfWeek) {
+        return days.getOrDefault(dayOfWeek, List.of());
+    }
+
+    /**
+     * Returns all rules from Monday to Sunday.
+     */
+    public List<VetScheduleRuleView> rules() {
+        return days.values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+}
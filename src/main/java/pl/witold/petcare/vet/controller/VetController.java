@@ -13,18 +13,31 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pl.witold.petcare.availability.AvailabilityService;
+import pl.witold.petcare.dto.EarliestSlotDto;
+import pl.witold.petcare.dto.VetAvailabilityDto;
 import pl.witold.petcare.dto.VetProfileResponseDto;
 import pl.witold.petcare.dto.VetScheduleEntryDto;
+import pl.witold.petcare.dto.VetWeekDto;
 import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.VetSpecialization;
 import pl.witold.petcare.vet.commands.VetProfileUpdateCommand;
 import pl.witold.petcare.vet.commands.VetScheduleEntryCommand;
 import pl.witold.petcare.vet.mapper.VetProfileMapper;
 import pl.witold.petcare.vet.mapper.VetScheduleMapper;
 import pl.witold.petcare.vet.service.VetProfileService;
 import pl.witold.petcare.vet.service.VetScheduleService;
+import pl.witold.petcare.vet.service.VetWeekService;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -42,6 +55,8 @@ public class VetController {
 
     private final VetProfileService vetProfileService;
     private final VetScheduleService vetScheduleService;
+    private final AvailabilityService availabilityService;
+    private final VetWeekService vetWeekService;
 
     /**
      * Returns all vet profiles.
@@ -229,10 +244,133 @@ public class VetController {
             @Parameter(description = "Vet profile id", example = "1")
             @PathVariable Long id
     ) {
-        List<VetScheduleEntryDto> result = vetScheduleService.getScheduleForVetProfile(id).stream()
+        List<VetScheduleEntryDto> result = vetScheduleService.getWeeklySchedule(id).rules().stream()
                 .map(VetScheduleMapper::toDto)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Returns free slots for the given vet profile id within a date range.
+     */
+    @Operation(
+            summary = "Get availability for vet profile",
+            description = "Returns free, bookable slots of a vet between two dates (inclusive). "
+                    + "The range cannot exceed 62 days; slots in the past or more than 365 days ahead are omitted."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Availability returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = VetAvailabilityDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Vet profile not found"
+    )
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<VetAvailabilityDto> getVetAvailability(
+            @Parameter(description = "Vet profile id", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "First day of the range (yyyy-MM-dd)", example = "2025-01-13")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (yyyy-MM-dd)", example = "2025-01-19")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(availabilityService.getAvailability(id, from, to));
+    }
+
+    /**
+     * Searches for the earliest free slot across vets accepting new patients.
+     */
+    @Operation(
+            summary = "Find earliest free slots across vets",
+            description = "Returns the earliest free slot of each vet accepting new patients within the next "
+                    + "given number of days, optionally restricted to a specialization. "
+                    + "Results are ordered by slot start, one entry per vet."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Earliest slots returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = EarliestSlotDto.class))
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid search parameters"
+    )
+    @GetMapping("/availability/earliest")
+    public ResponseEntity<List<EarliestSlotDto>> findEarliestSlots(
+            @Parameter(description = "Required specialization", example = "DERMATOLOGY")
+            @RequestParam(required = false) VetSpecialization specialization,
+            @Parameter(description = "Number of days to search, starting today (max 62)", example = "14")
+            @RequestParam(defaultValue = "14") int days,
+            @Parameter(description = "Maximum number of vets returned (max 50)", example = "5")
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(availabilityService.findEarliestSlots(specialization, days, limit));
+    }
+
+    /**
+     * Returns one week of visits and free slots for the currently authenticated vet.
+     */
+    @Operation(
+            summary = "Get current vet week view",
+            description = "Returns visits and free slots of the current vet for the week (Monday to Sunday) "
+                    + "containing the given date, defaulting to the current week. Pets and owners are listed "
+                    + "once and referenced by id. Past weeks and upcoming weeks within the booking horizon carry "
+                    + "a strong ETag; sending it back in If-None-Match yields 304 until the vet's visits, schedule "
+                    + "or time-off change. The current week, whose free slots expire as time passes, has no ETag."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Week view returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = VetWeekDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Week has not changed since the ETag sent in If-None-Match"
+    )
+    @GetMapping("/me/week")
+    public ResponseEntity<VetWeekDto> getMyWeek(
+            @Parameter(description = "Any day of the requested week (yyyy-MM-dd)", example = "2025-01-13")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        VetProfile profile = vetProfileService.getOrCreateCurrentVetProfile();
+        LocalDate weekStart = (start != null ? start : LocalDate.now())
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        String etag = vetWeekService.getWeekEtag(profile.getId(), weekStart);
+        if (etag == null) {
+            return ResponseEntity.ok(vetWeekService.getWeek(profile.getId(), weekStart));
+        }
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(vetWeekService.getWeek(profile.getId(), weekStart));
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"));
+    }
 }
@@ -0,0 +1,7 @@
+package pl.witold.petcare.vet.events;
+
+/**
+ * Published after the weekly schedule of a vet has been replaced.
+ */
+public record VetScheduleChangedEvent(Long vetProfileId) {
+}
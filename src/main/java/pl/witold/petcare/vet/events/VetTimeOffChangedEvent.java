@@ -0,0 +1,7 @@
+package pl.witold.petcare.vet.events;
+
+/**
+ * Published after a time-off entry of a vet has been created or removed.
+ */
+public record VetTimeOffChangedEvent(Long vetProfileId) {
+}
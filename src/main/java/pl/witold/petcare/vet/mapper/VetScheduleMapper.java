@@ -2,6 +2,7 @@ package pl.witold.petcare.vet.mapper;
 
 import pl.witold.petcare.dto.VetScheduleEntryDto;
 import pl.witold.petcare.vet.VetScheduleEntry;
+import pl.witold.petcare.vet.VetScheduleRuleView;
 
 /**
  * Mapper responsible for converting between VetScheduleEntry entity and VetScheduleEntryDto.
@@ -20,4 +21,13 @@ public final class VetScheduleMapper {
                 entry.getSlotLengthMinutes()
         );
     }
+
+    public static VetScheduleEntryDto toDto(VetScheduleRuleView rule) {
+        return new VetScheduleEntryDto(
+                rule.dayOfWeek(),
+                rule.startTime(),
+                rule.endTime(),
+                rule.slotLengthMinutes()
+        );
+    }
 }
@@ -1,8 +1,15 @@
 package pl.witold.petcare.vet.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pl.witold.petcare.vet.VetCandidateView;
 import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.vet.VetSpecializationView;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +21,32 @@ public interface VetProfileRepository extends JpaRepository<VetProfile, Long> {
     Optional<VetProfile> findByUserId(Long userId);
 
     boolean existsByUserId(Long userId);
+
+    @Query("""
+            select new pl.witold.petcare.vet.VetCandidateView(vp.id, u.id, u.fullName)
+            from VetProfile vp
+            join vp.user u
+            where vp.acceptsNewPatients = true
+            """)
+    List<VetCandidateView> findBookableCandidates();
+
+    @Query("""
+            select new pl.witold.petcare.vet.VetCandidateView(vp.id, u.id, u.fullName)
+            from VetProfile vp
+            join vp.user u
+            join vp.specializations s
+            where vp.acceptsNewPatients = true and s = :specialization
+            """)
+    List<VetCandidateView> findBookableCandidates(@Param("specialization") VetSpecialization specialization);
+
+    /**
+     * Specializations of the given profiles, one row per profile and specialization.
+     */
+    @Query("""
+            select new pl.witold.petcare.vet.VetSpecializationView(vp.id, s)
+            from VetProfile vp
+            join vp.specializations s
+            where vp.id in :ids
+            """)
+    List<VetSpecializationView> findSpecializationsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,16 @@
 package pl.witold.petcare.vet.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetScheduleEntry;
+import pl.witold.petcare.vet.VetScheduleRuleView;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,7 +18,23 @@ import java.util.List;
  */
 public interface VetScheduleEntryRepository extends JpaRepository<VetScheduleEntry, Long> {
 
+    /**
+     * Served from the query cache until the schedule table changes.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "vet-schedule-queries")
+    })
     List<VetScheduleEntry> findByVetProfileOrderByDayOfWeekAscStartTimeAsc(VetProfile vetProfile);
 
+    @Query("""
+            select new pl.witold.petcare.vet.VetScheduleRuleView(
+                e.vetProfile.id, e.dayOfWeek, e.startTime, e.endTime, e.slotLengthMinutes
+            )
+            from VetScheduleEntry e
+            where e.vetProfile.id in :vetProfileIds
+            """)
+    List<VetScheduleRuleView> findRuleViews(@Param("vetProfileIds") Collection<Long> vetProfileIds);
+
     void deleteByVetProfile(VetProfile vetProfile);
 }
@@ -1,10 +1,13 @@
 package pl.witold.petcare.vet.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetTimeOff;
+import pl.witold.petcare.vet.VetTimeOffView;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +18,13 @@ public interface VetTimeOffRepository extends JpaRepository<VetTimeOff, Long> {
 
     List<VetTimeOff> findByVetProfileOrderByStartDateAsc(VetProfile vetProfile);
 
-    List<VetTimeOff> findByVetProfileAndEndDateGreaterThanEqualAndStartDateLessThanEqual(
-            VetProfile vetProfile,
-            LocalDate fromDate,
-            LocalDate toDate
-    );
+    @Query("""
+            select new pl.witold.petcare.vet.VetTimeOffView(t.vetProfile.id, t.startDate, t.endDate)
+            from VetTimeOff t
+            where t.vetProfile.id in :vetProfileIds
+            order by t.startDate asc
+            """)
+    List<VetTimeOffView> findViews(@Param("vetProfileIds") Collection<Long> vetProfileIds);
 
     Optional<VetTimeOff> findByIdAndVetProfile(Long id, VetProfile vetProfile);
 }
@@ -0,0 +1,22 @@
+package pl.witold.petcare.vet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pl.witold.petcare.vet.VetWeekVersion;
+
+import java.util.Optional;
+
+/**
+ * Repository for accessing VetWeekVersion entities.
+ */
+public interface VetWeekVersionRepository extends JpaRepository<VetWeekVersion, Long> {
+
+    @Query("select v.version from VetWeekVersion v where v.vetProfileId = :vetProfileId")
+    Optional<Long> findVersion(@Param("vetProfileId") Long vetProfileId);
+
+    @Modifying
+    @Query("update VetWeekVersion v set v.version = v.version + 1 where v.vetProfileId = :vetProfileId")
+    int increment(@Param("vetProfileId") Long vetProfileId);
+}
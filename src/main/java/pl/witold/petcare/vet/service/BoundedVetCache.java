@@ -0,0 +1,125 @@
+package pl.witold.petcare.vet.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of per-vet values keyed by vet profile id.
+ * <p>
+ * Misses are loaded in bulk outside the lock. A load which raced with an invalidation
+ * is returned to the caller but not cached, and a load which raced with another load
+ * of the same vet yields the entry cached first.
+ *
+ * @param <V> cached value type
+ */
+public final class BoundedVetCache<V> {
+
+    private final int maxSize;
+    private final Function<Collection<Long>, Map<Long, V>> loader;
+    private final Map<Long, V> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param loader loads the values of the given vets; must return a value for every id
+     */
+    public BoundedVetCache(int maxSize, Function<Collection<Long>, Map<Long, V>> loader) {
+        this.maxSize = maxSize;
+        this.loader = loader;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                if (size() > BoundedVetCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns true when the value of the given vet is cached.
+     */
+    public synchronized boolean contains(Long vetProfileId) {
+        return entries.containsKey(vetProfileId);
+    }
+
+    /**
+     * Returns the cached value of a vet without loading it, or null on a miss.
+     */
+    public synchronized V peek(Long vetProfileId) {
+        return entries.get(vetProfileId);
+    }
+
+    /**
+     * Returns the value of a vet, loading it on a miss.
+     */
+    public V get(Long vetProfileId) {
+        return getAll(List.of(vetProfileId)).get(vetProfileId);
+    }
+
+    /**
+     * Returns values of many vets, loading all misses with a single loader call.
+     */
+    public Map<Long, V> getAll(Collection<Long> vetProfileIds) {
+        Map<Long, V> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long stamp;
+        synchronized (this) {
+            for (Long id : vetProfileIds) {
+                V cached = entries.get(id);
+                if (cached != null) {
+                    hits++;
+                    result.put(id, cached);
+                } else {
+                    misses++;
+                    missing.add(id);
+                }
+            }
+            stamp = invalidations;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, V> loaded = loader.apply(missing);
+
+        synchronized (this) {
+            for (Long id : missing) {
+                V value = loaded.get(id);
+                if (invalidations == stamp) {
+                    V existing = entries.putIfAbsent(id, value);
+                    if (existing != null) {
+                        value = existing;
+                    }
+                }
+                result.put(id, value);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void invalidate(Long vetProfileId) {
+        invalidations++;
+        entries.remove(vetProfileId);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxSize, hits, misses, evictions);
+    }
+
+    /**
+     * Point-in-time cache statistics.
+     */
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+    }
+}
@@ -3,9 +3,13 @@ package pl.witold.petcare.vet.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.VetSpecialization;
 import pl.witold.petcare.vet.commands.VetProfileUpdateCommand;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing vet profiles.
@@ -36,4 +40,10 @@ public interface VetProfileService {
      * Returns a paginated list of all vet profiles.
      */
     Page<VetProfile> getAllProfiles(Pageable pageable);
+
+    /**
+     * Returns the specializations of the given vet profiles in one query, keyed by profile id.
+     * Profiles without specializations are absent from the map.
+     */
+    Map<Long, Set<VetSpecialization>> getSpecializations(Collection<Long> vetProfileIds);
 }
@@ -9,15 +9,18 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.exceptions.VetProfileNotFoundException;
 import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.user.Role;
-import pl.witold.petcare.user.User;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.vet.VetSpecializationView;
 import pl.witold.petcare.vet.commands.VetProfileUpdateCommand;
 import pl.witold.petcare.vet.repository.VetProfileRepository;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of VetProfileService containing business logic for vet profiles.
@@ -29,15 +32,17 @@ public class VetProfileServiceImpl implements VetProfileService {
 
     private final VetProfileRepository vetProfileRepository;
     private final CurrentUserService currentUserService;
+    private final VetWeekVersions vetWeekVersions;
 
     @Override
     public VetProfile getOrCreateCurrentVetProfile() {
-        User currentVet = getCurrentVetUserOrThrow();
+        Long currentVetId = getCurrentVetUserIdOrThrow();
 
-        return vetProfileRepository.findByUserId(currentVet.getId())
+        return vetProfileRepository.findByUserId(currentVetId)
                 .orElseGet(() -> {
-                    VetProfile profile = new VetProfile(currentVet);
-                    return vetProfileRepository.save(profile);
+                    VetProfile profile = vetProfileRepository.save(new VetProfile(currentUserService.getCurrentUser()));
+                    vetWeekVersions.register(profile.getId());
+                    return profile;
                 });
     }
 
@@ -73,6 +78,19 @@ public class VetProfileServiceImpl implements VetProfileService {
         return vetProfileRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Set<VetSpecialization>> getSpecializations(Collection<Long> vetProfileIds) {
+        if (vetProfileIds.isEmpty()) {
+            return Map.of();
+        }
+        return vetProfileRepository.findSpecializationsByIdIn(vetProfileIds).stream()
+                .collect(Collectors.groupingBy(
+                        VetSpecializationView::vetProfileId,
+                        Collectors.mapping(VetSpecializationView::specialization, Collectors.toSet())
+                ));
+    }
+
     private void applySpecializations(VetProfile profile, Set<VetSpecialization> specs) {
         Set<VetSpecialization> newSpecs = specs != null ? new HashSet<>(specs) : new HashSet<>();
 
@@ -80,14 +98,11 @@ public class VetProfileServiceImpl implements VetProfileService {
         profile.getSpecializations().addAll(newSpecs);
     }
 
-    private User getCurrentVetUserOrThrow() {
-        User currentUser = currentUserService.getCurrentUser();
-
-        boolean isVet = currentUser.getRoles().contains(Role.VET);
-        if (!isVet) {
+    private Long getCurrentVetUserIdOrThrow() {
+        if (!currentUserService.hasRole(Role.VET)) {
             throw new AccessDeniedException("Only vets can manage vet profile data");
         }
 
-        return currentUser;
+        return currentUserService.getCurrentUserId();
     }
 }
@@ -0,0 +1,95 @@
+package pl.witold.petcare.vet.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.WeeklySchedule;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
+import pl.witold.petcare.vet.repository.VetScheduleEntryRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of vet weekly schedules keyed by vet profile id.
+ * <p>
+ * Entries are dropped after a schedule change commits. A load which raced with such
+ * a change is returned to the caller but not cached.
+ */
+@Component
+public class VetScheduleCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VetScheduleCache.class);
+
+    private final VetScheduleEntryRepository vetScheduleEntryRepository;
+    private final BoundedVetCache<WeeklySchedule> entries;
+
+    public VetScheduleCache(
+            VetScheduleEntryRepository vetScheduleEntryRepository,
+            @Value("${app.cache.vet-schedules.max-size:1000}") int maxSize
+    ) {
+        this.vetScheduleEntryRepository = vetScheduleEntryRepository;
+        this.entries = new BoundedVetCache<>(maxSize, this::load);
+    }
+
+    /**
+     * Returns true when the schedule of the given vet is cached.
+     */
+    public boolean contains(Long vetProfileId) {
+        return entries.contains(vetProfileId);
+    }
+
+    /**
+     * Returns the weekly schedule of a vet, loading it on a miss.
+     * Unknown vets yield an empty schedule.
+     */
+    public WeeklySchedule get(Long vetProfileId) {
+        return entries.get(vetProfileId);
+    }
+
+    /**
+     * Returns weekly schedules of many vets, loading all misses with a single query.
+     */
+    public Map<Long, WeeklySchedule> getAll(Collection<Long> vetProfileIds) {
+        return entries.getAll(vetProfileIds);
+    }
+
+    public void invalidate(Long vetProfileId) {
+        entries.invalidate(vetProfileId);
+    }
+
+    /**
+     * Runs before other schedule listeners so they never rebuild from a stale entry.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(VetScheduleChangedEvent event) {
+        invalidate(event.vetProfileId());
+    }
+
+    public BoundedVetCache.Stats stats() {
+        return entries.stats();
+    }
+
+    private Map<Long, WeeklySchedule> load(Collection<Long> vetProfileIds) {
+        Map<Long, List<VetScheduleRuleView>> rules = new HashMap<>();
+        for (VetScheduleRuleView view : vetScheduleEntryRepository.findRuleViews(vetProfileIds)) {
+            rules.computeIfAbsent(view.vetProfileId(), id -> new ArrayList<>()).add(view);
+        }
+        log.debug("Loaded weekly schedules for vet profiles {}", vetProfileIds);
+
+        Map<Long, WeeklySchedule> loaded = new HashMap<>();
+        for (Long id : vetProfileIds) {
+            loaded.put(id, WeeklySchedule.of(rules.getOrDefault(id, List.of())));
+        }
+        return loaded;
+    }
+}
@@ -1,6 +1,7 @@
 package pl.witold.petcare.vet.service;
 
 import pl.witold.petcare.vet.VetScheduleEntry;
+import pl.witold.petcare.vet.WeeklySchedule;
 import pl.witold.petcare.vet.commands.VetScheduleEntryCommand;
 
 import java.util.List;
@@ -24,4 +25,9 @@ public interface VetScheduleService {
      * Returns schedule entries for a vet identified by vet profile id.
      */
     List<VetScheduleEntry> getScheduleForVetProfile(Long vetProfileId);
+
+    /**
+     * Returns the cached weekly schedule of a vet identified by vet profile id.
+     */
+    WeeklySchedule getWeeklySchedule(Long vetProfileId);
 }
@@ -1,11 +1,14 @@
 package pl.witold.petcare.vet.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetScheduleEntry;
+import pl.witold.petcare.vet.WeeklySchedule;
 import pl.witold.petcare.vet.commands.VetScheduleEntryCommand;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
 import pl.witold.petcare.vet.repository.VetScheduleEntryRepository;
 
 import java.time.LocalTime;
@@ -22,6 +25,8 @@ public class VetScheduleServiceImpl implements VetScheduleService {
 
     private final VetScheduleEntryRepository vetScheduleEntryRepository;
     private final VetProfileService vetProfileService;
+    private final VetScheduleCache vetScheduleCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -41,7 +46,9 @@ public class VetScheduleServiceImpl implements VetScheduleService {
             validateCommand(command);
             entries.add(createEntry(profile, command));
         }
-        return vetScheduleEntryRepository.saveAll(entries);
+        List<VetScheduleEntry> saved = vetScheduleEntryRepository.saveAll(entries);
+        eventPublisher.publishEvent(new VetScheduleChangedEvent(profile.getId()));
+        return saved;
     }
 
     @Override
@@ -51,6 +58,16 @@ public class VetScheduleServiceImpl implements VetScheduleService {
         return vetScheduleEntryRepository.findByVetProfileOrderByDayOfWeekAscStartTimeAsc(profile);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public WeeklySchedule getWeeklySchedule(Long vetProfileId) {
+        if (!vetScheduleCache.contains(vetProfileId)) {
+            // Unknown vets are rejected only on a miss, cached ones are known to exist
+            vetProfileService.getById(vetProfileId);
+        }
+        return vetScheduleCache.get(vetProfileId);
+    }
+
     private void validateCommand(VetScheduleEntryCommand command) {
         LocalTime start = command.startTime();
         LocalTime end = command.endTime();
@@ -0,0 +1,103 @@
+package pl.witold.petcare.vet.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetTimeOffView;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
+import pl.witold.petcare.vet.repository.VetTimeOffRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of per-vet {@link TimeOffCalendar}s keyed by vet profile id.
+ * <p>
+ * Entries are dropped after a time-off change commits. A load which raced with such
+ * a change is returned to the caller but not cached.
+ */
+@Component
+public class VetTimeOffIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VetTimeOffIndex.class);
+
+    private final VetTimeOffRepository vetTimeOffRepository;
+    private final BoundedVetCache<TimeOffCalendar> calendars;
+
+    public VetTimeOffIndex(
+            VetTimeOffRepository vetTimeOffRepository,
+            @Value("${app.cache.vet-time-off.max-size:1000}") int maxSize
+    ) {
+        this.vetTimeOffRepository = vetTimeOffRepository;
+        this.calendars = new BoundedVetCache<>(maxSize, this::load);
+    }
+
+    /**
+     * Returns true when the calendar of the given vet is cached.
+     */
+    public boolean contains(Long vetProfileId) {
+        return calendars.contains(vetProfileId);
+    }
+
+    public boolean isOnLeave(Long vetProfileId, LocalDate date) {
+        return get(vetProfileId).isOnLeave(date);
+    }
+
+    /**
+     * Returns blocked dates of a vet between given dates (inclusive) in chronological order.
+     */
+    public List<LocalDate> blockedDates(Long vetProfileId, LocalDate from, LocalDate to) {
+        return get(vetProfileId).blockedDates(from, to);
+    }
+
+    public TimeOffCalendar get(Long vetProfileId) {
+        return calendars.get(vetProfileId);
+    }
+
+    /**
+     * Returns time-off calendars of many vets, loading all misses with a single query.
+     */
+    public Map<Long, TimeOffCalendar> getAll(Collection<Long> vetProfileIds) {
+        return calendars.getAll(vetProfileIds);
+    }
+
+    public void invalidate(Long vetProfileId) {
+        calendars.invalidate(vetProfileId);
+    }
+
+    /**
+     * Runs before other time-off listeners so they never rebuild from a stale entry.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeOffChanged(VetTimeOffChangedEvent event) {
+        invalidate(event.vetProfileId());
+    }
+
+    public BoundedVetCache.Stats stats() {
+        return calendars.stats();
+    }
+
+    private Map<Long, TimeOffCalendar> load(Collection<Long> vetProfileIds) {
+        Map<Long, List<VetTimeOffView>> ranges = new HashMap<>();
+        for (VetTimeOffView view : vetTimeOffRepository.findViews(vetProfileIds)) {
+            ranges.computeIfAbsent(view.vetProfileId(), id -> new ArrayList<>()).add(view);
+        }
+        log.debug("Loaded time-off for vet profiles {}", vetProfileIds);
+
+        Map<Long, TimeOffCalendar> loaded = new HashMap<>();
+        for (Long id : vetProfileIds) {
+            loaded.put(id, TimeOffCalendar.of(ranges.getOrDefault(id, List.of())));
+        }
+        return loaded;
+    }
+}
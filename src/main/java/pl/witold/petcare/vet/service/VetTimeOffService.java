@@ -35,7 +35,7 @@ public interface VetTimeOffService {
 
     /**
      * Checks if the vet is on time-off for the given date.
-     * This will be useful later in AppointmentService.
+     * Answered from {@link VetTimeOffIndex}; use the index directly for date ranges.
      */
     boolean isVetOnTimeOffOnDate(VetProfile vetProfile, LocalDate date);
 }
@@ -1,12 +1,14 @@
 package pl.witold.petcare.vet.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.witold.petcare.exceptions.VetTimeOffNotFoundException;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.vet.VetTimeOff;
 import pl.witold.petcare.vet.commands.VetTimeOffCreateCommand;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
 import pl.witold.petcare.vet.repository.VetTimeOffRepository;
 
 import java.time.LocalDate;
@@ -22,6 +24,8 @@ public class VetTimeOffServiceImpl implements VetTimeOffService {
 
     private final VetTimeOffRepository vetTimeOffRepository;
     private final VetProfileService vetProfileService;
+    private final VetTimeOffIndex vetTimeOffIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -42,7 +46,9 @@ public class VetTimeOffServiceImpl implements VetTimeOffService {
         timeOff.setEndDate(command.endDate());
         timeOff.setReason(command.reason());
 
-        return vetTimeOffRepository.save(timeOff);
+        VetTimeOff saved = vetTimeOffRepository.save(timeOff);
+        eventPublisher.publishEvent(new VetTimeOffChangedEvent(profile.getId()));
+        return saved;
     }
 
     @Override
@@ -55,6 +61,7 @@ public class VetTimeOffServiceImpl implements VetTimeOffService {
                 ));
 
         vetTimeOffRepository.delete(timeOff);
+        eventPublisher.publishEvent(new VetTimeOffChangedEvent(profile.getId()));
     }
 
     @Override
@@ -67,11 +74,7 @@ public class VetTimeOffServiceImpl implements VetTimeOffService {
     @Override
     @Transactional(readOnly = true)
     public boolean isVetOnTimeOffOnDate(VetProfile vetProfile, LocalDate date) {
-        List<VetTimeOff> list = vetTimeOffRepository
-                .findByVetProfileAndEndDateGreaterThanEqualAndStartDateLessThanEqual(
-                        vetProfile, date, date
-                );
-        return !list.isEmpty();
+        return vetTimeOffIndex.isOnLeave(vetProfile.getId(), date);
     }
 
     private void validateDates(LocalDate start, LocalDate end) {
@@ -0,0 +1,23 @@
+package pl.witold.petcare.vet.service;
+
+import pl.witold.petcare.dto.VetWeekDto;
+
+import java.time.LocalDate;
+
+/**
+ * Service building the week view of a vet (visits and free slots).
+ */
+public interface VetWeekService {
+
+    /**
+     * Returns the strong ETag of the given week, or null when the week's free slots change
+     * with the clock alone (the current week and weeks reaching past the booking horizon).
+     * Read it before {@link #getWeek}.
+     */
+    String getWeekEtag(Long vetProfileId, LocalDate weekStart);
+
+    /**
+     * Returns visits and free slots of a vet for seven days starting at the given date.
+     */
+    VetWeekDto getWeek(Long vetProfileId, LocalDate weekStart);
+}
@@ -0,0 +1,71 @@
+package pl.witold.petcare.vet.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.availability.AvailabilityService;
+import pl.witold.petcare.dto.AvailabilitySlotDto;
+import pl.witold.petcare.dto.VetWeekDto;
+import pl.witold.petcare.dto.VetWeekOwnerDto;
+import pl.witold.petcare.dto.VetWeekPetDto;
+import pl.witold.petcare.dto.VetWeekVisitDto;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitWeekRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of VetWeekService. Visits come from a single flat projection query,
+ * free slots from the availability index.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class VetWeekServiceImpl implements VetWeekService {
+
+    private final VisitRepository visitRepository;
+    private final AvailabilityService availabilityService;
+    private final VetWeekVersions vetWeekVersions;
+
+    @Override
+    public String getWeekEtag(Long vetProfileId, LocalDate weekStart) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekEnd = weekStart.plusDays(6);
+        boolean past = weekEnd.isBefore(today);
+        boolean upcoming = weekStart.isAfter(today) && !weekEnd.isAfter(availabilityService.bookingHorizon());
+        if (!past && !upcoming) {
+            return null;
+        }
+        return vetWeekVersions.etag(vetProfileId, weekStart);
+    }
+
+    @Override
+    public VetWeekDto getWeek(Long vetProfileId, LocalDate weekStart) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+
+        List<VetWeekVisitDto> visits = new ArrayList<>();
+        Map<Long, VetWeekPetDto> pets = new LinkedHashMap<>();
+        Map<Long, VetWeekOwnerDto> owners = new LinkedHashMap<>();
+        for (VisitWeekRow row : visitRepository.findWeekRows(vetProfileId, weekStart, weekEnd)) {
+            visits.add(new VetWeekVisitDto(
+                    row.id(), row.petId(), row.date(), row.startTime(), row.endTime(), row.status(), row.reason()));
+            pets.putIfAbsent(row.petId(), new VetWeekPetDto(row.petId(), row.petName(), row.petSpecies(), row.ownerId()));
+            owners.putIfAbsent(row.ownerId(), new VetWeekOwnerDto(row.ownerId(), row.ownerFullName()));
+        }
+
+        List<AvailabilitySlotDto> freeSlots = availabilityService.getAvailability(vetProfileId, weekStart, weekEnd).slots();
+        return new VetWeekDto(
+                vetProfileId,
+                weekStart,
+                weekEnd,
+                visits,
+                List.copyOf(pets.values()),
+                List.copyOf(owners.values()),
+                freeSlots
+        );
+    }
+}
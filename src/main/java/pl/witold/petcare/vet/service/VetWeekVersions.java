@@ -0,0 +1,65 @@
+package pl.witold.petcare.vet.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pl.witold.petcare.vet.VetWeekVersion;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
+import pl.witold.petcare.vet.repository.VetWeekVersionRepository;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
+
+import java.time.LocalDate;
+
+/**
+ * Per-vet week versions backing the week view ETag. The version is stored in the database
+ * and bumped in the transaction of every visit, schedule or time-off change of the vet, so
+ * every node derives the same tag and a rolled back change leaves the tag as it was.
+ */
+@Component
+@RequiredArgsConstructor
+public class VetWeekVersions {
+
+    private final VetWeekVersionRepository vetWeekVersionRepository;
+
+    /**
+     * Returns the strong ETag of the given week of a vet. Must be read before
+     * loading the week, so a concurrent change can only make the tag older than the data.
+     */
+    public String etag(Long vetProfileId, LocalDate weekStart) {
+        long version = vetWeekVersionRepository.findVersion(vetProfileId).orElse(0L);
+        return "\"" + vetProfileId + "-" + weekStart + "-" + version + "\"";
+    }
+
+    /**
+     * Creates the version row of a new vet profile, so later changes only update it.
+     */
+    public void register(Long vetProfileId) {
+        vetWeekVersionRepository.save(new VetWeekVersion(vetProfileId, 0));
+    }
+
+    /**
+     * Bumps the version of a vet in the current transaction. A profile created outside the
+     * application gets its row on the first change.
+     */
+    public void bump(Long vetProfileId) {
+        if (vetWeekVersionRepository.increment(vetProfileId) == 0) {
+            vetWeekVersionRepository.save(new VetWeekVersion(vetProfileId, 1));
+        }
+    }
+
+    @EventListener
+    public void onVisitChanged(VisitChangedEvent event) {
+        bump(event.vetProfileId());
+    }
+
+    @EventListener
+    public void onScheduleChanged(VetScheduleChangedEvent event) {
+        bump(event.vetProfileId());
+    }
+
+    @EventListener
+    public void onTimeOffChanged(VetTimeOffChangedEvent event) {
+        bump(event.vetProfileId());
+    }
+}
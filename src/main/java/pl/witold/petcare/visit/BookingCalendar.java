@@ -0,0 +1,111 @@
+package pl.witold.petcare.visit;
+
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.VetTimeOffView;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory snapshot of a vet's calendar (weekly schedule, time-off and blocking visits)
+ * used to validate bookings without further queries. Accepted bookings are reserved in the
+ * snapshot, so several occurrences validated against one calendar cannot collide either.
+ * Not thread-safe; meant to live within a single booking call.
+ */
+public final class BookingCalendar {
+
+    private final List<VetScheduleRuleView> schedule;
+    private final TimeOffCalendar timeOff;
+    private final Map<LocalDate, List<VisitSlotView>> blockingByDate = new HashMap<>();
+
+    public BookingCalendar(
+            List<VetScheduleRuleView> schedule,
+            List<VetTimeOffView> timeOff,
+            List<VisitSlotView> blockingVisits
+    ) {
+        this(schedule, TimeOffCalendar.of(timeOff), blockingVisits);
+    }
+
+    public BookingCalendar(
+            List<VetScheduleRuleView> schedule,
+            TimeOffCalendar timeOff,
+            List<VisitSlotView> blockingVisits
+    ) {
+        this.schedule = schedule;
+        this.timeOff = timeOff;
+        for (VisitSlotView visit : blockingVisits) {
+            blockingByDate.computeIfAbsent(visit.date(), d -> new ArrayList<>()).add(visit);
+        }
+    }
+
+    /**
+     * Validates a requested visit start and reserves the slot.
+     *
+     * @return end time of the reserved slot
+     * @throws IllegalArgumentException with the same messages as single visit booking
+     */
+    public LocalTime reserve(LocalDate date, LocalTime start) {
+        validateRequired(date, start);
+        validateTemporal(date, start);
+        VetScheduleRuleView rule = findScheduleRule(date, start);
+        LocalTime end = start.plusMinutes(rule.slotLengthMinutes());
+        validateNotOnTimeOff(date);
+        validateNoConflict(date, start, end);
+
+        blockingByDate.computeIfAbsent(date, d -> new ArrayList<>())
+                .add(new VisitSlotView(null, rule.vetProfileId(), date, start, end));
+        return end;
+    }
+
+    private void validateRequired(LocalDate date, LocalTime start) {
+        if (date == null || start == null) {
+            throw new IllegalArgumentException("Visit date and start time must be provided");
+        }
+    }
+
+    private void validateTemporal(LocalDate date, LocalTime start) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            throw new IllegalArgumentException("Visit date cannot be in the past");
+        }
+        if (date.isEqual(today) && start.isBefore(LocalTime.now())) {
+            throw new IllegalArgumentException("Visit start time cannot be in the past");
+        }
+    }
+
+    private VetScheduleRuleView findScheduleRule(LocalDate date, LocalTime requestedStart) {
+        return schedule.stream()
+                .filter(rule -> rule.dayOfWeek() == date.getDayOfWeek())
+                .filter(rule -> withinRule(requestedStart, rule))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Requested time is outside vet working hours"));
+    }
+
+    private boolean withinRule(LocalTime requestedStart, VetScheduleRuleView rule) {
+        Integer slotLen = rule.slotLengthMinutes();
+        if (slotLen == null || slotLen <= 0) return false;
+        if (requestedStart.isBefore(rule.startTime()) || !requestedStart.isBefore(rule.endTime())) return false;
+        long minutesFromStart = Duration.between(rule.startTime(), requestedStart).toMinutes();
+        return minutesFromStart % slotLen == 0;
+    }
+
+    private void validateNotOnTimeOff(LocalDate date) {
+        if (timeOff.isOnLeave(date)) {
+            throw new IllegalArgumentException("Vet is on time off on the selected date");
+        }
+    }
+
+    private void validateNoConflict(LocalDate date, LocalTime start, LocalTime end) {
+        for (VisitSlotView visit : blockingByDate.getOrDefault(date, List.of())) {
+            if (visit.startTime().isBefore(end) && visit.endTime().isAfter(start)) {
+                throw new IllegalArgumentException("Selected time slot is already taken");
+            }
+        }
+    }
+}
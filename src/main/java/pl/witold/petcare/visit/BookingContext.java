@@ -0,0 +1,15 @@
+package pl.witold.petcare.visit;
+
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.vet.VetProfile;
+
+/**
+ * Everything needed to validate and store a single booking: the pet with its owner,
+ * the vet profile with its user and the vet's calendar for the requested day.
+ */
+public record BookingContext(
+        Pet pet,
+        VetProfile vetProfile,
+        BookingCalendar calendar
+) {
+}
@@ -0,0 +1,81 @@
+package pl.witold.petcare.visit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.exceptions.PetNotFoundException;
+import pl.witold.petcare.exceptions.VetProfileNotFoundException;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.vet.service.VetScheduleCache;
+import pl.witold.petcare.vet.service.VetTimeOffIndex;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads booking data with as few round trips as possible.
+ * The weekly schedule and time-off come from {@link VetScheduleCache} and {@link VetTimeOffIndex}.
+ * <ul>
+ *     <li>{@link #load} - single booking: pet with owner, vet profile (from the second-level
+ *     cache, plus its user) and the vet's blocking visits of one day.</li>
+ *     <li>{@link #loadCalendar} - batch booking: the vet's calendar for a whole date span.</li>
+ *     <li>{@link #loadCommittedBlockingVisits} - the vet's blocking visits as committed by other
+ *     transactions, used to explain a failed batch insert.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingContextLoader {
+
+    private static final Set<VisitStatus> BLOCKING_STATUSES = EnumSet.of(
+            VisitStatus.SCHEDULED,
+            VisitStatus.CONFIRMED
+    );
+
+    private final PetRepository petRepository;
+    private final VetProfileRepository vetProfileRepository;
+    private final VetScheduleCache vetScheduleCache;
+    private final VetTimeOffIndex vetTimeOffIndex;
+    private final VisitRepository visitRepository;
+
+    public BookingContext load(Long petId, Long vetProfileId, LocalDate date) {
+        Pet pet = petRepository.findForBooking(petId)
+                .orElseThrow(() -> new PetNotFoundException("Pet with ID " + petId + " not found"));
+        VetProfile vetProfile = vetProfileRepository.findById(vetProfileId)
+                .orElseThrow(() -> new VetProfileNotFoundException("Vet profile with ID " + vetProfileId + " not found"));
+        BookingCalendar calendar = date == null
+                ? new BookingCalendar(List.of(), List.of(), List.of())
+                : loadDay(vetProfileId, date);
+        return new BookingContext(pet, vetProfile, calendar);
+    }
+
+    public BookingCalendar loadCalendar(Long vetProfileId, LocalDate from, LocalDate to) {
+        return new BookingCalendar(
+                vetScheduleCache.get(vetProfileId).rules(),
+                vetTimeOffIndex.get(vetProfileId),
+                visitRepository.findSlotViews(List.of(vetProfileId), from, to, BLOCKING_STATUSES)
+        );
+    }
+
+    /**
+     * Reads in a new transaction, as the caller's session is unusable after a failed flush.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<VisitSlotView> loadCommittedBlockingVisits(Long vetProfileId, LocalDate from, LocalDate to) {
+        return visitRepository.findSlotViews(List.of(vetProfileId), from, to, BLOCKING_STATUSES);
+    }
+
+    private BookingCalendar loadDay(Long vetProfileId, LocalDate date) {
+        return new BookingCalendar(
+                vetScheduleCache.get(vetProfileId).rulesFor(date.getDayOfWeek()),
+                vetTimeOffIndex.get(vetProfileId),
+                visitRepository.findSlotViews(List.of(vetProfileId), date, date, BLOCKING_STATUSES)
+        );
+    }
+}
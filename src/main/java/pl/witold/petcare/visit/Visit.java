@@ -18,13 +18,22 @@ import java.time.LocalTime;
         name = "visits",
         indexes = {
                 @Index(name = "idx_visits_pet_id", columnList = "pet_id"),
-                @Index(name = "idx_visits_vet_profile_and_date", columnList = "vet_profile_id, visit_date")
+                @Index(name = "idx_visits_vet_profile_and_date", columnList = "vet_profile_id, visit_date"),
+                @Index(name = "idx_visits_pet_date_time_id", columnList = "pet_id, visit_date, start_time, id"),
+                @Index(name = "idx_visits_vet_date_time_id", columnList = "vet_profile_id, visit_date, start_time, id")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_visits_active_slot",
+                        columnNames = {"vet_profile_id", "visit_date", "start_time", "slot_lock"}
+                )
         }
 )
 public class Visit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "visits_seq")
+    @SequenceGenerator(name = "visits_seq", sequenceName = "visits_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.EAGER)
@@ -46,9 +55,16 @@ public class Visit {
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 32, nullable = false)
-    @Setter
     private VisitStatus status = VisitStatus.SCHEDULED;
 
+    /**
+     * TRUE while the visit occupies its slot, NULL otherwise. Together with
+     * {@code uk_visits_active_slot} it lets the database reject a second active
+     * booking of the same slot; NULLs never collide, so cancelled visits are ignored.
+     */
+    @Column(name = "slot_lock")
+    private Boolean slotLock = Boolean.TRUE;
+
     @Setter
     @Column(name = "reason")
     private String reason;
@@ -78,4 +94,9 @@ public class Visit {
         this.reason = reason;
         this.notes = notes;
     }
+
+    public void setStatus(VisitStatus status) {
+        this.status = status;
+        this.slotLock = status.isBlocking() ? Boolean.TRUE : null;
+    }
 }
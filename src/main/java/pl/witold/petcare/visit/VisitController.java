@@ -15,11 +15,14 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.VisitBatchResultDto;
 import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.visit.commands.VisitBatchCreateCommand;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
 import pl.witold.petcare.visit.commands.VisitPartialUpdateCommand;
+import pl.witold.petcare.visit.commands.VisitRecurrenceCreateCommand;
 import pl.witold.petcare.visit.commands.VisitStatusUpdateCommand;
 
 import java.time.LocalDate;
@@ -74,6 +77,79 @@ public class VisitController {
         return ResponseEntity.status(HttpStatus.CREATED).body(VisitMapper.toDto(created));
     }
 
+    /**
+     * POST /api/visits/batch
+     * Books several visits at once and reports the outcome of every occurrence.
+     */
+    @Operation(
+            summary = "Create visits in batch",
+            description = "Books up to 100 visits of one pet with one vet. Every occurrence is validated "
+                    + "against working hours, time-off and existing visits; accepted occurrences are stored "
+                    + "even if others are rejected."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Per-occurrence booking results",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = VisitBatchResultDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error in batch payload"
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<VisitBatchResultDto> createVisits(
+            @Valid
+            @RequestBody(
+                    description = "Payload with pet, vet and list of occurrences to book",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = VisitBatchCreateCommand.class)
+                    )
+            )
+            @org.springframework.web.bind.annotation.RequestBody VisitBatchCreateCommand command
+    ) {
+        return ResponseEntity.ok(visitService.createVisits(command));
+    }
+
+    /**
+     * POST /api/visits/recurring
+     * Books a visit repeated every given number of weeks.
+     */
+    @Operation(
+            summary = "Create recurring visits",
+            description = "Expands a weekly recurrence rule (first date, start time, interval, number of "
+                    + "occurrences) and books it like a batch."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Per-occurrence booking results",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = VisitBatchResultDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error in recurrence payload"
+    )
+    @PostMapping("/recurring")
+    public ResponseEntity<VisitBatchResultDto> createRecurringVisits(
+            @Valid
+            @RequestBody(
+                    description = "Payload with recurrence rule",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = VisitRecurrenceCreateCommand.class)
+                    )
+            )
+            @org.springframework.web.bind.annotation.RequestBody VisitRecurrenceCreateCommand command
+    ) {
+        return ResponseEntity.ok(visitService.createVisits(command.toBatch()));
+    }
+
     /**
      * GET /api/visits/by-pet/{petId}
      * Returns all visits for the given pet.
@@ -97,9 +173,38 @@ public class VisitController {
             @PathVariable Long petId,
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<Visit> visits = visitService.getVisitsForPet(petId, pageable);
-        Page<VisitResponseDto> result = visits.map(VisitMapper::toDto);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(visitService.getVisitsForPet(petId, pageable));
+    }
+
+    @Operation(
+            summary = "Scroll visits for a pet",
+            description = "Returns visits of the given pet in chronological order. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of visits for the pet returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/by-pet/{petId}/scroll")
+    public ResponseEntity<CursorPageDto<VisitResponseDto>> scrollVisitsForPet(
+            @Parameter(description = "Pet id", example = "1")
+            @PathVariable Long petId,
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(visitService.scrollVisitsForPet(petId, cursor, size, withTotal));
     }
 
     /**
@@ -121,7 +226,6 @@ public class VisitController {
                     schema = @Schema(implementation = Page.class)
             )
     )
-    @Transactional(readOnly = true)
     @GetMapping("/by-vet/{vetProfileId}")
     public ResponseEntity<Page<VisitResponseDto>> getVisitsForVetAndDate(
             @Parameter(description = "Vet profile id", example = "1")
@@ -133,9 +237,7 @@ public class VisitController {
             @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<Visit> visits = visitService.getVisitsForVetAndDate(vetProfileId, date, pageable);
-        Page<VisitResponseDto> result = visits.map(VisitMapper::toDto);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(visitService.getVisitsForVetAndDate(vetProfileId, date, pageable));
     }
 
     @Operation(
@@ -155,9 +257,36 @@ public class VisitController {
     public ResponseEntity<Page<VisitResponseDto>> getMyVisits(
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<Visit> visits = visitService.getVisitsForCurrentVet(pageable);
-        Page<VisitResponseDto> result = visits.map(VisitMapper::toDto);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(visitService.getVisitsForCurrentVet(pageable));
+    }
+
+    @Operation(
+            summary = "Scroll visits for current vet",
+            description = "Returns visits assigned to the currently authenticated vet in chronological order. "
+                    + "Keyset paginated: pass the returned 'next' cursor to read the following page."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of visits for the current vet returned successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor"
+    )
+    @GetMapping("/me/scroll")
+    public ResponseEntity<CursorPageDto<VisitResponseDto>> scrollMyVisits(
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include totalElements, which costs an extra count query")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(visitService.scrollVisitsForCurrentVet(cursor, size, withTotal));
     }
 
     @Operation(
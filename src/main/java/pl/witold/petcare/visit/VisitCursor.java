@@ -0,0 +1,38 @@
+package pl.witold.petcare.visit;
+
+import pl.witold.petcare.pagination.CursorPaging;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in visit listings ordered by (date, start time, id).
+ */
+record VisitCursor(LocalDate date, LocalTime startTime, Long id) {
+
+    /**
+     * Position before every stored visit, used for the first page.
+     */
+    static final VisitCursor START = new VisitCursor(LocalDate.of(1, 1, 1), LocalTime.MIN, 0L);
+
+    static VisitCursor of(VisitRow visit) {
+        return new VisitCursor(visit.date(), visit.startTime(), visit.id());
+    }
+
+    static VisitCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        String[] parts = CursorPaging.decode(cursor, 3);
+        try {
+            return new VisitCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw CursorPaging.invalidCursor();
+        }
+    }
+
+    String encode() {
+        return CursorPaging.encode(date, startTime, id);
+    }
+}
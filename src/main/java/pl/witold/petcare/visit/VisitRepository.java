@@ -1,12 +1,18 @@
 package pl.witold.petcare.visit;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import pl.witold.petcare.dto.PetHistoryVisitDto;
 import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetHistoryExportService;
 import pl.witold.petcare.vet.VetProfile;
 
 import java.time.LocalDate;
@@ -14,6 +20,7 @@ import java.time.LocalTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Visit entity.
@@ -41,16 +48,14 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
             """)
     List<Visit> findByPetOrderByDateAscStartTimeAsc(@Param("pet") Pet pet);
 
-    @Query(value = """
-            select distinct v from Visit v
-            left join fetch v.pet p
-            left join fetch p.owner
-            left join fetch v.vetProfile vp
-            left join fetch vp.user
-            where v.pet = :pet
-            order by v.date asc, v.startTime asc
-            """, countQuery = "select count(distinct v) from Visit v where v.pet = :pet")
-    Page<Visit> findByPetOrderByDateAscStartTimeAsc(@Param("pet") Pet pet, Pageable pageable);
+    /**
+     * Page of a pet's visits as flat rows, for list endpoints.
+     */
+    @Query(value = VisitRow.SELECT + """
+            where v.pet.id = :petId
+            order by v.date asc, v.startTime asc, v.id asc
+            """, countQuery = "select count(v) from Visit v where v.pet.id = :petId")
+    Page<VisitRow> findRowsByPetId(@Param("petId") Long petId, Pageable pageable);
 
     @Query("""
             select v from Visit v
@@ -63,44 +68,122 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
             """)
     List<Visit> findByVetProfileAndDateOrderByStartTimeAsc(@Param("vetProfile") VetProfile vetProfile, @Param("date") LocalDate date);
 
-    @Query(value = """
-            select distinct v from Visit v
-            left join fetch v.pet p
-            left join fetch p.owner
-            left join fetch v.vetProfile vp
-            left join fetch vp.user
-            where v.vetProfile = :vetProfile and v.date = :date
-            order by v.startTime asc
-            """, countQuery = "select count(distinct v) from Visit v where v.vetProfile = :vetProfile and v.date = :date")
-    Page<Visit> findByVetProfileAndDateOrderByStartTimeAsc(
-            @Param("vetProfile") VetProfile vetProfile,
+    @Query(value = VisitRow.SELECT + """
+            where v.vetProfile.id = :vetProfileId and v.date = :date
+            order by v.startTime asc, v.id asc
+            """, countQuery = "select count(v) from Visit v where v.vetProfile.id = :vetProfileId and v.date = :date")
+    Page<VisitRow> findRowsByVetProfileIdAndDate(
+            @Param("vetProfileId") Long vetProfileId,
             @Param("date") LocalDate date,
             Pageable pageable
     );
 
+    @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user"})
+    List<Visit> findByVetProfileOrderByDateAscStartTimeAsc(VetProfile vetProfile);
+
+    @Query(value = VisitRow.SELECT + """
+            where v.vetProfile.id = :vetProfileId
+            order by v.date asc, v.startTime asc, v.id asc
+            """, countQuery = "select count(v) from Visit v where v.vetProfile.id = :vetProfileId")
+    Page<VisitRow> findRowsByVetProfileId(@Param("vetProfileId") Long vetProfileId, Pageable pageable);
+
     /**
-     * Checks if there is any visit for given vet/date that overlaps given time range.
-     * Used to block already taken slots.
+     * Keyset page of a pet's visits following the given (date, start time, id) position.
+     * The leading {@code v.date >= :date} bound lets the range scan start at the cursor.
      */
-    boolean existsByVetProfileAndDateAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-            VetProfile vetProfile,
-            LocalDate date,
-            Collection<VisitStatus> statuses,
-            LocalTime endTime,
-            LocalTime startTime
+    @Query(VisitRow.SELECT + """
+            where v.pet.id = :petId
+              and v.date >= :date
+              and (v.date > :date
+                   or (v.date = :date and (v.startTime > :startTime
+                       or (v.startTime = :startTime and v.id > :id))))
+            order by v.date asc, v.startTime asc, v.id asc
+            """)
+    Slice<VisitRow> findRowsByPetIdAfter(
+            @Param("petId") Long petId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Pageable pageable
     );
 
-    @EntityGraph(attributePaths = {"pet", "pet.owner", "vetProfile", "vetProfile.user"})
-    List<Visit> findByVetProfileOrderByDateAscStartTimeAsc(VetProfile vetProfile);
+    /**
+     * Keyset page of a vet's visits following the given (date, start time, id) position.
+     */
+    @Query(VisitRow.SELECT + """
+            where v.vetProfile.id = :vetProfileId
+              and v.date >= :date
+              and (v.date > :date
+                   or (v.date = :date and (v.startTime > :startTime
+                       or (v.startTime = :startTime and v.id > :id))))
+            order by v.date asc, v.startTime asc, v.id asc
+            """)
+    Slice<VisitRow> findRowsByVetProfileIdAfter(
+            @Param("vetProfileId") Long vetProfileId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 
-    @Query(value = """
-            select distinct v from Visit v
-            left join fetch v.pet p
-            left join fetch p.owner
-            left join fetch v.vetProfile vp
-            left join fetch vp.user
-            where v.vetProfile = :vetProfile
+    long countByPetId(Long petId);
+
+    long countByVetProfileId(Long vetProfileId);
+
+    /**
+     * Returns time slots of visits with given statuses for the given vets within a date range.
+     * Used to build the in-memory availability index.
+     */
+    @Query("""
+            select new pl.witold.petcare.visit.VisitSlotView(v.id, v.vetProfile.id, v.date, v.startTime, v.endTime)
+            from Visit v
+            where v.vetProfile.id in :vetProfileIds
+              and v.date between :from and :to
+              and v.status in :statuses
+            """)
+    List<VisitSlotView> findSlotViews(
+            @Param("vetProfileIds") Collection<Long> vetProfileIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<VisitStatus> statuses
+    );
+
+    /**
+     * Returns visits of a vet within a date range together with pet and owner columns,
+     * in chronological order. Used by the vet week view.
+     */
+    @Query("""
+            select new pl.witold.petcare.visit.VisitWeekRow(
+                v.id, v.date, v.startTime, v.endTime, v.status, v.reason,
+                p.id, p.name, p.species, o.id, o.fullName
+            )
+            from Visit v
+            join v.pet p
+            join p.owner o
+            where v.vetProfile.id = :vetProfileId
+              and v.date between :from and :to
             order by v.date asc, v.startTime asc
-            """, countQuery = "select count(distinct v) from Visit v where v.vetProfile = :vetProfile")
-    Page<Visit> findByVetProfileOrderByDateAscStartTimeAsc(@Param("vetProfile") VetProfile vetProfile, Pageable pageable);
+            """)
+    List<VisitWeekRow> findWeekRows(
+            @Param("vetProfileId") Long vetProfileId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Streams the visits of an owner's pets ordered by pet id, matching {@code PetRepository#streamByOwnerId}.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PetHistoryExportService.FETCH_SIZE))
+    @Query("""
+            select new pl.witold.petcare.dto.PetHistoryVisitDto(
+                v.id, p.id, v.date, v.startTime, v.endTime, v.status, v.reason, v.notes, vp.id, u.fullName
+            )
+            from Visit v
+            join v.pet p
+            join v.vetProfile vp
+            join vp.user u
+            where p.owner.id = :ownerId
+            order by p.id, v.date, v.startTime, v.id
+            """)
+    Stream<PetHistoryVisitDto> streamHistoryByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,84 @@
+package pl.witold.petcare.visit;
+
+import pl.witold.petcare.dto.PetResponseDto;
+import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.pet.Sex;
+import pl.witold.petcare.pet.Species;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Flat projection of a visit with its pet, owner and vet, read for list endpoints without
+ * loading managed entities.
+ */
+public record VisitRow(
+        Long id,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        VisitStatus status,
+        String reason,
+        String notes,
+        Long petId,
+        String petName,
+        Species petSpecies,
+        Sex petSex,
+        String petBreed,
+        LocalDate petBirthDate,
+        Integer petBirthYear,
+        Double petWeight,
+        String petNotes,
+        Long ownerId,
+        String ownerFullName,
+        Long vetProfileId,
+        Long vetUserId,
+        String vetFullName
+) {
+
+    /**
+     * Select clause and joins shared by the row queries; callers append the where and order by clauses.
+     */
+    static final String SELECT = """
+            select new pl.witold.petcare.visit.VisitRow(
+                v.id, v.date, v.startTime, v.endTime, v.status, v.reason, v.notes,
+                p.id, p.name, p.species, p.sex, p.breed, p.birthDate, p.birthYear, p.weight, p.notes,
+                o.id, o.fullName,
+                vp.id, u.id, u.fullName
+            )
+            from Visit v
+            join v.pet p
+            join p.owner o
+            join v.vetProfile vp
+            join vp.user u
+            """;
+
+    public VisitResponseDto toDto() {
+        PetResponseDto pet = new PetResponseDto(
+                petId,
+                ownerId,
+                ownerFullName,
+                petName,
+                petSpecies,
+                petSex,
+                petBreed,
+                petBirthDate,
+                petBirthYear,
+                petWeight,
+                petNotes
+        );
+        return new VisitResponseDto(
+                id,
+                pet,
+                vetProfileId,
+                vetUserId,
+                vetFullName,
+                date,
+                startTime,
+                endTime,
+                status,
+                reason,
+                notes
+        );
+    }
+}
@@ -2,7 +2,10 @@ package pl.witold.petcare.visit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.VisitBatchResultDto;
 import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.visit.commands.VisitBatchCreateCommand;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
 
 import java.time.LocalDate;
@@ -15,20 +18,37 @@ public interface VisitService {
 
     Visit createVisit(VisitCreateCommand command);
 
+    /**
+     * Books several visits of one pet with one vet. Every occurrence is validated against
+     * a calendar loaded once for the whole date span; rejected occurrences do not prevent
+     * the accepted ones from being stored.
+     */
+    VisitBatchResultDto createVisits(VisitBatchCreateCommand command);
+
     List<Visit> getVisitsForPet(Long petId);
 
-    Page<Visit> getVisitsForPet(Long petId, Pageable pageable);
+    Page<VisitResponseDto> getVisitsForPet(Long petId, Pageable pageable);
+
+    /**
+     * Returns a keyset page of the pet's visits in chronological order.
+     *
+     * @param cursor    {@code next} value of the previous page, {@code null} for the first page
+     * @param withTotal whether to also count all visits of the pet
+     */
+    CursorPageDto<VisitResponseDto> scrollVisitsForPet(Long petId, String cursor, int size, boolean withTotal);
 
     List<Visit> getVisitsForVetAndDate(Long vetProfileId, LocalDate date);
 
-    Page<Visit> getVisitsForVetAndDate(Long vetProfileId, LocalDate date, Pageable pageable);
+    Page<VisitResponseDto> getVisitsForVetAndDate(Long vetProfileId, LocalDate date, Pageable pageable);
 
     /**
      * Returns all visits for currently authenticated vet.
      */
     List<Visit> getVisitsForCurrentVet();
 
-    Page<Visit> getVisitsForCurrentVet(Pageable pageable);
+    Page<VisitResponseDto> getVisitsForCurrentVet(Pageable pageable);
+
+    CursorPageDto<VisitResponseDto> scrollVisitsForCurrentVet(String cursor, int size, boolean withTotal);
 
     VisitResponseDto updateVisitStatus(Long visitId, VisitStatus status);
 
@@ -1,31 +1,41 @@
 package pl.witold.petcare.visit;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.VisitBatchResultDto;
+import pl.witold.petcare.dto.VisitOccurrenceResultDto;
 import pl.witold.petcare.dto.VisitResponseDto;
 import pl.witold.petcare.exceptions.ResourceNotFoundException;
+import pl.witold.petcare.pagination.CursorPaging;
 import pl.witold.petcare.pet.Pet;
 import pl.witold.petcare.pet.PetAccessService;
 import pl.witold.petcare.pet.PetService;
 import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.user.Role;
 import pl.witold.petcare.vet.VetProfile;
-import pl.witold.petcare.vet.VetScheduleEntry;
 import pl.witold.petcare.vet.service.VetProfileService;
-import pl.witold.petcare.vet.service.VetScheduleService;
-import pl.witold.petcare.vet.service.VetTimeOffService;
+import pl.witold.petcare.visit.commands.VisitBatchCreateCommand;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
+import pl.witold.petcare.visit.commands.VisitOccurrenceCommand;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.EnumSet;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Visit service with local validation helpers (SRP kept minimal:
@@ -36,45 +46,106 @@ import java.util.Set;
 @Transactional
 public class VisitServiceImpl implements VisitService {
 
-    private static final Set<VisitStatus> BLOCKING_STATUSES = EnumSet.of(
-            VisitStatus.SCHEDULED,
-            VisitStatus.CONFIRMED
-    );
+    private static final String ACTIVE_SLOT_CONSTRAINT = "uk_visits_active_slot";
+    private static final String SLOT_TAKEN = "Selected time slot is already taken";
 
     private final VisitRepository visitRepository;
     private final PetService petService;
     private final PetAccessService petAccessService;
     private final VetProfileService vetProfileService;
-    private final VetScheduleService vetScheduleService;
-    private final VetTimeOffService vetTimeOffService;
     private final CurrentUserService currentUserService;
+    private final BookingContextLoader bookingContextLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Books a single visit. Pet, vet and the vet's calendar for the day are loaded upfront
+     * (three selects), so validation runs in memory and the insert is the only write.
+     */
     @Override
     public Visit createVisit(VisitCreateCommand command) {
-        Pet pet = petService.getById(command.petId());
-        petAccessService.checkCanModify(pet);
-        VetProfile vetProfile = vetProfileService.getById(command.vetProfileId());
+        BookingContext context = bookingContextLoader.load(command.petId(), command.vetProfileId(), command.date());
+        petAccessService.checkCanModify(context.pet());
 
         LocalDate date = command.date();
         LocalTime start = command.startTime();
-
-        validateRequired(date, start);
-        validateTemporal(date, start);
-        VetScheduleEntry scheduleEntry = findScheduleEntry(vetProfile, date, start);
-        LocalTime end = start.plusMinutes(scheduleEntry.getSlotLengthMinutes());
-        validateNotOnTimeOff(vetProfile, date);
-        validateNoConflict(vetProfile, date, start, end);
+        LocalTime end = context.calendar().reserve(date, start);
 
         Visit visit = new Visit(
-                pet,
-                vetProfile,
+                context.pet(),
+                context.vetProfile(),
                 date,
                 start,
                 end,
                 command.reason(),
                 command.notes()
         );
-        return visitRepository.save(visit);
+        Visit saved = claimSlot(() -> visitRepository.saveAndFlush(visit));
+        eventPublisher.publishEvent(VisitChangedEvent.of(saved));
+        return saved;
+    }
+
+    @Override
+    public VisitBatchResultDto createVisits(VisitBatchCreateCommand command) {
+        Pet pet = petService.getById(command.petId());
+        petAccessService.checkCanModify(pet);
+        VetProfile vetProfile = vetProfileService.getById(command.vetProfileId());
+
+        List<VisitOccurrenceCommand> occurrences = command.occurrences();
+        List<LocalDate> dates = occurrences.stream()
+                .map(VisitOccurrenceCommand::date)
+                .filter(Objects::nonNull)
+                .toList();
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("Visit date and start time must be provided");
+        }
+        LocalDate from = dates.stream().min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = dates.stream().max(Comparator.naturalOrder()).orElseThrow();
+        BookingCalendar calendar = bookingContextLoader.loadCalendar(vetProfile.getId(), from, to);
+
+        List<Visit> accepted = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (VisitOccurrenceCommand occurrence : occurrences) {
+            try {
+                LocalTime end = calendar.reserve(occurrence.date(), occurrence.startTime());
+                accepted.add(new Visit(
+                        pet,
+                        vetProfile,
+                        occurrence.date(),
+                        occurrence.startTime(),
+                        end,
+                        command.reason(),
+                        command.notes()
+                ));
+                errors.add(null);
+            } catch (IllegalArgumentException ex) {
+                errors.add(ex.getMessage());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            claimSlot(() -> {
+                List<Visit> saved = visitRepository.saveAll(accepted);
+                visitRepository.flush();
+                return saved;
+            }, () -> seriesConflictMessage(vetProfile.getId(), accepted));
+            accepted.forEach(visit -> eventPublisher.publishEvent(VisitChangedEvent.of(visit)));
+        }
+
+        List<VisitOccurrenceResultDto> results = new ArrayList<>(occurrences.size());
+        int acceptedIndex = 0;
+        for (int i = 0; i < occurrences.size(); i++) {
+            VisitOccurrenceCommand occurrence = occurrences.get(i);
+            String error = errors.get(i);
+            if (error == null) {
+                Visit visit = accepted.get(acceptedIndex++);
+                results.add(new VisitOccurrenceResultDto(
+                        visit.getDate(), visit.getStartTime(), visit.getEndTime(), true, visit.getId(), null));
+            } else {
+                results.add(new VisitOccurrenceResultDto(
+                        occurrence.date(), occurrence.startTime(), null, false, null, error));
+            }
+        }
+        return new VisitBatchResultDto(accepted.size(), occurrences.size() - accepted.size(), results);
     }
 
     @Override
@@ -87,12 +158,23 @@ public class VisitServiceImpl implements VisitService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Visit> getVisitsForPet(Long petId, Pageable pageable) {
+    public Page<VisitResponseDto> getVisitsForPet(Long petId, Pageable pageable) {
         Pet pet = petService.getById(petId);
         petAccessService.checkCanView(pet);
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return visitRepository.findByPetOrderByDateAscStartTimeAsc(pet, unsortedPageable);
+        return visitRepository.findRowsByPetId(pet.getId(), unsortedPageable).map(VisitRow::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<VisitResponseDto> scrollVisitsForPet(Long petId, String cursor, int size, boolean withTotal) {
+        Pet pet = petService.getById(petId);
+        petAccessService.checkCanView(pet);
+        VisitCursor after = VisitCursor.decode(cursor);
+        Slice<VisitRow> slice = visitRepository.findRowsByPetIdAfter(
+                pet.getId(), after.date(), after.startTime(), after.id(), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? visitRepository.countByPetId(pet.getId()) : null);
     }
 
     @Override
@@ -104,11 +186,12 @@ public class VisitServiceImpl implements VisitService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Visit> getVisitsForVetAndDate(Long vetProfileId, LocalDate date, Pageable pageable) {
+    public Page<VisitResponseDto> getVisitsForVetAndDate(Long vetProfileId, LocalDate date, Pageable pageable) {
         VetProfile profile = vetProfileService.getById(vetProfileId);
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return visitRepository.findByVetProfileAndDateOrderByStartTimeAsc(profile, date, unsortedPageable);
+        return visitRepository.findRowsByVetProfileIdAndDate(profile.getId(), date, unsortedPageable)
+                .map(VisitRow::toDto);
     }
 
     @Override
@@ -120,18 +203,33 @@ public class VisitServiceImpl implements VisitService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Visit> getVisitsForCurrentVet(Pageable pageable) {
+    public Page<VisitResponseDto> getVisitsForCurrentVet(Pageable pageable) {
         VetProfile profile = vetProfileService.getOrCreateCurrentVetProfile();
         // Remove sorting from Pageable since it's already in the query
         Pageable unsortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-        return visitRepository.findByVetProfileOrderByDateAscStartTimeAsc(profile, unsortedPageable);
+        return visitRepository.findRowsByVetProfileId(profile.getId(), unsortedPageable).map(VisitRow::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<VisitResponseDto> scrollVisitsForCurrentVet(String cursor, int size, boolean withTotal) {
+        VetProfile profile = vetProfileService.getOrCreateCurrentVetProfile();
+        VisitCursor after = VisitCursor.decode(cursor);
+        Slice<VisitRow> slice = visitRepository.findRowsByVetProfileIdAfter(
+                profile.getId(), after.date(), after.startTime(), after.id(), CursorPaging.firstSlice(size));
+        return toCursorPage(slice, withTotal ? visitRepository.countByVetProfileId(profile.getId()) : null);
     }
 
     @Override
     public VisitResponseDto updateVisitStatus(Long visitId, VisitStatus status) {
         Visit visit = visitRepository.findByIdWithRelations(visitId)
                 .orElseThrow(() -> new ResourceNotFoundException("Visit not found"));
+        boolean reclaimsSlot = status.isBlocking() && !visit.getStatus().isBlocking();
         visit.setStatus(status);
+        if (reclaimsSlot) {
+            claimSlot(() -> visitRepository.saveAndFlush(visit));
+        }
+        eventPublisher.publishEvent(VisitChangedEvent.of(visit));
         return VisitMapper.toDto(visit);
     }
 
@@ -151,6 +249,7 @@ public class VisitServiceImpl implements VisitService {
         Visit visit = visitRepository.findByIdWithRelations(visitId)
                 .orElseThrow(() -> new ResourceNotFoundException("Visit not found"));
         visitRepository.delete(visit);
+        eventPublisher.publishEvent(VisitChangedEvent.removed(visit));
     }
 
     @Override
@@ -159,10 +258,15 @@ public class VisitServiceImpl implements VisitService {
                 .orElseThrow(() -> new ResourceNotFoundException("Visit not found"));
         if (reason != null) visit.setReason(reason);
         if (notes != null) visit.setNotes(notes);
+        eventPublisher.publishEvent(VisitChangedEvent.of(visit));
         return VisitMapper.toDto(visit);
     }
 
-    // --- Private helpers (encapsulated validation) ---
+    // --- Private helpers ---
+
+    private static CursorPageDto<VisitResponseDto> toCursorPage(Slice<VisitRow> slice, Long total) {
+        return CursorPaging.toPage(slice, visit -> VisitCursor.of(visit).encode(), VisitRow::toDto, total);
+    }
 
     private boolean canView(Visit visit) {
         if (currentUserService.hasAnyRole(Role.ADMIN, Role.VET)) return true;
@@ -171,56 +275,44 @@ public class VisitServiceImpl implements VisitService {
         return ownerId != null && ownerId.equals(currentUserService.getCurrentUserId());
     }
 
-    private void validateRequired(LocalDate date, LocalTime start) {
-        if (date == null || start == null) {
-            throw new IllegalArgumentException("Visit date and start time must be provided");
-        }
+    /**
+     * Flushes a write which takes a slot. The in-memory calendar check is only a fast path:
+     * concurrent bookings of the same slot are rejected by {@code uk_visits_active_slot}.
+     */
+    private <T> T claimSlot(Supplier<T> write) {
+        return claimSlot(write, () -> SLOT_TAKEN);
     }
 
-    private void validateTemporal(LocalDate date, LocalTime start) {
-        LocalDate today = LocalDate.now();
-        if (date.isBefore(today)) {
-            throw new IllegalArgumentException("Visit date cannot be in the past");
-        }
-        if (date.isEqual(today) && start.isBefore(LocalTime.now())) {
-            throw new IllegalArgumentException("Visit start time cannot be in the past");
+    private <T> T claimSlot(Supplier<T> write, Supplier<String> conflictMessage) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            String rootMessage = ex.getMostSpecificCause().getMessage();
+            if (rootMessage != null && rootMessage.toLowerCase().contains(ACTIVE_SLOT_CONSTRAINT)) {
+                throw new IllegalArgumentException(conflictMessage.get());
+            }
+            throw ex;
         }
     }
 
-    private VetScheduleEntry findScheduleEntry(VetProfile vetProfile, LocalDate date, LocalTime requestedStart) {
-        List<VetScheduleEntry> weekly = vetScheduleService.getScheduleForVetProfile(vetProfile.getId());
-        return weekly.stream()
-                .filter(e -> e.getDayOfWeek().equals(date.getDayOfWeek()))
-                .filter(e -> withinEntry(requestedStart, e))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Requested time is outside vet working hours"));
-    }
-
-    private boolean withinEntry(LocalTime requestedStart, VetScheduleEntry entry) {
-        LocalTime blockStart = entry.getStartTime();
-        LocalTime blockEnd = entry.getEndTime();
-        int slotLen = entry.getSlotLengthMinutes();
-        if (requestedStart.isBefore(blockStart) || !requestedStart.isBefore(blockEnd)) return false;
-        long minutesFromStart = java.time.Duration.between(blockStart, requestedStart).toMinutes();
-        return minutesFromStart % slotLen == 0;
+    /**
+     * Names the occurrences of a series taken by visits committed after its calendar was loaded.
+     * Falls back to the plain message when the clashing visit is no longer blocking.
+     */
+    private String seriesConflictMessage(Long vetProfileId, List<Visit> accepted) {
+        LocalDate from = accepted.stream().map(Visit::getDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = accepted.stream().map(Visit::getDate).max(Comparator.naturalOrder()).orElseThrow();
+        List<VisitSlotView> committed = bookingContextLoader.loadCommittedBlockingVisits(vetProfileId, from, to);
+        String clashes = accepted.stream()
+                .filter(visit -> committed.stream().anyMatch(other -> overlaps(visit, other)))
+                .map(visit -> visit.getDate() + " " + visit.getStartTime())
+                .collect(Collectors.joining(", "));
+        return clashes.isEmpty() ? SLOT_TAKEN : SLOT_TAKEN + " on " + clashes;
     }
 
-    private void validateNotOnTimeOff(VetProfile vetProfile, LocalDate date) {
-        if (vetTimeOffService.isVetOnTimeOffOnDate(vetProfile, date)) {
-            throw new IllegalArgumentException("Vet is on time off on the selected date");
-        }
-    }
-
-    private void validateNoConflict(VetProfile vetProfile, LocalDate date, LocalTime start, LocalTime end) {
-        boolean hasConflict = visitRepository.existsByVetProfileAndDateAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-                vetProfile,
-                date,
-                BLOCKING_STATUSES,
-                end,
-                start
-        );
-        if (hasConflict) {
-            throw new IllegalArgumentException("Selected time slot is already taken");
-        }
+    private static boolean overlaps(Visit visit, VisitSlotView other) {
+        return visit.getDate().equals(other.date())
+                && other.startTime().isBefore(visit.getEndTime())
+                && other.endTime().isAfter(visit.getStartTime());
     }
 }
@@ -0,0 +1,17 @@
+package pl.witold.petcare.visit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight projection of a visit's time slot, used by availability lookups
+ * which do not need the full visit entity graph.
+ */
+public record VisitSlotView(
+        Long id,
+        Long vetProfileId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
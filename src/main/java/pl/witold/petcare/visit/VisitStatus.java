@@ -7,5 +7,12 @@ public enum VisitStatus {
     SCHEDULED,
     COMPLETED,
     CANCELLED,
-    CONFIRMED
+    CONFIRMED;
+
+    /**
+     * Returns true when a visit in this status occupies its time slot.
+     */
+    public boolean isBlocking() {
+        return this == SCHEDULED || this == CONFIRMED;
+    }
 }
@@ -0,0 +1,24 @@
+package pl.witold.petcare.visit;
+
+import pl.witold.petcare.pet.Species;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Flat projection of a visit with its pet and owner, used by the vet week view.
+ */
+public record VisitWeekRow(
+        Long id,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        VisitStatus status,
+        String reason,
+        Long petId,
+        String petName,
+        Species petSpecies,
+        Long ownerId,
+        String ownerFullName
+) {
+}
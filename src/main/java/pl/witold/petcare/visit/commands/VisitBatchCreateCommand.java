@@ -0,0 +1,31 @@
+package pl.witold.petcare.visit.commands;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Command used for booking several visits of one pet with one vet at once.
+ */
+public record VisitBatchCreateCommand(
+        @NotNull(message = "Pet id is required")
+        Long petId,
+
+        @NotNull(message = "Vet profile id is required")
+        Long vetProfileId,
+
+        @NotEmpty(message = "At least one occurrence is required")
+        @Size(max = 100, message = "Cannot book more than 100 occurrences at once")
+        List<@Valid @NotNull VisitOccurrenceCommand> occurrences,
+
+        @NotNull(message = "Reason is required")
+        @Size(max = 255, message = "Reason cannot exceed 255 characters")
+        String reason,
+
+        @Size(max = 1024, message = "Notes cannot exceed 1024 characters")
+        String notes
+) {
+}
@@ -0,0 +1,18 @@
+package pl.witold.petcare.visit.commands;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Single occurrence (date and start time) of a batch booking.
+ */
+public record VisitOccurrenceCommand(
+        @NotNull(message = "Visit date is required")
+        LocalDate date,
+
+        @NotNull(message = "Start time is required")
+        LocalTime startTime
+) {
+}
@@ -0,0 +1,57 @@
+package pl.witold.petcare.visit.commands;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command used for booking a recurring visit: same start time every given number of weeks.
+ */
+public record VisitRecurrenceCreateCommand(
+        @NotNull(message = "Pet id is required")
+        Long petId,
+
+        @NotNull(message = "Vet profile id is required")
+        Long vetProfileId,
+
+        @NotNull(message = "First visit date is required")
+        LocalDate firstDate,
+
+        @NotNull(message = "Start time is required")
+        LocalTime startTime,
+
+        @NotNull(message = "Interval in weeks is required")
+        @Min(value = 1, message = "Interval must be at least 1 week")
+        @Max(value = 12, message = "Interval cannot exceed 12 weeks")
+        Integer intervalWeeks,
+
+        @NotNull(message = "Number of occurrences is required")
+        @Min(value = 1, message = "At least one occurrence is required")
+        @Max(value = 100, message = "Cannot book more than 100 occurrences at once")
+        Integer occurrences,
+
+        @NotNull(message = "Reason is required")
+        @Size(max = 255, message = "Reason cannot exceed 255 characters")
+        String reason,
+
+        @Size(max = 1024, message = "Notes cannot exceed 1024 characters")
+        String notes
+) {
+
+    /**
+     * Expands the recurrence rule into an equivalent batch command.
+     */
+    public VisitBatchCreateCommand toBatch() {
+        List<VisitOccurrenceCommand> expanded = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            expanded.add(new VisitOccurrenceCommand(firstDate.plusWeeks((long) i * intervalWeeks), startTime));
+        }
+        return new VisitBatchCreateCommand(petId, vetProfileId, expanded, reason, notes);
+    }
+}
@@ -0,0 +1,42 @@
+package pl.witold.petcare.visit.events;
+
+import pl.witold.petcare.visit.Visit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published whenever a visit is created, changes status or is deleted.
+ * The blocking flag tells whether the visit currently occupies its slot.
+ */
+public record VisitChangedEvent(
+        Long visitId,
+        Long vetProfileId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean blocking
+) {
+
+    public static VisitChangedEvent of(Visit visit) {
+        return new VisitChangedEvent(
+                visit.getId(),
+                visit.getVetProfile().getId(),
+                visit.getDate(),
+                visit.getStartTime(),
+                visit.getEndTime(),
+                visit.getStatus() != null && visit.getStatus().isBlocking()
+        );
+    }
+
+    public static VisitChangedEvent removed(Visit visit) {
+        return new VisitChangedEvent(
+                visit.getId(),
+                visit.getVetProfile().getId(),
+                visit.getDate(),
+                visit.getStartTime(),
+                visit.getEndTime(),
+                false
+        );
+    }
+}
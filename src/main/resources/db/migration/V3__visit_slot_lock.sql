@@ -0,0 +1,24 @@
+-- Active (SCHEDULED / CONFIRMED) visits hold slot_lock = TRUE, every other visit holds NULL.
+-- The unique key below therefore allows only one active visit per vet, date and start time,
+-- while any number of cancelled or completed visits may share the slot.
+ALTER TABLE visits
+    ADD COLUMN slot_lock BOOLEAN;
+
+UPDATE visits
+SET slot_lock = TRUE
+WHERE status IN ('SCHEDULED', 'CONFIRMED');
+
+-- Keep the oldest booking if earlier races already double-booked a slot
+UPDATE visits v
+SET slot_lock = NULL
+WHERE v.slot_lock = TRUE
+  AND EXISTS (SELECT 1
+              FROM visits o
+              WHERE o.slot_lock = TRUE
+                AND o.vet_profile_id = v.vet_profile_id
+                AND o.visit_date = v.visit_date
+                AND o.start_time = v.start_time
+                AND o.id < v.id);
+
+ALTER TABLE visits
+    ADD CONSTRAINT uk_visits_active_slot UNIQUE (vet_profile_id, visit_date, start_time, slot_lock);
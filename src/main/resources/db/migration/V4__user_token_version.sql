@@ -0,0 +1,3 @@
+-- Bumped whenever credentials or roles change; JWTs carrying an older value are rejected.
+ALTER TABLE users
+    ADD COLUMN token_version INT DEFAULT 0 NOT NULL;
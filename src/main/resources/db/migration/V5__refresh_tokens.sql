@@ -0,0 +1,21 @@
+-- Rotating refresh tokens. Only a SHA-256 hash of the secret part is stored.
+-- All tokens rotated from one login share session_id; revoking a session sets revoked_at on every row.
+CREATE TABLE refresh_tokens
+(
+    id            VARCHAR(36) NOT NULL,
+    session_id    VARCHAR(36) NOT NULL,
+    user_id       BIGINT      NOT NULL,
+    token_hash    VARCHAR(64) NOT NULL,
+    token_version INT         NOT NULL,
+    created_at    TIMESTAMP   NOT NULL,
+    expires_at    TIMESTAMP   NOT NULL,
+    replaced_by   VARCHAR(36),
+    revoked_at    TIMESTAMP,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id)
+);
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT FK_REFRESH_TOKENS_ON_USER FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_refresh_tokens_session_id ON refresh_tokens (session_id);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
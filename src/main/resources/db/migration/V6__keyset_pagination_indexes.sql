@@ -0,0 +1,10 @@
+-- Composite indexes matching the keyset (cursor) listings: the equality column first, then the
+-- sort key, so each page is one index range scan starting at the cursor position.
+CREATE INDEX idx_visits_pet_date_time_id ON visits (pet_id, visit_date, start_time, id);
+CREATE INDEX idx_visits_vet_date_time_id ON visits (vet_profile_id, visit_date, start_time, id);
+
+CREATE INDEX idx_medical_records_pet_created_id ON medical_records (pet_id, created_at, id);
+CREATE INDEX idx_medical_records_vet_created_id ON medical_records (vet_profile_id, created_at, id);
+CREATE INDEX idx_medical_records_created_id ON medical_records (created_at, id);
+
+CREATE INDEX idx_pets_owner_id_id ON pets (owner_id, id);
@@ -0,0 +1,10 @@
+-- Indexes for the remaining repository lookups; foreign key columns are not indexed by themselves.
+-- pets (owner_id) and medical_records (created_at) are covered by the V6 composite indexes.
+CREATE INDEX idx_user_roles_user_id ON user_roles (user_id);
+
+CREATE INDEX idx_vet_profile_specializations_vet ON vet_profile_specializations (vet_profile_id, specialization);
+CREATE INDEX idx_vet_profile_specializations_spec ON vet_profile_specializations (specialization, vet_profile_id);
+
+CREATE INDEX idx_vet_schedule_entries_vet_day ON vet_schedule_entries (vet_profile_id, day_of_week, start_time);
+
+CREATE INDEX idx_vet_time_off_vet_dates ON vet_time_off (vet_profile_id, start_date, end_date);
@@ -0,0 +1,15 @@
+-- Week view version of each vet, bumped in the transaction of every visit, schedule or time-off change.
+-- Kept out of vet_profiles so bumping it does not evict the cached profiles.
+CREATE TABLE vet_week_versions
+(
+    vet_profile_id BIGINT           NOT NULL,
+    version        BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_vet_week_versions PRIMARY KEY (vet_profile_id)
+);
+
+ALTER TABLE vet_week_versions
+    ADD CONSTRAINT FK_VET_WEEK_VERSIONS_ON_VET_PROFILE FOREIGN KEY (vet_profile_id) REFERENCES vet_profiles (id);
+
+INSERT INTO vet_week_versions (vet_profile_id, version)
+SELECT id, 0
+FROM vet_profiles;
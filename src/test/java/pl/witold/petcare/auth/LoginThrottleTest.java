@@ -0,0 +1,127 @@
+package pl.witold.petcare.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.witold.petcare.config.LoginThrottleProperties;
+import pl.witold.petcare.exceptions.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private LoginThrottle throttle(int maxEntries) {
+        LoginThrottleProperties properties = new LoginThrottleProperties(
+                3, 60, 3,
+                100, 600, 50,
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofMinutes(1),
+                maxEntries
+        );
+        return new LoginThrottle(properties, now::get);
+    }
+
+    @Test
+    @DisplayName("a username runs out of tokens and gets them back over time")
+    void tokenBucketRefills() {
+        LoginThrottle throttle = throttle(1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("user", "10.0.0.1");
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("User", "10.0.0.2"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+
+        now.addAndGet(1_000);
+        assertDoesNotThrow(() -> throttle.checkAllowed("user", "10.0.0.1"));
+        assertEquals(4, throttle.stats().allowed());
+        assertEquals(1, throttle.stats().throttled());
+    }
+
+    @Test
+    @DisplayName("consecutive failures lock the username out for an exponentially growing time")
+    void exponentialLockout() {
+        LoginThrottle throttle = throttle(1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user", "10.0.0.1");
+        }
+
+        TooManyRequestsException first = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("user", "10.0.0.1"));
+        assertEquals(10, first.getRetryAfterSeconds());
+
+        now.addAndGet(10_000);
+        throttle.checkAllowed("user", "10.0.0.1");
+        throttle.recordFailure("user", "10.0.0.1");
+
+        TooManyRequestsException second = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("user", "10.0.0.1"));
+        assertEquals(20, second.getRetryAfterSeconds());
+        assertEquals(2, throttle.stats().lockouts());
+    }
+
+    @Test
+    @DisplayName("a successful login clears the failure streak of the username")
+    void successResetsFailures() {
+        LoginThrottle throttle = throttle(1000);
+        throttle.recordFailure("user", "10.0.0.1");
+        throttle.recordFailure("user", "10.0.0.1");
+        throttle.recordSuccess("user");
+        throttle.recordFailure("user", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user", "10.0.0.1"));
+        assertEquals(0, throttle.stats().lockouts());
+    }
+
+    @Test
+    @DisplayName("sparse failures behind one IP are forgiven and never lock it out")
+    void sparseIpFailuresAreForgiven() {
+        LoginThrottle throttle = throttle(1000);
+        for (int i = 0; i < 200; i++) {
+            throttle.checkAllowed("user" + i, "10.0.0.1");
+            throttle.recordFailure("user" + i, "10.0.0.1");
+            now.addAndGet(2_000);
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("someone", "10.0.0.1"));
+        assertEquals(0, throttle.stats().lockouts());
+    }
+
+    @Test
+    @DisplayName("the failure streak is forgotten once a lockout ends and the idle TTL passes")
+    void streakExpiresAfterLockout() {
+        LoginThrottle throttle = throttle(1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user", "10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("user", "10.0.0.1"));
+
+        now.addAndGet(Duration.ofSeconds(10).plusMinutes(1).plusMillis(1).toMillis());
+        throttle.checkAllowed("user", "10.0.0.1");
+        throttle.recordFailure("user", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user", "10.0.0.1"));
+        assertEquals(1, throttle.stats().lockouts());
+    }
+
+    @Test
+    @DisplayName("the sweep drops idle entries")
+    void memoryIsBounded() {
+        LoginThrottle throttle = throttle(4);
+        throttle.checkAllowed("a", "10.0.0.1");
+        throttle.checkAllowed("b", "10.0.0.1");
+        throttle.checkAllowed("c", "10.0.0.1");
+        assertEquals(4, throttle.stats().entries());
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        throttle.checkAllowed("d", "10.0.0.1");
+        throttle.sweep();
+
+        assertEquals(2, throttle.stats().entries());
+        assertEquals(3, throttle.stats().evictions());
+    }
+}
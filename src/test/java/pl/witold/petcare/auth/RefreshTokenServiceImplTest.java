@@ -0,0 +1,173 @@
+package pl.witold.petcare.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.witold.petcare.auth.events.SessionRevokedEvent;
+import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.security.CustomUserDetailsService;
+import pl.witold.petcare.security.SecurityUser;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    private static final long TTL_MS = 60_000;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private RevokedSessionIndex revokedSessions;
+    /**
+     * Events published by the service, delivered to the index by {@link #commit()}.
+     */
+    private final List<Object> published = new ArrayList<>();
+    private RefreshTokenServiceImpl service;
+    private SecurityUser user;
+
+    @BeforeEach
+    void setUp() {
+        revokedSessions = new RevokedSessionIndex(refreshTokenRepository);
+        service = new RefreshTokenServiceImpl(
+                refreshTokenRepository, userDetailsService, jwtService, tokenVersionRegistry, revokedSessions,
+                published::add, TTL_MS);
+        user = new SecurityUser(1L, "witold", "hash", 0, List.of());
+    }
+
+    @Test
+    @DisplayName("refresh replaces the token with a new one of the same session")
+    void refreshRotatesToken() {
+        when(jwtService.generateToken(eq(user), anyString())).thenReturn("access");
+        AuthResponse issued = service.issue(user);
+        RefreshToken stored = lastSaved();
+
+        when(refreshTokenRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+        when(tokenVersionRegistry.isCurrent(1L, 0)).thenReturn(true);
+        when(refreshTokenRepository.markReplaced(eq(stored.getId()), anyString())).thenReturn(1);
+        when(userDetailsService.loadUserById(1L)).thenReturn(user);
+
+        AuthResponse refreshed = service.refresh(issued.refreshToken());
+
+        RefreshToken next = lastSaved();
+        assertEquals("access", refreshed.accessToken());
+        assertEquals(stored.getSessionId(), next.getSessionId());
+        assertNotEquals(stored.getId(), next.getId());
+        assertTrue(refreshed.refreshToken().startsWith(stored.getSessionId() + "." + next.getId() + "."));
+        verify(refreshTokenRepository).markReplaced(stored.getId(), next.getId());
+        verify(jwtService, times(2)).generateToken(user, stored.getSessionId());
+    }
+
+    @Test
+    @DisplayName("presenting an already rotated token revokes the whole session")
+    void reusedTokenRevokesSession() {
+        when(jwtService.generateToken(eq(user), anyString())).thenReturn("access");
+        AuthResponse issued = service.issue(user);
+        RefreshToken stored = lastSaved();
+        ReflectionTestUtils.setField(stored, "replacedBy", "00000000-0000-0000-0000-000000000000");
+        when(refreshTokenRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh(issued.refreshToken()));
+        commit();
+
+        verify(refreshTokenRepository).revokeSession(eq(stored.getSessionId()), any());
+        verify(refreshTokenRepository, never()).markReplaced(anyString(), anyString());
+        assertTrue(revokedSessions.isRevoked(stored.getSessionId()));
+    }
+
+    @Test
+    @DisplayName("tokens of a revoked session are rejected without a database lookup")
+    void revokedSessionRejectedFromMemory() {
+        when(jwtService.generateToken(eq(user), anyString())).thenReturn("access");
+        AuthResponse issued = service.issue(user);
+        RefreshToken stored = lastSaved();
+        when(refreshTokenRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        service.revoke(issued.refreshToken());
+        commit();
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh(issued.refreshToken()));
+        verify(refreshTokenRepository, times(1)).findById(stored.getId());
+    }
+
+    @Test
+    @DisplayName("a token with a wrong secret is rejected and does not revoke the session")
+    void wrongSecretRejected() {
+        when(jwtService.generateToken(eq(user), anyString())).thenReturn("access");
+        AuthResponse issued = service.issue(user);
+        RefreshToken stored = lastSaved();
+        when(refreshTokenRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        String token = issued.refreshToken();
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "forged";
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh(forged));
+        verify(refreshTokenRepository, never()).revokeSession(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("a revoked session is not rejected from memory before the revocation commits")
+    void revocationAppliedAfterCommit() {
+        when(jwtService.generateToken(eq(user), anyString())).thenReturn("access");
+        AuthResponse issued = service.issue(user);
+        RefreshToken stored = lastSaved();
+        when(refreshTokenRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        service.revoke(issued.refreshToken());
+
+        assertFalse(revokedSessions.isRevoked(stored.getSessionId()));
+        commit();
+        assertTrue(revokedSessions.isRevoked(stored.getSessionId()));
+    }
+
+    /**
+     * Stands in for the after-commit delivery of the transactional event listener.
+     */
+    private void commit() {
+        published.stream()
+                .filter(SessionRevokedEvent.class::isInstance)
+                .map(SessionRevokedEvent.class::cast)
+                .forEach(revokedSessions::onSessionRevoked);
+        published.clear();
+    }
+
+    private RefreshToken lastSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+}
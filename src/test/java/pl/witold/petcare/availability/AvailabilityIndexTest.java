@@ -0,0 +1,143 @@
+package pl.witold.petcare.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import pl.witold.petcare.dto.AvailabilitySlotDto;
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.VetTimeOffView;
+import pl.witold.petcare.vet.WeeklySchedule;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
+import pl.witold.petcare.vet.service.VetScheduleCache;
+import pl.witold.petcare.vet.service.VetTimeOffIndex;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitSlotView;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AvailabilityIndexTest {
+
+    private static final Long VET_ID = 7L;
+
+    @Mock
+    private VetScheduleCache vetScheduleCache;
+    @Mock
+    private VetTimeOffIndex vetTimeOffIndex;
+    @Mock
+    private VisitRepository visitRepository;
+
+    private AvailabilityIndex availabilityIndex;
+
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex(vetScheduleCache, vetTimeOffIndex, visitRepository, 2);
+        date = LocalDate.now().plusDays(7);
+        when(vetScheduleCache.getAll(List.of(VET_ID))).thenReturn(Map.of(VET_ID, WeeklySchedule.of(List.of(
+                new VetScheduleRuleView(VET_ID, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(11, 0), 30)
+        ))));
+    }
+
+    @Test
+    @DisplayName("Skips booked slots and serves warm lookups from memory")
+    void skipsBookedSlotsAndCaches() {
+        when(vetTimeOffIndex.getAll(List.of(VET_ID))).thenReturn(Map.of());
+        when(visitRepository.findSlotViews(eq(List.of(VET_ID)), eq(date), eq(date), anyCollection()))
+                .thenReturn(List.of(new VisitSlotView(1L, VET_ID, date, LocalTime.of(9, 30), LocalTime.of(10, 0))));
+
+        List<AvailabilitySlotDto> first = availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE);
+        List<AvailabilitySlotDto> second = availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE);
+
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(10, 30)),
+                first.stream().map(AvailabilitySlotDto::startTime).toList());
+        assertEquals(first, second);
+        verify(vetScheduleCache, times(1)).getAll(List.of(VET_ID));
+        verify(visitRepository, times(1)).findSlotViews(any(), any(), any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Applies visit changes incrementally without reloading the day")
+    void appliesVisitChangesIncrementally() {
+        when(vetTimeOffIndex.getAll(List.of(VET_ID))).thenReturn(Map.of());
+        when(visitRepository.findSlotViews(eq(List.of(VET_ID)), eq(date), eq(date), anyCollection())).thenReturn(List.of());
+        assertEquals(4, availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE).size());
+
+        availabilityIndex.onVisitChanged(new VisitChangedEvent(
+                2L, VET_ID, date, LocalTime.of(9, 0), LocalTime.of(9, 30), true));
+        assertEquals(3, availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE).size());
+
+        availabilityIndex.onVisitChanged(new VisitChangedEvent(
+                2L, VET_ID, date, LocalTime.of(9, 0), LocalTime.of(9, 30), false));
+        assertEquals(4, availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE).size());
+
+        verify(visitRepository, times(1)).findSlotViews(any(), any(), any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Preload fetches many vets with a single query per table")
+    void preloadLoadsInBulk() {
+        Long otherVet = 8L;
+        List<Long> ids = List.of(VET_ID, otherVet);
+        when(vetScheduleCache.getAll(ids)).thenReturn(Map.of(otherVet, WeeklySchedule.of(List.of(
+                new VetScheduleRuleView(otherVet, date.getDayOfWeek(), LocalTime.of(12, 0), LocalTime.of(13, 0), 60)
+        ))));
+        when(vetTimeOffIndex.getAll(ids)).thenReturn(Map.of());
+        when(visitRepository.findSlotViews(anyCollection(), eq(date), eq(date), anyCollection())).thenReturn(List.of());
+
+        availabilityIndex.preload(ids, date, date);
+
+        assertTrue(availabilityIndex.contains(VET_ID));
+        assertEquals(1, availabilityIndex.findFreeSlots(otherVet, date, date, 1).size());
+        verify(visitRepository, times(1)).findSlotViews(anyCollection(), any(), any(), anyCollection());
+        verify(vetScheduleCache, never()).getAll(List.of(VET_ID));
+    }
+
+    @Test
+    @DisplayName("Time-off change rebuilds the calendar")
+    void timeOffChangeRebuildsCalendar() {
+        when(vetTimeOffIndex.getAll(List.of(VET_ID)))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of(VET_ID, TimeOffCalendar.of(List.of(new VetTimeOffView(VET_ID, date, date)))));
+        when(visitRepository.findSlotViews(eq(List.of(VET_ID)), eq(date), eq(date), anyCollection())).thenReturn(List.of());
+
+        assertEquals(4, availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE).size());
+        availabilityIndex.onTimeOffChanged(new VetTimeOffChangedEvent(VET_ID));
+
+        assertFalse(availabilityIndex.contains(VET_ID));
+        assertTrue(availabilityIndex.findFreeSlots(VET_ID, date, date, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used calendar beyond max size")
+    void evictsLeastRecentlyUsed() {
+        when(vetScheduleCache.getAll(anyCollection())).thenReturn(Map.of());
+        when(vetTimeOffIndex.getAll(anyCollection())).thenReturn(Map.of());
+        when(visitRepository.findSlotViews(anyCollection(), any(), any(), anyCollection())).thenReturn(List.of());
+
+        availabilityIndex.preload(List.of(1L, 2L), date, date);
+        availabilityIndex.findFreeSlots(1L, date, date, 1);
+        availabilityIndex.findFreeSlots(3L, date, date, 1);
+
+        assertTrue(availabilityIndex.contains(1L));
+        assertFalse(availabilityIndex.contains(2L));
+        assertTrue(availabilityIndex.contains(3L));
+        assertEquals(1, availabilityIndex.stats().evictions());
+    }
+}
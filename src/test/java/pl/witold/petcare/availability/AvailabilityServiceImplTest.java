@@ -0,0 +1,56 @@
+package pl.witold.petcare.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.witold.petcare.dto.VetAvailabilityDto;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceImplTest {
+
+    private static final Long VET_ID = 7L;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+    @Mock
+    private VetProfileRepository vetProfileRepository;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    @Test
+    @DisplayName("Days beyond the booking horizon are never loaded into the index")
+    void rangeBeyondHorizonHasNoSlots() {
+        when(availabilityIndex.contains(VET_ID)).thenReturn(true);
+        LocalDate from = LocalDate.now().plusDays(AvailabilityServiceImpl.BOOKING_HORIZON_DAYS + 1L);
+
+        VetAvailabilityDto availability = availabilityService.getAvailability(VET_ID, from, from.plusDays(6));
+
+        assertTrue(availability.slots().isEmpty());
+        verify(availabilityIndex, never()).findFreeSlots(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("A range crossing the booking horizon is cut at the horizon")
+    void rangeCrossingHorizonIsCapped() {
+        when(availabilityIndex.contains(VET_ID)).thenReturn(true);
+        LocalDate horizon = LocalDate.now().plusDays(AvailabilityServiceImpl.BOOKING_HORIZON_DAYS);
+        when(availabilityIndex.findFreeSlots(VET_ID, horizon.minusDays(3), horizon, Integer.MAX_VALUE)).thenReturn(List.of());
+
+        VetAvailabilityDto availability = availabilityService.getAvailability(VET_ID, horizon.minusDays(3), horizon.plusDays(3));
+
+        assertEquals(horizon.plusDays(3), availability.to());
+        verify(availabilityIndex).findFreeSlots(VET_ID, horizon.minusDays(3), horizon, Integer.MAX_VALUE);
+    }
+}
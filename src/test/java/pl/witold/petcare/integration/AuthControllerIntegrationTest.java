@@ -10,24 +10,35 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 import pl.witold.petcare.auth.AuthController;
 import pl.witold.petcare.auth.AuthService;
+import pl.witold.petcare.auth.LoginThrottle;
 import pl.witold.petcare.dto.AuthRequest;
 import pl.witold.petcare.dto.AuthResponse;
+import pl.witold.petcare.dto.RefreshTokenRequest;
 import pl.witold.petcare.dto.RegisterRequest;
 import pl.witold.petcare.dto.UserResponseDto;
+import pl.witold.petcare.exceptions.TooManyRequestsException;
 import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
 import pl.witold.petcare.user.Role;
 
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -44,6 +55,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -60,6 +74,21 @@ class AuthControllerIntegrationTest {
         UserDetailsService userDetailsService() {
             return Mockito.mock(UserDetailsService.class);
         }
+
+        @Bean
+        TokenVersionRegistry tokenVersionRegistry() {
+            return Mockito.mock(TokenVersionRegistry.class);
+        }
+
+        @Bean
+        RevokedSessionIndex revokedSessionIndex() {
+            return Mockito.mock(RevokedSessionIndex.class);
+        }
+
+        @Bean
+        LoginThrottle loginThrottle() {
+            return Mockito.mock(LoginThrottle.class);
+        }
     }
 
     @Test
@@ -78,6 +107,48 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.tokenType").value("Bearer"));
     }
 
+    @Test
+    @DisplayName("POST /api/auth/login returns 429 without authenticating when throttled")
+    void loginThrottled() throws Exception {
+        doThrow(new TooManyRequestsException("Too many login attempts, please try again later", 30))
+                .when(loginThrottle).checkAllowed(eq("attacker"), any());
+
+        AuthRequest req = new AuthRequest("attacker", "guess");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+        verify(authService, never()).login(eq(req));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh returns a new token pair")
+    void refreshReturnsTokens() throws Exception {
+        when(authService.refresh(any(RefreshTokenRequest.class)))
+                .thenReturn(AuthResponse.bearer("access-2", "refresh-2"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("access-2"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-2"));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh returns 401 for an invalid refresh token")
+    void refreshRejectsInvalidToken() throws Exception {
+        when(authService.refresh(any(RefreshTokenRequest.class)))
+                .thenThrow(new BadCredentialsException("Invalid or expired refresh token"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("stale"))))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("POST /api/auth/register returns created user")
     void registerReturnsUser() throws Exception {
@@ -0,0 +1,113 @@
+package pl.witold.petcare.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of list endpoints which used to load their rows' associations one by one.
+ * Each list holds several rows, so a per-row query would exceed the budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private VisitRepository visitRepository;
+
+    private VetProfile vetProfile;
+    private LocalDate date;
+    private final List<Pet> pets = new ArrayList<>();
+    private final List<Visit> visits = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername("user").orElseThrow();
+        vetProfile = vetProfileRepository.findByUserId(userRepository.findByUsername("vet").orElseThrow().getId())
+                .orElseThrow();
+        date = LocalDate.now().plusYears(6);
+        for (int i = 0; i < 3; i++) {
+            Pet pet = petRepository.save(new Pet(owner, "Budget " + i, Species.DOG, null, null, null, null, null, null));
+            pets.add(pet);
+            visits.add(visitRepository.save(new Visit(pet, vetProfile, date,
+                    LocalTime.of(9 + i, 0), LocalTime.of(9 + i, 20), "Budget", null)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        visitRepository.deleteAll(visits);
+        petRepository.deleteAll(pets);
+    }
+
+    @Test
+    @DisplayName("GET /api/users loads the roles of a page of users in one batch")
+    void usersPage() throws Exception {
+        // Cold roles cache, as after a restart: every user's roles come from the database
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictCollectionData(User.class.getName() + ".roles");
+
+        SqlStatementAssertions.performWithin(mockMvc, 3, get("/api/users").header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(greaterThanOrEqualTo(3)));
+    }
+
+    @Test
+    @DisplayName("GET /api/visits/by-vet/{id} reads visits with their pets and owners in one query")
+    void visitsOfVetOnDate() throws Exception {
+        String token = bearer("admin");
+        String uri = "/api/visits/by-vet/" + vetProfile.getId();
+        // Warm-up loads the vet profile into the second-level cache
+        mockMvc.perform(get(uri).param("date", date.toString()).header("Authorization", token));
+
+        SqlStatementAssertions.performWithin(mockMvc, 2, get(uri).param("date", date.toString()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+    }
+
+    private String bearer(String username) {
+        return "Bearer " + jwtService.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+}
@@ -0,0 +1,301 @@
+package pl.witold.petcare.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.witold.petcare.medicalrecord.MedicalRecordRepository;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.VetSpecialization;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.vet.repository.VetScheduleEntryRepository;
+import pl.witold.petcare.vet.repository.VetTimeOffRepository;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@code EXPLAIN} for the SQL of the repository queries on a seeded dataset and fails when
+ * the filtered table is read with a full table scan instead of an index.
+ * <p>
+ * The SQL is captured from Hibernate, so the suite follows query changes. Second-level and query
+ * caches are off here, otherwise some calls would not reach the database at all.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:petcare-query-plans;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=pl.witold.petcare.integration.QueryPlanRegressionTest$SqlRecorder",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final int OWNERS = 50;
+    private static final int PETS_PER_OWNER = 4;
+    private static final int VETS = 8;
+    private static final int VISITS = 4000;
+    private static final long FIRST_ID = 1000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 7);
+    private static final VisitStatus[] STATUSES = VisitStatus.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private VetScheduleEntryRepository vetScheduleEntryRepository;
+    @Autowired
+    private VetTimeOffRepository vetTimeOffRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final long ownerId = FIRST_ID;
+    private final long petId = FIRST_ID;
+    private final long vetProfileId = FIRST_ID;
+    private final long vetUserId = FIRST_ID + OWNERS;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> roles = new ArrayList<>();
+        for (int i = 0; i < OWNERS + VETS; i++) {
+            long id = FIRST_ID + i;
+            users.add(new Object[]{id, "Plan User " + i, "plan" + i, "plan" + i + "@example.com", "x".repeat(60)});
+            roles.add(new Object[]{id, i < OWNERS ? "USER" : "VET"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, full_name, username, email, password_hash) VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, roles) VALUES (?, ?)", roles);
+
+        List<Object[]> vets = new ArrayList<>();
+        List<Object[]> specializations = new ArrayList<>();
+        List<Object[]> schedule = new ArrayList<>();
+        List<Object[]> timeOff = new ArrayList<>();
+        VetSpecialization[] allSpecializations = VetSpecialization.values();
+        for (int v = 0; v < VETS; v++) {
+            long id = FIRST_ID + v;
+            vets.add(new Object[]{id, FIRST_ID + OWNERS + v, true, 30});
+            specializations.add(new Object[]{id, allSpecializations[v % allSpecializations.length].name()});
+            for (int day = 1; day <= 5; day++) {
+                schedule.add(new Object[]{id, DayOfWeek.of(day).name(),
+                        Time.valueOf(LocalTime.of(9, 0)), Time.valueOf(LocalTime.of(13, 0)), 30});
+            }
+            for (int t = 0; t < 3; t++) {
+                LocalDate start = FIRST_DAY.plusWeeks(4L * t + v);
+                timeOff.add(new Object[]{id, Date.valueOf(start), Date.valueOf(start.plusDays(2))});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO vet_profiles (id, user_id, accepts_new_patients, average_visit_length_minutes) VALUES (?, ?, ?, ?)",
+                vets);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO vet_profile_specializations (vet_profile_id, specialization) VALUES (?, ?)", specializations);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO vet_schedule_entries (vet_profile_id, day_of_week, start_time, end_time, slot_length_minutes) "
+                        + "VALUES (?, ?, ?, ?, ?)", schedule);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO vet_time_off (vet_profile_id, start_date, end_date) VALUES (?, ?, ?)", timeOff);
+
+        List<Object[]> pets = new ArrayList<>();
+        for (int p = 0; p < OWNERS * PETS_PER_OWNER; p++) {
+            pets.add(new Object[]{FIRST_ID + p, FIRST_ID + p / PETS_PER_OWNER, "Plan pet " + p, "DOG"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pets (id, owner_id, name, species) VALUES (?, ?, ?, ?)", pets);
+
+        // Each block of 40 visits shares a day; vet and start time combinations are unique within it
+        List<Object[]> visits = new ArrayList<>();
+        List<Object[]> records = new ArrayList<>();
+        for (int i = 0; i < VISITS; i++) {
+            long id = FIRST_ID + i;
+            VisitStatus status = STATUSES[i % STATUSES.length];
+            boolean blocking = status == VisitStatus.SCHEDULED || status == VisitStatus.CONFIRMED;
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * ((i / VETS) % 5));
+            visits.add(new Object[]{id, FIRST_ID + i % (OWNERS * PETS_PER_OWNER), FIRST_ID + i % VETS,
+                    Date.valueOf(FIRST_DAY.plusDays(i / 40)), Time.valueOf(start), Time.valueOf(start.plusMinutes(30)),
+                    status.name(), blocking ? Boolean.TRUE : null});
+            if (status == VisitStatus.COMPLETED) {
+                records.add(new Object[]{id, FIRST_ID + i % (OWNERS * PETS_PER_OWNER), FIRST_ID + i % VETS, id,
+                        Timestamp.valueOf(LocalDateTime.of(2030, 1, 1, 0, 0).plusMinutes(i))});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO visits (id, pet_id, vet_profile_id, visit_date, start_time, end_time, status, slot_lock) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", visits);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO medical_records (id, pet_id, vet_profile_id, visit_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                records);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("visit queries read visits through an index")
+    void visitQueries() {
+        Pet pet = petRepository.findById(petId).orElseThrow();
+        VetProfile vetProfile = vetProfileRepository.findById(vetProfileId).orElseThrow();
+        LocalDate day = FIRST_DAY.plusDays(10);
+
+        assertIndexed("visits", () -> visitRepository.findByIdWithRelations(FIRST_ID + 5));
+        assertIndexed("visits", () -> visitRepository.findByPetOrderByDateAscStartTimeAsc(pet));
+        assertIndexed("visits", () -> visitRepository.findRowsByPetId(petId, PageRequest.of(1, 5)));
+        assertIndexed("visits", () -> visitRepository.findByVetProfileAndDateOrderByStartTimeAsc(vetProfile, day));
+        assertIndexed("visits", () -> visitRepository.findRowsByVetProfileIdAndDate(vetProfileId, day, PageRequest.of(0, 2)));
+        assertIndexed("visits", () -> visitRepository.findByVetProfileOrderByDateAscStartTimeAsc(vetProfile));
+        assertIndexed("visits", () -> visitRepository.findRowsByVetProfileId(vetProfileId, PageRequest.of(1, 5)));
+        assertIndexed("visits", () -> visitRepository.findRowsByPetIdAfter(
+                petId, day, LocalTime.of(9, 0), FIRST_ID, PageRequest.of(0, 20)));
+        assertIndexed("visits", () -> visitRepository.findRowsByVetProfileIdAfter(
+                vetProfileId, day, LocalTime.of(9, 0), FIRST_ID, PageRequest.of(0, 20)));
+        assertIndexed("visits", () -> visitRepository.findSlotViews(
+                List.of(vetProfileId), day, day.plusDays(6), Set.of(VisitStatus.SCHEDULED, VisitStatus.CONFIRMED)));
+        assertIndexed("visits", () -> visitRepository.findWeekRows(vetProfileId, day, day.plusDays(6)));
+        assertIndexed("visits", () -> visitRepository.countByPetId(petId));
+        assertIndexed("visits", () -> visitRepository.countByVetProfileId(vetProfileId));
+    }
+
+    @Test
+    @DisplayName("pet queries read pets through an index")
+    void petQueries() {
+        assertIndexed("pets", () -> petRepository.findByIdWithOwner(petId));
+        assertIndexed("pets", () -> petRepository.findForBooking(petId));
+        assertIndexed("pets", () -> petRepository.findByOwnerIdAsDto(ownerId));
+        assertIndexed("pets", () -> petRepository.findByOwnerIdAsDto(ownerId, PageRequest.of(0, 2)));
+        assertIndexed("pets", () -> petRepository.findAllAfter(petId + 100, PageRequest.of(0, 20)));
+        assertIndexed("pets", () -> petRepository.findByOwnerIdAfter(ownerId, petId, PageRequest.of(0, 20)));
+        assertIndexed("pets", () -> petRepository.countByOwnerId(ownerId));
+    }
+
+    @Test
+    @DisplayName("medical record queries read records through an index")
+    void medicalRecordQueries() {
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 2, 0, 0);
+
+        assertIndexed("medical_records", () -> medicalRecordRepository.findByPetIdOrderByCreatedAtDesc(petId + 2));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findRowsByPetId(petId + 2, PageRequest.of(0, 2)));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findByVisitId(FIRST_ID + 2));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findByVetProfileIdOrderByCreatedAtDesc(vetProfileId + 2));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findRowsByVetProfileId(vetProfileId + 2, PageRequest.of(1, 5)));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findByPetIdBefore(
+                petId + 2, createdAt, Long.MAX_VALUE, PageRequest.of(0, 20)));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findByVetProfileIdBefore(
+                vetProfileId + 2, createdAt, Long.MAX_VALUE, PageRequest.of(0, 20)));
+        assertIndexed("medical_records", () -> medicalRecordRepository.findAllBefore(
+                createdAt, Long.MAX_VALUE, PageRequest.of(0, 20)));
+        assertIndexed("medical_records", () -> medicalRecordRepository.countByPetId(petId + 2));
+        assertIndexed("medical_records", () -> medicalRecordRepository.countByVetProfileId(vetProfileId + 2));
+    }
+
+    @Test
+    @DisplayName("vet and user queries read their tables through an index")
+    void vetAndUserQueries() {
+        VetProfile vetProfile = vetProfileRepository.findById(vetProfileId).orElseThrow();
+
+        assertIndexed("vet_profiles", () -> vetProfileRepository.findByUserId(vetUserId));
+        assertIndexed("vet_profile_specializations", () -> vetProfileRepository.findSpecializationsByIdIn(
+                List.of(vetProfileId, vetProfileId + 1)));
+        assertIndexed("vet_profile_specializations", () -> vetProfileRepository.findBookableCandidates(
+                VetSpecialization.SURGERY));
+        assertIndexed("vet_schedule_entries", () -> vetScheduleEntryRepository.findRuleViews(List.of(vetProfileId)));
+        assertIndexed("vet_schedule_entries", () -> vetScheduleEntryRepository
+                .findByVetProfileOrderByDayOfWeekAscStartTimeAsc(vetProfile));
+        assertIndexed("vet_time_off", () -> vetTimeOffRepository.findViews(List.of(vetProfileId)));
+        assertIndexed("vet_time_off", () -> vetTimeOffRepository.findByVetProfileOrderByStartDateAsc(vetProfile));
+        assertIndexed("users", () -> userRepository.findIdByUsername("plan3"));
+        assertIndexed("users", () -> userRepository.findByEmail("plan3@example.com"));
+        assertIndexed("user_roles", () -> userRepository.findByUsername("plan3"));
+    }
+
+    /**
+     * Runs the repository call, then explains every captured statement which reads the table.
+     */
+    private void assertIndexed(String table, Runnable repositoryCall) {
+        SqlRecorder.start();
+        try {
+            repositoryCall.run();
+        } finally {
+            SqlRecorder.stop();
+        }
+        List<String> statements = SqlRecorder.statements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).matches("(?s).*\\b" + table + "\\b.*"))
+                .toList();
+        assertFalse(statements.isEmpty(), "No statement read " + table);
+
+        String tableScan = "PUBLIC." + table.toUpperCase(Locale.ROOT) + ".TABLESCAN";
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.replace("\"", "").toUpperCase(Locale.ROOT).contains(tableScan),
+                    "Full scan of " + table + " in plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(
+                connection -> connection.prepareStatement("EXPLAIN " + sql),
+                rs -> {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                });
+    }
+
+    /**
+     * Records the SQL Hibernate prepares while a capture is running.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+        private static volatile boolean recording;
+
+        static synchronized void start() {
+            STATEMENTS.clear();
+            recording = true;
+        }
+
+        static void stop() {
+            recording = false;
+        }
+
+        static synchronized List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                synchronized (SqlRecorder.class) {
+                    STATEMENTS.add(sql);
+                }
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package pl.witold.petcare.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.witold.petcare.config.ReplicaProperties;
+import pl.witold.petcare.config.ReplicaRouter;
+import pl.witold.petcare.status.StatusService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-only transactions are served by the replica, fall back to the primary when the replica lags
+ * and stay on the primary right after the same user's write.
+ * <p>
+ * The replica is a second in-memory H2 database holding a pet the primary does not have, so each
+ * read shows which database answered it. Its lag is read from a table the test controls.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:petcare-routing-primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.nodes[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas.nodes[0].username=sa",
+        "app.datasource.replicas.nodes[0].password=",
+        "app.datasource.replicas.health-check-interval=1h",
+        "app.datasource.replicas.max-lag=10s",
+        "app.datasource.replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.datasource.replicas.read-your-writes-window=1m"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:petcare-routing-replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    private static final String MARKER = "Replica only";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReplicaRouter replicaRouter;
+    @Autowired
+    private StatusService statusService;
+
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    void setUpReplica() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (id, full_name, username, email, password_hash) VALUES (1, 'Replica Owner', 'replica', 'replica@example.com', ?)",
+                "x".repeat(60));
+        replica.update("INSERT INTO pets (id, owner_id, name, species) VALUES (1, 1, ?, 'DOG')", MARKER);
+        replica.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE PRECISION NOT NULL)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replicaRouter.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        replica.update("UPDATE replica_lag SET lag_seconds = 0");
+        replicaRouter.checkReplicas();
+    }
+
+    @Test
+    @DisplayName("read-only transactions go to the replica, read-write ones to the primary")
+    void routesByReadOnlyFlag() {
+        long replicaReads = replicaRouter.stats().replicaReads();
+
+        assertEquals(1, countMarkerPets(true));
+        assertEquals(0, countMarkerPets(false));
+        assertEquals(replicaReads + 1, replicaRouter.stats().replicaReads());
+    }
+
+    @Test
+    @DisplayName("a replica lagging beyond the limit is skipped until it catches up")
+    void failsOverOnLag() {
+        replica.update("UPDATE replica_lag SET lag_seconds = 600");
+        replicaRouter.checkReplicas();
+        long failoverReads = replicaRouter.stats().failoverReads();
+
+        assertEquals(0, countMarkerPets(true));
+        assertEquals(failoverReads + 1, replicaRouter.stats().failoverReads());
+        ReplicaRouter.ReplicaStats node = replicaRouter.stats().replicas().getFirst();
+        assertFalse(node.healthy());
+        assertEquals(600.0, node.lagSeconds());
+
+        replica.update("UPDATE replica_lag SET lag_seconds = 0");
+        replicaRouter.checkReplicas();
+
+        assertEquals(1, countMarkerPets(true));
+    }
+
+    @Test
+    @DisplayName("after a write the same user reads from the primary, other users from the replica")
+    void readYourWrites() {
+        signIn("user");
+        countMarkerPets(false);
+
+        assertEquals(0, countMarkerPets(true));
+
+        signIn("vet");
+        assertEquals(1, countMarkerPets(true));
+        assertTrue(replicaRouter.stats().readYourWritesReads() > 0);
+    }
+
+    @Test
+    @DisplayName("a rolled back write does not keep the user's reads on the primary")
+    void rollbackStartsNoWindow() {
+        signIn("admin");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pets", Long.class);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, countMarkerPets(true));
+    }
+
+    @Test
+    @DisplayName("a read-your-writes window shorter than max-lag is rejected at startup")
+    void windowMustCoverMaxLag() {
+        ReplicaProperties properties = new ReplicaProperties(true, List.of(), Duration.ofSeconds(5),
+                Duration.ofSeconds(30), null, Duration.ofSeconds(5));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplicaRouter(null, List.of(new HikariDataSource()), properties));
+    }
+
+    @Test
+    @DisplayName("the status API reports replica health, lag and routing counters")
+    @SuppressWarnings("unchecked")
+    void reportedInStatus() {
+        Map<String, Object> details = (Map<String, Object>) statusService.overall().get("details");
+
+        ReplicaRouter.Stats stats = (ReplicaRouter.Stats) details.get("db_replicas");
+        assertEquals(1, stats.replicas().size());
+        assertTrue(stats.replicas().getFirst().healthy());
+        assertEquals(0.0, stats.replicas().getFirst().lagSeconds());
+    }
+
+    private long countMarkerPets(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pets WHERE name = ?", Long.class, MARKER));
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,96 @@
+package pl.witold.petcare.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pl.witold.petcare.security.jwt.JwtService;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests report their SQL statement count and time in {@code Server-Timing}, and requests over
+ * the statement threshold (zero, here) are logged.
+ */
+@SpringBootTest(properties = "app.sql-metrics.statement-threshold=0")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlMetricsFilterTest {
+
+    private static final String SERVER_TIMING = "db;dur=\\d+\\.\\d;desc=\"\\d+ statements\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("responses carry the statement count and database time")
+    void serverTimingHeader() throws Exception {
+        String timing = mockMvc.perform(get("/api/pets/me").header("Authorization", "Bearer " + token("user")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Server-Timing"))
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertTrue(timing.matches(SERVER_TIMING), timing);
+        assertFalse(timing.contains("desc=\"0 statements\""), timing);
+    }
+
+    @Test
+    @DisplayName("GET /api/pets/me stays within its statement budget")
+    void statementBudget() throws Exception {
+        String token = token("user");
+        // Warm-up fills the token version registry
+        mockMvc.perform(get("/api/pets/me").header("Authorization", "Bearer " + token));
+
+        SqlStatementAssertions.performWithin(mockMvc, 2, get("/api/pets/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("requests over the threshold are logged with their statement count")
+    void logsOverThreshold(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/pets/me").header("Authorization", "Bearer " + token("user")))
+                .andExpect(status().isOk());
+
+        assertTrue(output.getOut().contains("SQL budget exceeded: method=GET uri=/api/pets/me status=200 statements="),
+                output.getOut());
+    }
+
+    @Test
+    @DisplayName("statements of a streamed body are counted on the async dispatch")
+    void countsStreamedBody(CapturedOutput output) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/pets/me/export/history")
+                        .header("Authorization", "Bearer " + token("user")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        Matcher logged = Pattern.compile("uri=/api/pets/me/export/history status=200 statements=(\\d+)")
+                .matcher(output.getOut());
+        assertTrue(logged.find(), output.getOut());
+        // Pets, visits and medical records are read by three queries on the async thread
+        assertTrue(Integer.parseInt(logged.group(1)) >= 3, logged.group());
+    }
+
+    private String token(String username) {
+        return jwtService.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+}
@@ -0,0 +1,34 @@
+package pl.witold.petcare.integration;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import pl.witold.petcare.config.SqlStatementMetrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for MockMvc requests. MockMvc runs the request on the calling thread, so
+ * every statement Hibernate executes for it, filters included, is counted.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+        // Utility class
+    }
+
+    /**
+     * Performs the request and fails when it executed more than {@code maxStatements} statements.
+     */
+    public static ResultActions performWithin(MockMvc mockMvc, int maxStatements, RequestBuilder request) throws Exception {
+        ResultActions result;
+        int statements;
+        try (SqlStatementMetrics.Scope scope = SqlStatementMetrics.open()) {
+            result = mockMvc.perform(request);
+            statements = scope.statements();
+        }
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " SQL statements, got " + statements);
+        return result;
+    }
+}
@@ -17,6 +17,8 @@ import pl.witold.petcare.dto.VetProfileResponseDto;
 import pl.witold.petcare.dto.VisitResponseDto;
 import pl.witold.petcare.medicalrecord.commands.MedicalRecordCreateCommand;
 import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -58,6 +60,16 @@ class MedicalRecordControllerIntegrationTest {
         UserDetailsService userDetailsService() {
             return Mockito.mock(UserDetailsService.class);
         }
+
+        @Bean
+        TokenVersionRegistry tokenVersionRegistry() {
+            return Mockito.mock(TokenVersionRegistry.class);
+        }
+
+        @Bean
+        RevokedSessionIndex revokedSessionIndex() {
+            return Mockito.mock(RevokedSessionIndex.class);
+        }
     }
 
     @Test
@@ -0,0 +1,164 @@
+package pl.witold.petcare.medicalrecord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.MedicalRecordResponseDto;
+import pl.witold.petcare.pagination.CursorPaging;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks keyset pages of a pet's medical records, including records created at the same instant.
+ */
+@SpringBootTest
+class MedicalRecordKeysetPaginationTest {
+
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Pet pet;
+    private List<Visit> visits;
+    private List<MedicalRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        VetProfile vetProfile = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow();
+        pet = petRepository.save(new Pet(admin, "Records", Species.CAT, null, null, null, null, null, null));
+
+        LocalDate day = LocalDate.now().plusYears(4);
+        visits = new ArrayList<>();
+        records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Visit visit = visitRepository.save(new Visit(pet, vetProfile, day.plusDays(i),
+                    LocalTime.of(9, 0), LocalTime.of(9, 20), "Checkup " + i, null));
+            visits.add(visit);
+            records.add(medicalRecordRepository.save(
+                    new MedicalRecord(pet, vetProfile, visit, "Record " + i, null, null, null, null)));
+        }
+
+        // Two pairs share a creation time, so only the id tells them apart
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 12, 0);
+        LocalDateTime[] createdAt = {base, base.plusHours(1), base.plusHours(1), base.plusHours(2), base.plusHours(2)};
+        for (int i = 0; i < records.size(); i++) {
+            jdbcTemplate.update("update medical_records set created_at = ? where id = ?",
+                    createdAt[i], records.get(i).getId());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        medicalRecordRepository.deleteAll(records);
+        visitRepository.deleteAll(visits);
+        petRepository.delete(pet);
+    }
+
+    @Test
+    @DisplayName("following next cursors returns every record once in (createdAt desc, id desc) order")
+    void walksAllPages() {
+        // Records were saved in ascending id order: 4 and 3 tie, then 2 and 1 tie
+        List<Long> expected = List.of(4, 3, 2, 1, 0).stream()
+                .map(records::get)
+                .map(MedicalRecord::getId)
+                .toList();
+
+        assertEquals(expected, walk(cursor -> medicalRecordService.scrollForPet(pet.getId(), cursor, 2, false)));
+    }
+
+    @Test
+    @DisplayName("a page boundary between tied creation times neither skips nor repeats records")
+    void splitsTiesAcrossPages() {
+        CursorPageDto<MedicalRecordResponseDto> first = medicalRecordService.scrollForPet(pet.getId(), null, 1, false);
+        CursorPageDto<MedicalRecordResponseDto> second = medicalRecordService.scrollForPet(pet.getId(), first.next(), 1, false);
+
+        assertEquals(records.get(4).getId(), first.content().getFirst().id());
+        assertEquals(records.get(3).getId(), second.content().getFirst().id());
+    }
+
+    @Test
+    @DisplayName("total is only counted when requested")
+    void countsTotalOnRequest() {
+        CursorPageDto<MedicalRecordResponseDto> page = medicalRecordService.scrollForPet(pet.getId(), null, 2, true);
+
+        assertEquals(2, page.content().size());
+        assertEquals(5L, page.totalElements());
+        assertNotNull(page.next());
+    }
+
+    @Test
+    @DisplayName("a malformed cursor is rejected")
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> medicalRecordService.scrollForPet(pet.getId(), "not-a-cursor", 2, false));
+    }
+
+    @Test
+    @DisplayName("a cursor with an unparsable creation time is rejected")
+    void rejectsCursorWithBadTimestamp() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MedicalRecordCursor.decode(CursorPaging.encode("yesterday", 1)));
+    }
+
+    @Test
+    @DisplayName("cursors round-trip their position")
+    void cursorRoundTrip() {
+        MedicalRecordCursor cursor = new MedicalRecordCursor(LocalDateTime.of(2020, 1, 1, 12, 0, 0, 123_000_000), 42L);
+
+        assertEquals(cursor, MedicalRecordCursor.decode(cursor.encode()));
+        assertEquals(MedicalRecordCursor.START, MedicalRecordCursor.decode(null));
+    }
+
+    private static List<Long> walk(Function<String, CursorPageDto<MedicalRecordResponseDto>> scroll) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<MedicalRecordResponseDto> page = scroll.apply(cursor);
+            assertNull(page.totalElements());
+            page.content().forEach(record -> seen.add(record.id()));
+            cursor = page.next();
+        } while (cursor != null);
+        return seen;
+    }
+}
@@ -0,0 +1,138 @@
+package pl.witold.petcare.medicalrecord;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.dto.MedicalRecordResponseDto;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paged medical record reads run as flat row projections plus one specializations query per page.
+ * Hibernate is configured to fail on paginated collection fetches, so these tests break if one
+ * creeps back into a paged query.
+ */
+@SpringBootTest
+class MedicalRecordPagingTest {
+
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Pet pet;
+    private final List<Visit> visits = new ArrayList<>();
+    private final List<MedicalRecord> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        VetProfile vetProfile = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow();
+        pet = petRepository.save(new Pet(admin, "Paged", Species.CAT, null, null, null, null, null, null));
+
+        LocalDate day = LocalDate.now().plusYears(3);
+        for (int i = 0; i < 3; i++) {
+            Visit visit = new Visit(pet, vetProfile, day, LocalTime.of(9 + i, 0), LocalTime.of(9 + i, 20), "Check-up", null);
+            visit.setStatus(VisitStatus.COMPLETED);
+            visits.add(visitRepository.save(visit));
+            records.add(medicalRecordRepository.save(
+                    new MedicalRecord(pet, vetProfile, visit, "Record " + i, null, null, null, null)));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        medicalRecordRepository.deleteAll(records);
+        visitRepository.deleteAll(visits);
+        petRepository.delete(pet);
+    }
+
+    @Test
+    @DisplayName("Hibernate is configured to fail on paginated collection fetches")
+    void failsOnPaginatedCollectionFetch() {
+        Object setting = entityManagerFactory.getProperties()
+                .get("hibernate.query.fail_on_pagination_over_collection_fetch");
+
+        assertEquals("true", String.valueOf(setting));
+    }
+
+    @Test
+    @DisplayName("pet pages keep the newest-first order across pages and report the total")
+    void petPagesKeepOrder() {
+        List<Long> expected = records.stream()
+                .sorted(Comparator.comparing(MedicalRecord::getCreatedAt)
+                        .thenComparing(MedicalRecord::getId)
+                        .reversed())
+                .map(MedicalRecord::getId)
+                .toList();
+
+        Page<MedicalRecordResponseDto> first = medicalRecordService.getForPet(pet.getId(), PageRequest.of(0, 2));
+        Page<MedicalRecordResponseDto> second = medicalRecordService.getForPet(pet.getId(), PageRequest.of(1, 2));
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(expected.subList(0, 2), first.getContent().stream().map(MedicalRecordResponseDto::id).toList());
+        assertEquals(expected.subList(2, 3), second.getContent().stream().map(MedicalRecordResponseDto::id).toList());
+        MedicalRecordResponseDto newest = first.getContent().getFirst();
+        assertEquals(pet.getId(), newest.pet().id());
+        assertEquals(pet.getId(), newest.visit().pet().id());
+        assertEquals(records.getFirst().getVetProfile().getSpecializations(), newest.vetProfile().specializations());
+    }
+
+    @Test
+    @DisplayName("the admin listing is paged by the database")
+    void adminPage() {
+        Page<MedicalRecordResponseDto> all = medicalRecordService.getAll(PageRequest.of(0, 2));
+
+        assertEquals(2, all.getContent().size());
+        assertTrue(all.getTotalElements() >= 3);
+    }
+
+    @Test
+    @DisplayName("a page past the end is empty but keeps the total")
+    void pagePastTheEnd() {
+        Page<MedicalRecordResponseDto> page = medicalRecordService.getForPet(pet.getId(), PageRequest.of(5, 2));
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(3, page.getTotalElements());
+    }
+}
@@ -33,7 +33,7 @@ class PetAccessServiceImplTest {
     @Test
     @DisplayName("Admin can view any pet")
     void adminCanView() {
-        when(currentUserService.getCurrentUser()).thenReturn(owner); // identity doesn't matter
+        when(currentUserService.getCurrentUserId()).thenReturn(10L); // identity doesn't matter
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(true);
 
         assertTrue(petAccessService.canView(pet));
@@ -42,7 +42,7 @@ class PetAccessServiceImplTest {
     @Test
     @DisplayName("Vet can modify any pet")
     void vetCanModify() {
-        when(currentUserService.getCurrentUser()).thenReturn(owner);
+        when(currentUserService.getCurrentUserId()).thenReturn(10L);
         when(currentUserService.hasRole(Role.VET)).thenReturn(true);
 
         assertTrue(petAccessService.canModify(pet));
@@ -51,7 +51,7 @@ class PetAccessServiceImplTest {
     @Test
     @DisplayName("Owner can view own pet")
     void ownerCanViewOwnPet() {
-        when(currentUserService.getCurrentUser()).thenReturn(owner);
+        when(currentUserService.getCurrentUserId()).thenReturn(10L);
         // no elevated roles
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(false);
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
@@ -62,9 +62,7 @@ class PetAccessServiceImplTest {
     @Test
     @DisplayName("Other user cannot modify pet")
     void otherUserCannotModifyPet() {
-        User other = mock(User.class);
-        when(other.getId()).thenReturn(99L);
-        when(currentUserService.getCurrentUser()).thenReturn(other);
+        when(currentUserService.getCurrentUserId()).thenReturn(99L);
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(false);
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
 
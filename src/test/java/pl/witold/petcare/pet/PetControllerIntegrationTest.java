@@ -15,9 +15,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 import pl.witold.petcare.dto.PetImportDto;
+import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
 import pl.witold.petcare.user.User;
-import pl.witold.petcare.user.UserService;
 
 import java.util.List;
 
@@ -41,7 +43,7 @@ class PetControllerIntegrationTest {
     @Autowired
     private PetService petService;
     @Autowired
-    private UserService userService;
+    private CurrentUserService currentUserService;
 
     @TestConfiguration
     static class Cfg {
@@ -51,8 +53,18 @@ class PetControllerIntegrationTest {
         }
 
         @Bean
-        UserService userService() {
-            return Mockito.mock(UserService.class);
+        PetHistoryExportService petHistoryExportService() {
+            return Mockito.mock(PetHistoryExportService.class);
+        }
+
+        @Bean
+        PetHistoryExportLimiter petHistoryExportLimiter() {
+            return new PetHistoryExportLimiter(1);
+        }
+
+        @Bean
+        CurrentUserService currentUserService() {
+            return Mockito.mock(CurrentUserService.class);
         }
 
         @Bean
@@ -64,6 +76,16 @@ class PetControllerIntegrationTest {
         UserDetailsService userDetailsService() {
             return Mockito.mock(UserDetailsService.class);
         }
+
+        @Bean
+        TokenVersionRegistry tokenVersionRegistry() {
+            return Mockito.mock(TokenVersionRegistry.class);
+        }
+
+        @Bean
+        RevokedSessionIndex revokedSessionIndex() {
+            return Mockito.mock(RevokedSessionIndex.class);
+        }
     }
 
     @Test
@@ -72,7 +94,7 @@ class PetControllerIntegrationTest {
         User current = Mockito.mock(User.class);
         when(current.getId()).thenReturn(7L);
         when(current.getFullName()).thenReturn("Witold Zawada");
-        when(userService.getByUsername(eq("witq"))).thenReturn(current);
+        when(currentUserService.getCurrentUserId()).thenReturn(7L);
 
         Pet pet1 = new Pet(current, "Sara", Species.DOG, Sex.FEMALE, "Mixed", null, 2021, 9.2, "friendly");
         Pet pet2 = new Pet(current, "Yuki", Species.CAT, Sex.FEMALE, "European", null, 2022, 3.6, null);
@@ -93,7 +115,7 @@ class PetControllerIntegrationTest {
         User current = Mockito.mock(User.class);
         when(current.getId()).thenReturn(7L);
         when(current.getFullName()).thenReturn("Witold Zawada");
-        when(userService.getByUsername(eq("witq"))).thenReturn(current);
+        when(currentUserService.getCurrentUserId()).thenReturn(7L);
 
         PetImportDto in1 = new PetImportDto("Sara", Species.DOG, Sex.FEMALE, "Mixed", null, 2021, 9.2, null);
         PetImportDto in2 = new PetImportDto("Yuki", Species.CAT, Sex.FEMALE, null, null, 2022, 3.6, null);
@@ -0,0 +1,179 @@
+package pl.witold.petcare.pet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pl.witold.petcare.medicalrecord.MedicalRecord;
+import pl.witold.petcare.medicalrecord.MedicalRecordRepository;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The history export streams each pet with exactly its own visits and medical records.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PetHistoryExportTest {
+
+    private static final String EXPORT = "/api/pets/me/export/history";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private PetHistoryExportLimiter exportLimiter;
+
+    private Pet withHistory;
+    private Pet withoutRecords;
+    private final List<Visit> visits = new ArrayList<>();
+    private final List<MedicalRecord> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername("user").orElseThrow();
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        VetProfile vetProfile = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow();
+        withHistory = petRepository.save(new Pet(owner, "History", Species.DOG, null, null, null, null, null, null));
+        withoutRecords = petRepository.save(new Pet(owner, "No records", Species.CAT, null, null, null, null, null, null));
+
+        LocalDate day = LocalDate.now().plusYears(5);
+        for (int i = 0; i < 2; i++) {
+            Visit visit = new Visit(withHistory, vetProfile, day, LocalTime.of(9 + i, 0), LocalTime.of(9 + i, 20), "Check-up", null);
+            visit.setStatus(VisitStatus.COMPLETED);
+            visits.add(visitRepository.save(visit));
+            records.add(medicalRecordRepository.save(
+                    new MedicalRecord(withHistory, vetProfile, visit, "Record " + i, null, null, null, null)));
+        }
+        visits.add(visitRepository.save(new Visit(withoutRecords, vetProfile, day, LocalTime.of(12, 0), LocalTime.of(12, 20), "Vaccination", null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        medicalRecordRepository.deleteAll(records);
+        visitRepository.deleteAll(visits);
+        petRepository.deleteAll(List.of(withHistory, withoutRecords));
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one line per pet with its visits and records")
+    void ndjson() throws Exception {
+        MvcResult result = export("NDJSON");
+
+        assertEquals("application/x-ndjson", result.getResponse().getContentType());
+        Map<Long, JsonNode> pets = new HashMap<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode pet = objectMapper.readTree(line);
+            pets.put(pet.get("pet").get("id").asLong(), pet);
+        }
+
+        assertHistory(pets);
+    }
+
+    @Test
+    @DisplayName("JSON_GZIP export writes the same objects as a compressed array")
+    void gzipJson() throws Exception {
+        MvcResult result = export("JSON_GZIP");
+
+        JsonNode array;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            array = objectMapper.readTree(in);
+        }
+        Map<Long, JsonNode> pets = new HashMap<>();
+        array.forEach(pet -> pets.put(pet.get("pet").get("id").asLong(), pet));
+
+        assertHistory(pets);
+    }
+
+    @Test
+    @DisplayName("exports beyond the concurrency limit are rejected before streaming and slots are returned")
+    void concurrencyLimit() throws Exception {
+        int slots = exportLimiter.available();
+        List<Runnable> taken = new ArrayList<>();
+        try {
+            while (exportLimiter.available() > 0) {
+                taken.add(exportLimiter.acquire());
+            }
+            mockMvc.perform(get(EXPORT).header("Authorization", "Bearer " + token()))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            taken.forEach(Runnable::run);
+        }
+
+        export("NDJSON");
+        assertEquals(slots, exportLimiter.available());
+    }
+
+    private void assertHistory(Map<Long, JsonNode> pets) {
+        JsonNode history = pets.get(withHistory.getId());
+        assertEquals("History", history.get("pet").get("name").asText());
+        assertEquals(2, history.get("visits").size());
+        assertEquals(2, history.get("medicalRecords").size());
+        assertEquals(records.getFirst().getId(), history.get("medicalRecords").get(0).get("id").asLong());
+
+        JsonNode other = pets.get(withoutRecords.getId());
+        assertEquals(1, other.get("visits").size());
+        assertEquals("Vaccination", other.get("visits").get(0).get("reason").asText());
+        assertEquals(0, other.get("medicalRecords").size());
+    }
+
+    private MvcResult export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get(EXPORT).param("format", format).header("Authorization", "Bearer " + token()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andReturn();
+    }
+
+    private String token() {
+        return jwtService.generateToken(userDetailsService.loadUserByUsername("user"));
+    }
+}
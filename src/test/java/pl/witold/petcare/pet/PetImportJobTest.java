@@ -0,0 +1,213 @@
+package pl.witold.petcare.pet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streaming imports commit valid records in chunks, report rejected ones by line and can be polled.
+ */
+@SpringBootTest(properties = {
+        "app.pets.import.chunk-size=2",
+        "app.pets.import.max-upload-size=2KB",
+        "app.pets.import.max-line-length=100"
+})
+@AutoConfigureMockMvc
+class PetImportJobTest {
+
+    private static final String JOBS = "/api/pets/me/import/jobs";
+    private static final String PREFIX = "Streamed ";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        petRepository.deleteAll(imported());
+    }
+
+    @Test
+    @DisplayName("NDJSON import skips invalid lines and imports the rest")
+    void ndjson() throws Exception {
+        String body = """
+                {"name":"Streamed 1","species":"DOG"}
+                {"name":"","species":"CAT"}
+                {"name":"Streamed 2","species":"CAT","weight":4.5}
+                {"name":"Streamed 3","species":"DRAGON"}
+                {"name":"Streamed 4","species":"DOG"}
+                {"name":"Streamed 5","species":"DOG"}
+                """;
+
+        JsonNode job = awaitFinished(start(MediaType.APPLICATION_NDJSON, body));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(6, job.get("processed").asLong());
+        assertEquals(4, job.get("imported").asLong());
+        assertEquals(2, job.get("rejected").asLong());
+        assertEquals(2, job.get("errors").get(0).get("line").asInt());
+        assertTrue(job.get("errors").get(0).get("message").asText().startsWith("name:"));
+        assertEquals(4, job.get("errors").get(1).get("line").asInt());
+        assertEquals(4, imported().size());
+    }
+
+    @Test
+    @DisplayName("a JSON array is streamed the same way")
+    void jsonArray() throws Exception {
+        String body = """
+                [
+                  {"name":"Streamed 1","species":"DOG"},
+                  {"name":"Streamed 2","species":"CAT"},
+                  {"name":"Streamed 3","species":"DOG"}
+                ]
+                """;
+
+        JsonNode job = awaitFinished(start(MediaType.APPLICATION_JSON, body));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(3, job.get("imported").asLong());
+        assertEquals(0, job.get("rejected").asLong());
+        assertEquals(3, imported().size());
+    }
+
+    @Test
+    @DisplayName("a malformed NDJSON line only rejects its record")
+    void malformedLine() throws Exception {
+        String body = """
+                {"name":"Streamed 1","species":"DOG"}
+                {"name":"Streamed 2",
+
+                {"name":"Streamed 3","species":"DOG"}
+                """;
+
+        JsonNode job = awaitFinished(start(MediaType.APPLICATION_NDJSON, body));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(3, job.get("processed").asLong());
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(2, job.get("errors").get(0).get("line").asInt());
+        assertTrue(job.get("errors").get(0).get("message").asText().startsWith("Malformed JSON"));
+        assertEquals(2, imported().size());
+    }
+
+    @Test
+    @DisplayName("an NDJSON line above the length limit only rejects its record")
+    void lineTooLong() throws Exception {
+        String body = "{\"name\":\"Streamed 1\",\"species\":\"DOG\"}\n"
+                + "{\"name\":\"Streamed 2\",\"species\":\"DOG\",\"notes\":\"" + "x".repeat(200) + "\"}\n"
+                + "{\"name\":\"Streamed 3\",\"species\":\"DOG\"}\n";
+
+        JsonNode job = awaitFinished(start(MediaType.APPLICATION_NDJSON, body));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(3, job.get("processed").asLong());
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(2, job.get("errors").get(0).get("line").asInt());
+        assertEquals("Line exceeds 100 characters", job.get("errors").get(0).get("message").asText());
+        assertEquals(2, imported().size());
+    }
+
+    @Test
+    @DisplayName("a malformed JSON array fails the job and keeps the chunks committed before it")
+    void malformedArray() throws Exception {
+        String body = """
+                [
+                  {"name":"Streamed 1","species":"DOG"},
+                  {"name":"Streamed 2","species":"DOG"},
+                  {"name":"Streamed 3",
+                """;
+
+        JsonNode job = awaitFinished(start(MediaType.APPLICATION_JSON, body));
+
+        assertEquals("FAILED", job.get("status").asText());
+        assertTrue(job.get("failure").asText().startsWith("Malformed JSON"));
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(2, imported().size());
+    }
+
+    @Test
+    @DisplayName("uploads above the size limit are rejected")
+    void uploadTooLarge() throws Exception {
+        String line = "{\"name\":\"Streamed 1\",\"species\":\"DOG\"}\n";
+
+        mockMvc.perform(post(JOBS)
+                        .header("Authorization", "Bearer " + token("user"))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(line.repeat(100)))
+                .andExpect(status().isPayloadTooLarge());
+        assertTrue(imported().isEmpty());
+    }
+
+    @Test
+    @DisplayName("another user's job is not visible")
+    void otherUsersJob() throws Exception {
+        String id = start(MediaType.APPLICATION_NDJSON, "{\"name\":\"Streamed 1\",\"species\":\"DOG\"}\n");
+        awaitFinished(id);
+
+        mockMvc.perform(get(JOBS + "/" + id).header("Authorization", "Bearer " + token("vet")))
+                .andExpect(status().isNotFound());
+    }
+
+    private String start(MediaType type, String body) throws Exception {
+        String response = mockMvc.perform(post(JOBS)
+                        .header("Authorization", "Bearer " + token("user"))
+                        .contentType(type)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String response = mockMvc.perform(get(JOBS + "/" + id).header("Authorization", "Bearer " + token("user")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(response);
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Import did not finish in time");
+            Thread.sleep(50);
+        }
+    }
+
+    private List<Pet> imported() {
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        return petRepository.findByOwnerId(userId).stream()
+                .filter(pet -> pet.getName().startsWith(PREFIX))
+                .toList();
+    }
+
+    private String token(String username) {
+        return jwtService.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+}
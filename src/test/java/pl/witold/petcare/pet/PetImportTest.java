@@ -19,7 +19,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -44,7 +44,7 @@ class PetImportTest {
     void importCreatesNewPets() {
         User current = mock(User.class);
         when(current.getId()).thenReturn(5L);
-        when(currentUserService.getCurrentUser()).thenReturn(current);
+        when(currentUserService.getCurrentUserId()).thenReturn(5L);
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(false);
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
         when(userRepository.findById(5L)).thenReturn(Optional.of(current));
@@ -52,7 +52,7 @@ class PetImportTest {
         PetImportDto dto1 = new PetImportDto("Luna", Species.DOG, Sex.FEMALE, "Beagle", null, 2020, 12.0, "Friendly");
         PetImportDto dto2 = new PetImportDto("Max", Species.CAT, Sex.MALE, "", null, null, null, null);
 
-        when(petRepository.save(any(Pet.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(petRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         List<Pet> created = petService.importForOwner(5L, List.of(dto1, dto2));
         assertEquals(2, created.size());
@@ -66,7 +66,7 @@ class PetImportTest {
     void importDeniedForAnotherOwner() {
         User current = mock(User.class);
         when(current.getId()).thenReturn(5L);
-        when(currentUserService.getCurrentUser()).thenReturn(current);
+        when(currentUserService.getCurrentUserId()).thenReturn(5L);
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(false);
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
 
@@ -0,0 +1,111 @@
+package pl.witold.petcare.pet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.PetResponseDto;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks keyset pages of pets. Pet listings are keyed by id alone, so pets sharing every other
+ * attribute must still come back once each in id order.
+ */
+@SpringBootTest
+class PetKeysetPaginationTest {
+
+    @Autowired
+    private PetService petService;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private List<Pet> pets;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        pets = petRepository.saveAll(List.of(
+                new Pet(admin, "Twin", Species.DOG, null, null, null, null, null, null),
+                new Pet(admin, "Twin", Species.DOG, null, null, null, null, null, null),
+                new Pet(admin, "Twin", Species.DOG, null, null, null, null, null, null)
+        ));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        petRepository.deleteAll(pets);
+    }
+
+    @Test
+    @DisplayName("following next cursors returns every pet of an owner once in id order")
+    void walksOwnerPages() {
+        List<Long> expected = petRepository.findByOwnerIdWithOwner(admin.getId()).stream()
+                .map(Pet::getId)
+                .sorted()
+                .toList();
+
+        assertEquals(expected, walk(cursor -> petService.scrollByOwnerId(admin.getId(), cursor, 2, false)));
+    }
+
+    @Test
+    @DisplayName("following next cursors returns every pet once in id order")
+    void walksAllPages() {
+        List<Long> expected = petRepository.findAll().stream()
+                .map(Pet::getId)
+                .sorted()
+                .toList();
+
+        assertEquals(expected, walk(cursor -> petService.scrollAll(cursor, 2, false)));
+    }
+
+    @Test
+    @DisplayName("total is only counted when requested")
+    void countsTotalOnRequest() {
+        CursorPageDto<PetResponseDto> page = petService.scrollByOwnerId(admin.getId(), null, 2, true);
+
+        assertEquals(2, page.content().size());
+        assertEquals(petRepository.countByOwnerId(admin.getId()), page.totalElements());
+        assertNotNull(page.next());
+    }
+
+    @Test
+    @DisplayName("a malformed cursor is rejected")
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> petService.scrollByOwnerId(admin.getId(), "not-a-cursor", 2, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> petService.scrollAll("not-a-cursor", 2, false));
+    }
+
+    private static List<Long> walk(Function<String, CursorPageDto<PetResponseDto>> scroll) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<PetResponseDto> page = scroll.apply(cursor);
+            assertNull(page.totalElements());
+            page.content().forEach(pet -> seen.add(pet.id()));
+            cursor = page.next();
+        } while (cursor != null);
+        return seen;
+    }
+}
@@ -45,7 +45,7 @@ class PetServiceImplTest {
     void userCannotCreateForAnotherOwner() {
         User current = mock(User.class);
         when(current.getId()).thenReturn(1L);
-        when(currentUserService.getCurrentUser()).thenReturn(current);
+        when(currentUserService.getCurrentUserId()).thenReturn(1L);
         when(currentUserService.hasRole(Role.ADMIN)).thenReturn(false);
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
 
@@ -60,7 +60,7 @@ class PetServiceImplTest {
         when(currentUserService.hasRole(Role.VET)).thenReturn(false);
         User admin = mock(User.class);
         when(admin.getId()).thenReturn(99L);
-        when(currentUserService.getCurrentUser()).thenReturn(admin);
+        when(currentUserService.getCurrentUserId()).thenReturn(99L);
 
         Pet existing = new Pet();
         User oldOwner = mock(User.class);
@@ -0,0 +1,75 @@
+package pl.witold.petcare.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pl.witold.petcare.user.Role;
+import pl.witold.petcare.user.UserRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentPrincipalHolderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentPrincipalHolder holder;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("JWT principal is returned without touching the database")
+    void jwtPrincipalNeedsNoLookup() {
+        AuthenticatedUser principal = new AuthenticatedUser(3L, "vet", Set.of(Role.VET));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_VET"))));
+
+        assertSame(principal, holder.get());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("other principals are resolved once per request")
+    void otherPrincipalsResolvedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        when(userRepository.findIdByUsername("user")).thenReturn(Optional.of(7L));
+
+        AuthenticatedUser first = holder.get();
+        AuthenticatedUser second = holder.get();
+
+        assertEquals(7L, first.id());
+        assertEquals(Set.of(Role.USER), first.roles());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findIdByUsername("user");
+    }
+
+    @Test
+    @DisplayName("missing authentication is rejected")
+    void unauthenticatedIsRejected() {
+        assertThrows(AccessDeniedException.class, () -> holder.get());
+    }
+}
@@ -0,0 +1,90 @@
+package pl.witold.petcare.security;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.witold.petcare.security.jwt.JwtService;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares JDBC statements of "/me" endpoints called with a token carrying the principal claims
+ * and with a token which only names the user, as issued before the claims were added.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CurrentUserQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("GET /api/pets/me resolves the owner without user lookups")
+    void myPets() throws Exception {
+        long legacy = statements("/api/pets/me", legacyToken("user"));
+        long withClaims = statements("/api/pets/me", claimsToken("user"));
+
+        assertTrue(withClaims < legacy, "Expected fewer than " + legacy + " statements, got " + withClaims);
+        // Pets joined with their owner, plus the owner's roles
+        assertTrue(withClaims <= 2, "Expected at most 2 statements, got " + withClaims);
+    }
+
+    @Test
+    @DisplayName("GET /api/vets/me/profile resolves the vet without user lookups")
+    void myVetProfile() throws Exception {
+        long legacy = statements("/api/vets/me/profile", legacyToken("vet"));
+        long withClaims = statements("/api/vets/me/profile", claimsToken("vet"));
+
+        assertTrue(withClaims < legacy, "Expected fewer than " + legacy + " statements, got " + withClaims);
+    }
+
+    @Test
+    @DisplayName("GET /api/visits/me resolves the vet without user lookups")
+    void myVisits() throws Exception {
+        long legacy = statements("/api/visits/me", legacyToken("vet"));
+        long withClaims = statements("/api/visits/me", claimsToken("vet"));
+
+        assertTrue(withClaims < legacy, "Expected fewer than " + legacy + " statements, got " + withClaims);
+    }
+
+    private long statements(String path, String token) throws Exception {
+        // Warm-up fills the token version registry and other caches
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String claimsToken(String username) {
+        return jwtService.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+
+    private String legacyToken(String username) {
+        UserDetails details = userDetailsService.loadUserByUsername(username);
+        return jwtService.generateToken(User.withUsername(details.getUsername())
+                .password(details.getPassword())
+                .authorities(details.getAuthorities())
+                .build());
+    }
+}
@@ -0,0 +1,103 @@
+package pl.witold.petcare.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import pl.witold.petcare.security.SecurityUser;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "faJJ1JQFddaDGiwl6BOXixX95I1HGKbTYBjRWdxv4EY2";
+    private static final String OTHER_SECRET = "bXktb3RoZXItc2VjcmV0LWtleS1mb3ItdGVzdHMtMzItYnl0ZXM=";
+
+    private final UserDetails user = User.withUsername("user").password("x").authorities(List.of()).build();
+
+    @Test
+    @DisplayName("verify returns claims and serves repeated verifications from the cache")
+    void verifyReturnsClaimsAndCaches() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        assertEquals("user", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("verify keeps the cache within its size")
+    void verifyBoundsCache() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 10);
+
+        for (int i = 0; i < 50; i++) {
+            String token = jwtService.generateToken(User.withUsername("user" + i).password("x").authorities(List.of()).build());
+            assertEquals("user" + i, jwtService.verify(token).getSubject());
+            assertTrue(jwtService.cachedTokens() <= 10, "cached " + jwtService.cachedTokens());
+        }
+    }
+
+    @Test
+    @DisplayName("verify rejects tokens signed with another key")
+    void verifyRejectsForeignSignature() {
+        String token = new JwtService(OTHER_SECRET, 60_000, 100).generateToken(user);
+
+        assertThrows(SignatureException.class, () -> new JwtService(SECRET, 60_000, 100).verify(token));
+    }
+
+    @Test
+    @DisplayName("verify rejects expired tokens")
+    void verifyRejectsExpiredToken() {
+        JwtService jwtService = new JwtService(SECRET, -1_000, 100);
+        String token = jwtService.generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    @DisplayName("verify works with the cache disabled")
+    void verifyWithoutCache() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 0);
+        String token = jwtService.generateToken(user);
+
+        assertEquals("user", jwtService.verify(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("generateToken embeds user id, roles and token version for security users")
+    void generateTokenEmbedsPrincipalClaims() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+        SecurityUser securityUser = new SecurityUser(
+                42L, "vet", "x", 3,
+                List.of(new SimpleGrantedAuthority("ROLE_VET"), new SimpleGrantedAuthority("ROLE_USER"))
+        );
+
+        Claims claims = jwtService.verify(jwtService.generateToken(securityUser));
+
+        assertEquals("vet", claims.getSubject());
+        assertEquals(42L, ((Number) claims.get(JwtService.USER_ID_CLAIM)).longValue());
+        assertEquals(3, ((Number) claims.get(JwtService.TOKEN_VERSION_CLAIM)).intValue());
+        assertEquals(List.of("USER", "VET"), claims.get(JwtService.ROLES_CLAIM));
+    }
+
+    @Test
+    @DisplayName("generateToken leaves principal claims out for plain user details")
+    void generateTokenWithoutPrincipalClaims() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+
+        Claims claims = jwtService.verify(jwtService.generateToken(user));
+
+        assertNull(claims.get(JwtService.USER_ID_CLAIM));
+        assertNull(claims.get(JwtService.TOKEN_VERSION_CLAIM));
+    }
+}
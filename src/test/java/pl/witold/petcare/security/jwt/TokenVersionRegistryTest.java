@@ -0,0 +1,69 @@
+package pl.witold.petcare.security.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.user.events.UserCredentialsChangedEvent;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("isCurrent loads the version once and serves later checks from memory")
+    void isCurrentCachesVersion() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000);
+        when(userRepository.findTokenVersion(1L)).thenReturn(Optional.of(2));
+
+        assertTrue(registry.isCurrent(1L, 2));
+        assertTrue(registry.isCurrent(1L, 2));
+        assertFalse(registry.isCurrent(1L, 1));
+
+        verify(userRepository, times(1)).findTokenVersion(1L);
+    }
+
+    @Test
+    @DisplayName("a credentials change drops the cached version so older tokens are rejected")
+    void credentialsChangeRevokesTokens() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000);
+        when(userRepository.findTokenVersion(1L)).thenReturn(Optional.of(0), Optional.of(1));
+
+        assertTrue(registry.isCurrent(1L, 0));
+        registry.onCredentialsChanged(new UserCredentialsChangedEvent(1L));
+
+        assertFalse(registry.isCurrent(1L, 0));
+        assertTrue(registry.isCurrent(1L, 1));
+    }
+
+    @Test
+    @DisplayName("expired entries are re-read so other nodes pick up changes")
+    void expiredEntriesAreReloaded() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 0);
+        when(userRepository.findTokenVersion(1L)).thenReturn(Optional.of(0), Optional.of(1));
+
+        assertTrue(registry.isCurrent(1L, 0));
+        assertFalse(registry.isCurrent(1L, 0));
+    }
+
+    @Test
+    @DisplayName("tokens of removed users are never current")
+    void removedUserIsNotCurrent() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000);
+        when(userRepository.findTokenVersion(9L)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(9L, 0));
+    }
+}
@@ -0,0 +1,89 @@
+package pl.witold.petcare.security.password;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.witold.petcare.exceptions.ServiceBusyException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("encode and matches run on the pool and are counted")
+    void delegatesAndCounts() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new CostAwareBCryptPasswordEncoder(4), 2, 4, 5_000)) {
+            String hash = encoder.encode("secret");
+
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("other", hash));
+            assertEquals(3, encoder.stats().completed());
+            assertEquals(0, encoder.stats().rejected());
+        }
+    }
+
+    @Test
+    @DisplayName("calls are rejected while every worker is busy and the queue is full")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(started, release), 1, 0, 5_000)) {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("b"));
+            assertEquals(1, encoder.stats().rejected());
+
+            release.countDown();
+            assertEquals("hash", first.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("callers stop waiting after the timeout")
+    void timesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(started, release), 1, 1, 50)) {
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("a"));
+            assertEquals(1, encoder.stats().timedOut());
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("a different stored BCrypt cost requests a rehash in both directions")
+    void upgradeEncodingOnCostChange() {
+        String cost4 = new CostAwareBCryptPasswordEncoder(4).encode("secret");
+        String cost5 = new CostAwareBCryptPasswordEncoder(5).encode("secret");
+        CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(cost4));
+        assertFalse(encoder.upgradeEncoding(cost5));
+        assertTrue(new CostAwareBCryptPasswordEncoder(4).upgradeEncoding(cost5));
+    }
+
+    private static PasswordEncoder blocking(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package pl.witold.petcare.vet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOffCalendarTest {
+
+    private static final Long VET_ID = 1L;
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private static VetTimeOffView range(int fromDay, int toDay) {
+        return new VetTimeOffView(VET_ID, BASE.plusDays(fromDay), BASE.plusDays(toDay));
+    }
+
+    @Test
+    @DisplayName("Merges overlapping and adjacent ranges")
+    void mergesRanges() {
+        TimeOffCalendar calendar = TimeOffCalendar.of(List.of(range(10, 12), range(0, 3), range(2, 5), range(6, 7)));
+
+        assertEquals(2, calendar.ranges().size());
+        assertEquals(BASE.plusDays(7), calendar.ranges().get(BASE));
+        assertEquals(BASE.plusDays(12), calendar.ranges().get(BASE.plusDays(10)));
+    }
+
+    @Test
+    @DisplayName("Answers point lookups at range boundaries")
+    void isOnLeave() {
+        TimeOffCalendar calendar = TimeOffCalendar.of(List.of(range(2, 4)));
+
+        assertFalse(calendar.isOnLeave(BASE.plusDays(1)));
+        assertTrue(calendar.isOnLeave(BASE.plusDays(2)));
+        assertTrue(calendar.isOnLeave(BASE.plusDays(4)));
+        assertFalse(calendar.isOnLeave(BASE.plusDays(5)));
+        assertFalse(TimeOffCalendar.EMPTY.isOnLeave(BASE));
+    }
+
+    @Test
+    @DisplayName("Lists blocked dates clipped to the requested range")
+    void blockedDates() {
+        TimeOffCalendar calendar = TimeOffCalendar.of(List.of(range(0, 3), range(6, 6), range(9, 20)));
+
+        assertEquals(
+                List.of(BASE.plusDays(2), BASE.plusDays(3), BASE.plusDays(6), BASE.plusDays(9), BASE.plusDays(10)),
+                calendar.blockedDates(BASE.plusDays(2), BASE.plusDays(10))
+        );
+        assertTrue(calendar.blockedDates(BASE.plusDays(4), BASE.plusDays(5)).isEmpty());
+    }
+}
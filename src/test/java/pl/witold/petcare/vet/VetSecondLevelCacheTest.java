@@ -0,0 +1,153 @@
+package pl.witold.petcare.vet;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.witold.petcare.config.SecondLevelCacheStats;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitService;
+import pl.witold.petcare.visit.commands.VisitCreateCommand;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repeated vet reads and bookings are served from the Hibernate second-level cache instead of
+ * selecting vet profiles, their specializations and schedule entries again.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VetSecondLevelCacheTest {
+
+    private static final String VET_PROFILE = VetProfile.class.getName();
+    private static final String SPECIALIZATIONS = VET_PROFILE + ".specializations";
+    private static final String SCHEDULE_ENTRY = VetScheduleEntry.class.getName();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+    @Autowired
+    private VisitService visitService;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+
+    private Statistics statistics;
+    private Long vetProfileId;
+    private Pet pet;
+    private final List<Visit> visits = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        vetProfileId = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        visitRepository.deleteAll(visits);
+        if (pet != null) {
+            petRepository.delete(pet);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/vets/{id} reads the profile and its specializations from the cache")
+    void vetProfileById() throws Exception {
+        String token = token("user");
+        mockMvc.perform(get("/api/vets/" + vetProfileId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/vets/" + vetProfileId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getEntityStatistics(VET_PROFILE).getLoadCount());
+        assertTrue(statistics.getEntityStatistics(VET_PROFILE).getCacheHitCount() > 0);
+        assertEquals(0, statistics.getCollectionStatistics(SPECIALIZATIONS).getFetchCount());
+        assertTrue(secondLevelCacheStats.stats().get("vet-profiles").hits() > 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vets/me/schedule reads schedule entries from the query cache")
+    void mySchedule() throws Exception {
+        String token = token("vet");
+        mockMvc.perform(get("/api/vets/me/schedule").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/vets/me/schedule").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getEntityStatistics(SCHEDULE_ENTRY).getLoadCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+        assertTrue(secondLevelCacheStats.stats().get("vet-schedule-queries").hits() > 0);
+    }
+
+    @Test
+    @DisplayName("booking takes the vet profile from the cache")
+    void booking() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        pet = petRepository.save(new Pet(admin, "Cached", Species.DOG, null, null, null, null, null, null));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        LocalDate monday = LocalDate.now().plusYears(4).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        visits.add(book(monday, LocalTime.of(9, 0)));
+        statistics.clear();
+        visits.add(book(monday, LocalTime.of(9, 30)));
+
+        assertEquals(0, statistics.getEntityStatistics(VET_PROFILE).getLoadCount());
+        assertTrue(statistics.getEntityStatistics(VET_PROFILE).getCacheHitCount() > 0);
+    }
+
+    private Visit book(LocalDate date, LocalTime start) {
+        return visitService.createVisit(new VisitCreateCommand(pet.getId(), vetProfileId, date, start, "Cache check", null));
+    }
+
+    private String token(String username) {
+        return jwtService.generateToken(userDetailsService.loadUserByUsername(username));
+    }
+}
@@ -0,0 +1,134 @@
+package pl.witold.petcare.vet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.vet.repository.VetWeekVersionRepository;
+import pl.witold.petcare.visit.Visit;
+import pl.witold.petcare.visit.VisitRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The week view ETag of a vet changes when one of the vet's visits is edited, also when the
+ * change was made through another node and only reached the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VetWeekEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetWeekVersionRepository vetWeekVersionRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LocalDate monday;
+    private VetProfile vetProfile;
+    private Visit visit;
+
+    @BeforeEach
+    void setUp() {
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        vetProfile = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow();
+        // Upcoming weeks within the booking horizon carry an ETag
+        monday = LocalDate.now().plusWeeks(40).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        visit = visitRepository.save(new Visit(petRepository.findAll().getFirst(), vetProfile,
+                monday, LocalTime.of(9, 0), LocalTime.of(9, 30), "Checkup", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        visitRepository.deleteById(visit.getId());
+    }
+
+    @Test
+    @DisplayName("PATCHing a visit's reason changes the week ETag")
+    void patchChangesEtag() throws Exception {
+        String token = "Bearer " + jwtService.generateToken(userDetailsService.loadUserByUsername("vet"));
+        String before = mockMvc.perform(get("/api/vets/me/week").param("start", monday.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/visits/{id}", visit.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reason\":\"Vaccination\"}"))
+                .andExpect(status().isOk());
+
+        String after = mockMvc.perform(get("/api/vets/me/week").param("start", monday.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.visits[0].reason").value("Vaccination"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    @DisplayName("a version bumped by another node invalidates the ETag")
+    void versionBumpedElsewhereChangesEtag() throws Exception {
+        String token = "Bearer " + jwtService.generateToken(userDetailsService.loadUserByUsername("vet"));
+        String before = mockMvc.perform(get("/api/vets/me/week").param("start", monday.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // No event reaches this node, only the committed row
+        transactionTemplate.executeWithoutResult(status -> vetWeekVersionRepository.increment(vetProfile.getId()));
+
+        mockMvc.perform(get("/api/vets/me/week").param("start", monday.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("the current week carries no ETag")
+    void currentWeekHasNoEtag() throws Exception {
+        String token = "Bearer " + jwtService.generateToken(userDetailsService.loadUserByUsername("vet"));
+        mockMvc.perform(get("/api/vets/me/week").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
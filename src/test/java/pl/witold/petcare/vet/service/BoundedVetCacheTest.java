@@ -0,0 +1,66 @@
+package pl.witold.petcare.vet.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedVetCacheTest {
+
+    @Test
+    @DisplayName("A load which raced with an invalidation is returned but not cached")
+    void doesNotCacheStaleLoad() {
+        AtomicReference<BoundedVetCache<String>> cache = new AtomicReference<>();
+        cache.set(new BoundedVetCache<>(10, ids -> {
+            cache.get().invalidate(1L);
+            return Map.of(1L, "stale");
+        }));
+
+        assertEquals("stale", cache.get().get(1L));
+        assertFalse(cache.get().contains(1L));
+    }
+
+    @Test
+    @DisplayName("A load which raced with another load yields the entry cached first")
+    void keepsFirstCachedEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<BoundedVetCache<String>> cache = new AtomicReference<>();
+        cache.set(new BoundedVetCache<>(10, ids -> {
+            if (loads.incrementAndGet() == 1) {
+                // A concurrent lookup of the same vet completes while this one is loading
+                cache.get().get(1L);
+                return Map.of(1L, "second");
+            }
+            return Map.of(1L, "first");
+        }));
+
+        assertEquals("first", cache.get().get(1L));
+        assertEquals("first", cache.get().peek(1L));
+        assertEquals(new BoundedVetCache.Stats(1, 10, 0, 2, 0), cache.get().stats());
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used entry beyond max size")
+    void evictsLeastRecentlyUsed() {
+        BoundedVetCache<Long> cache = new BoundedVetCache<>(2, ids -> {
+            Map<Long, Long> loaded = new HashMap<>();
+            ids.forEach(id -> loaded.put(id, id));
+            return loaded;
+        });
+
+        cache.getAll(List.of(1L, 2L));
+        cache.get(1L);
+        cache.get(3L);
+
+        assertTrue(cache.contains(1L));
+        assertFalse(cache.contains(2L));
+        assertTrue(cache.contains(3L));
+        assertEquals(1, cache.stats().evictions());
+    }
+}
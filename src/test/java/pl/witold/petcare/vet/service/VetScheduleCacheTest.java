@@ -0,0 +1,83 @@
+package pl.witold.petcare.vet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.WeeklySchedule;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
+import pl.witold.petcare.vet.repository.VetScheduleEntryRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VetScheduleCacheTest {
+
+    @Mock
+    private VetScheduleEntryRepository vetScheduleEntryRepository;
+
+    private VetScheduleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VetScheduleCache(vetScheduleEntryRepository, 2);
+    }
+
+    @Test
+    @DisplayName("Groups rules per day sorted by start time and serves repeated reads from memory")
+    void cachesSortedWeeklySchedule() {
+        when(vetScheduleEntryRepository.findRuleViews(List.of(1L))).thenReturn(List.of(
+                new VetScheduleRuleView(1L, DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(16, 0), 30),
+                new VetScheduleRuleView(1L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 30),
+                new VetScheduleRuleView(1L, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 0)
+        ));
+
+        WeeklySchedule first = cache.get(1L);
+        WeeklySchedule second = cache.get(1L);
+
+        assertSame(first, second);
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(14, 0)),
+                first.rulesFor(DayOfWeek.MONDAY).stream().map(VetScheduleRuleView::startTime).toList());
+        assertTrue(first.rulesFor(DayOfWeek.TUESDAY).isEmpty());
+        verify(vetScheduleEntryRepository, times(1)).findRuleViews(anyCollection());
+        assertEquals(new BoundedVetCache.Stats(1, 2, 1, 1, 0), cache.stats());
+    }
+
+    @Test
+    @DisplayName("Schedule change event drops the entry")
+    void invalidatesOnScheduleChange() {
+        when(vetScheduleEntryRepository.findRuleViews(List.of(1L))).thenReturn(List.of());
+
+        cache.get(1L);
+        cache.onScheduleChanged(new VetScheduleChangedEvent(1L));
+
+        assertFalse(cache.contains(1L));
+        cache.get(1L);
+        verify(vetScheduleEntryRepository, times(2)).findRuleViews(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used entry beyond max size")
+    void evictsLeastRecentlyUsed() {
+        when(vetScheduleEntryRepository.findRuleViews(anyCollection())).thenReturn(List.of());
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+
+        assertTrue(cache.contains(1L));
+        assertFalse(cache.contains(2L));
+        assertTrue(cache.contains(3L));
+        assertEquals(1, cache.stats().evictions());
+    }
+}
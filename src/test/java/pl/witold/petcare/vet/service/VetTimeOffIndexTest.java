@@ -0,0 +1,79 @@
+package pl.witold.petcare.vet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.witold.petcare.vet.TimeOffCalendar;
+import pl.witold.petcare.vet.VetTimeOffView;
+import pl.witold.petcare.vet.events.VetTimeOffChangedEvent;
+import pl.witold.petcare.vet.repository.VetTimeOffRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VetTimeOffIndexTest {
+
+    @Mock
+    private VetTimeOffRepository vetTimeOffRepository;
+
+    private VetTimeOffIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VetTimeOffIndex(vetTimeOffRepository, 2);
+    }
+
+    @Test
+    @DisplayName("Serves repeated reads of a calendar from memory")
+    void cachesCalendar() {
+        LocalDate start = LocalDate.of(2030, 7, 1);
+        when(vetTimeOffRepository.findViews(List.of(1L))).thenReturn(List.of(
+                new VetTimeOffView(1L, start, start.plusDays(2))
+        ));
+
+        TimeOffCalendar first = index.get(1L);
+        TimeOffCalendar second = index.get(1L);
+
+        assertSame(first, second);
+        assertTrue(first.isOnLeave(start.plusDays(1)));
+        verify(vetTimeOffRepository, times(1)).findViews(anyCollection());
+        assertEquals(new BoundedVetCache.Stats(1, 2, 1, 1, 0), index.stats());
+    }
+
+    @Test
+    @DisplayName("Time-off change event drops the entry")
+    void invalidatesOnTimeOffChange() {
+        when(vetTimeOffRepository.findViews(List.of(1L))).thenReturn(List.of());
+
+        index.get(1L);
+        index.onTimeOffChanged(new VetTimeOffChangedEvent(1L));
+
+        assertFalse(index.contains(1L));
+        index.get(1L);
+        verify(vetTimeOffRepository, times(2)).findViews(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used calendar beyond max size")
+    void evictsLeastRecentlyUsed() {
+        when(vetTimeOffRepository.findViews(anyCollection())).thenReturn(List.of());
+
+        index.get(1L);
+        index.get(2L);
+        index.get(1L);
+        index.get(3L);
+
+        assertTrue(index.contains(1L));
+        assertFalse(index.contains(2L));
+        assertTrue(index.contains(3L));
+        assertEquals(1, index.stats().evictions());
+    }
+}
@@ -0,0 +1,121 @@
+package pl.witold.petcare.vet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.witold.petcare.availability.AvailabilityService;
+import pl.witold.petcare.dto.AvailabilitySlotDto;
+import pl.witold.petcare.dto.VetAvailabilityDto;
+import pl.witold.petcare.dto.VetWeekDto;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.vet.events.VetScheduleChangedEvent;
+import pl.witold.petcare.vet.repository.VetWeekVersionRepository;
+import pl.witold.petcare.visit.VisitRepository;
+import pl.witold.petcare.visit.VisitStatus;
+import pl.witold.petcare.visit.VisitWeekRow;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VetWeekServiceImplTest {
+
+    private static final Long VET_ID = 3L;
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private VisitRepository visitRepository;
+    @Mock
+    private AvailabilityService availabilityService;
+    @Mock
+    private VetWeekVersionRepository vetWeekVersionRepository;
+
+    private VetWeekServiceImpl vetWeekService;
+    private VetWeekVersions vetWeekVersions;
+
+    @BeforeEach
+    void setUp() {
+        vetWeekVersions = new VetWeekVersions(vetWeekVersionRepository);
+        vetWeekService = new VetWeekServiceImpl(visitRepository, availabilityService, vetWeekVersions);
+    }
+
+    @Test
+    @DisplayName("Lists each pet and owner once and includes free slots")
+    void referencesPetsAndOwnersOnce() {
+        LocalDate sunday = MONDAY.plusDays(6);
+        when(visitRepository.findWeekRows(VET_ID, MONDAY, sunday)).thenReturn(List.of(
+                new VisitWeekRow(1L, MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30), VisitStatus.SCHEDULED,
+                        "Checkup", 10L, "Sara", Species.CAT, 100L, "Owner One"),
+                new VisitWeekRow(2L, MONDAY.plusDays(2), LocalTime.of(9, 0), LocalTime.of(9, 30), VisitStatus.CONFIRMED,
+                        "Vaccine", 10L, "Sara", Species.CAT, 100L, "Owner One"),
+                new VisitWeekRow(3L, MONDAY.plusDays(2), LocalTime.of(10, 0), LocalTime.of(10, 30), VisitStatus.SCHEDULED,
+                        null, 11L, "Yuki", Species.CAT, 100L, "Owner One")
+        ));
+        AvailabilitySlotDto slot = new AvailabilitySlotDto(MONDAY, LocalTime.of(9, 30), LocalTime.of(10, 0));
+        when(availabilityService.getAvailability(VET_ID, MONDAY, sunday))
+                .thenReturn(new VetAvailabilityDto(VET_ID, MONDAY, sunday, List.of(slot)));
+
+        VetWeekDto week = vetWeekService.getWeek(VET_ID, MONDAY);
+
+        assertEquals(sunday, week.weekEnd());
+        assertEquals(3, week.visits().size());
+        assertEquals(List.of(10L, 11L), week.pets().stream().map(pet -> pet.id()).toList());
+        assertEquals(1, week.owners().size());
+        assertEquals(List.of(slot), week.freeSlots());
+    }
+
+    @Test
+    @DisplayName("ETag of an upcoming week follows the stored version of the vet")
+    void etagFollowsStoredVersion() {
+        LocalDate monday = nextMonday();
+        when(availabilityService.bookingHorizon()).thenReturn(monday.plusWeeks(4));
+        when(vetWeekVersionRepository.findVersion(VET_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+
+        String first = vetWeekService.getWeekEtag(VET_ID, monday);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        assertEquals(first, vetWeekService.getWeekEtag(VET_ID, monday));
+        assertNotEquals(first, vetWeekService.getWeekEtag(VET_ID, monday));
+    }
+
+    @Test
+    @DisplayName("Weeks whose free slots change with the clock alone carry no ETag")
+    void clockDependentWeeksHaveNoEtag() {
+        LocalDate monday = nextMonday();
+        when(availabilityService.bookingHorizon()).thenReturn(monday.plusDays(3));
+
+        assertNull(vetWeekService.getWeekEtag(VET_ID, monday.minusWeeks(1)));
+        assertNull(vetWeekService.getWeekEtag(VET_ID, monday));
+        verifyNoInteractions(vetWeekVersionRepository);
+    }
+
+    @Test
+    @DisplayName("A change bumps the stored version, creating the row when it is missing")
+    void bumpCreatesMissingRow() {
+        when(vetWeekVersionRepository.increment(VET_ID)).thenReturn(1).thenReturn(0);
+
+        vetWeekVersions.onVisitChanged(new VisitChangedEvent(1L, VET_ID, MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30), true));
+        verify(vetWeekVersionRepository, never()).save(any());
+
+        vetWeekVersions.onScheduleChanged(new VetScheduleChangedEvent(VET_ID));
+        verify(vetWeekVersionRepository).save(argThat(version -> version.getVetProfileId().equals(VET_ID)
+                && version.getVersion() == 1));
+    }
+
+    private static LocalDate nextMonday() {
+        return LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,69 @@
+package pl.witold.petcare.visit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.VetTimeOffView;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCalendarTest {
+
+    private static final Long VET_ID = 3L;
+
+    private final LocalDate date = LocalDate.now().plusDays(7);
+
+    private BookingCalendar calendar(List<VetTimeOffView> timeOff, List<VisitSlotView> visits) {
+        VetScheduleRuleView rule = new VetScheduleRuleView(
+                VET_ID, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(12, 0), 30);
+        return new BookingCalendar(List.of(rule), timeOff, visits);
+    }
+
+    @Test
+    @DisplayName("Reserves an aligned slot and returns its end time")
+    void reservesAlignedSlot() {
+        BookingCalendar calendar = calendar(List.of(), List.of());
+        assertEquals(LocalTime.of(10, 0), calendar.reserve(date, LocalTime.of(9, 30)));
+    }
+
+    @Test
+    @DisplayName("Rejects a second occurrence of the same slot within one calendar")
+    void rejectsDuplicateWithinBatch() {
+        BookingCalendar calendar = calendar(List.of(), List.of());
+        calendar.reserve(date, LocalTime.of(9, 0));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> calendar.reserve(date, LocalTime.of(9, 0)));
+        assertEquals("Selected time slot is already taken", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Rejects slots overlapping existing blocking visits")
+    void rejectsExistingConflict() {
+        BookingCalendar calendar = calendar(List.of(),
+                List.of(new VisitSlotView(1L, VET_ID, date, LocalTime.of(10, 0), LocalTime.of(10, 30))));
+
+        assertThrows(IllegalArgumentException.class, () -> calendar.reserve(date, LocalTime.of(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Rejects time off, unaligned and out-of-hours starts with booking messages")
+    void rejectsInvalidOccurrences() {
+        BookingCalendar onLeave = calendar(List.of(new VetTimeOffView(VET_ID, date, date.plusDays(2))), List.of());
+        assertEquals("Vet is on time off on the selected date",
+                assertThrows(IllegalArgumentException.class, () -> onLeave.reserve(date, LocalTime.of(9, 0))).getMessage());
+
+        BookingCalendar calendar = calendar(List.of(), List.of());
+        assertEquals("Requested time is outside vet working hours",
+                assertThrows(IllegalArgumentException.class, () -> calendar.reserve(date, LocalTime.of(9, 10))).getMessage());
+        assertEquals("Requested time is outside vet working hours",
+                assertThrows(IllegalArgumentException.class, () -> calendar.reserve(date, LocalTime.of(12, 0))).getMessage());
+        assertEquals("Visit date cannot be in the past",
+                assertThrows(IllegalArgumentException.class,
+                        () -> calendar.reserve(LocalDate.now().minusDays(1), LocalTime.of(9, 0))).getMessage());
+    }
+}
@@ -0,0 +1,127 @@
+package pl.witold.petcare.visit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.visit.commands.VisitCreateCommand;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires thousands of parallel bookings at a handful of slots and checks
+ * that every slot ends up with exactly one active visit.
+ */
+@SpringBootTest
+class VisitBookingConcurrencyTest {
+
+    private static final int SLOTS = 8;
+    private static final int ATTEMPTS_PER_SLOT = 250;
+    private static final int THREADS = 16;
+
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Autowired
+    private VisitService visitService;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PetRepository petRepository;
+
+    private Long vetProfileId;
+    private Long petId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        vetProfileId = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow().getId();
+        petId = petRepository.findAll().getFirst().getId();
+        // Seeded schedule: Mon-Fri 09:00-13:00, 30-minute slots. Far ahead to stay clear of other tests.
+        date = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> ids = visitRepository.findSlotViews(List.of(vetProfileId), date, date, EnumSet.allOf(VisitStatus.class))
+                .stream()
+                .map(VisitSlotView::id)
+                .toList();
+        visitRepository.deleteAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Concurrent bookings of the same slots produce exactly one winner per slot")
+    void exactlyOneWinnerPerSlot() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < SLOTS * ATTEMPTS_PER_SLOT; i++) {
+                LocalTime slot = LocalTime.of(9, 0).plusMinutes(30L * (i % SLOTS));
+                VisitCreateCommand command = new VisitCreateCommand(petId, vetProfileId, date, slot, "Torture", null);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(ADMIN);
+                    try {
+                        visitService.createVisit(command);
+                        return true;
+                    } catch (IllegalArgumentException | ConcurrencyFailureException ex) {
+                        return false;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+            assertEquals(SLOTS, winners);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<LocalTime, Long> activePerSlot = visitRepository
+                .findSlotViews(List.of(vetProfileId), date, date, EnumSet.of(VisitStatus.SCHEDULED, VisitStatus.CONFIRMED))
+                .stream()
+                .collect(Collectors.groupingBy(VisitSlotView::startTime, Collectors.counting()));
+        assertEquals(SLOTS, activePerSlot.size());
+        activePerSlot.values().forEach(count -> assertEquals(1L, count));
+    }
+}
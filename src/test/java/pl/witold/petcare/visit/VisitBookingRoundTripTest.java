@@ -0,0 +1,95 @@
+package pl.witold.petcare.visit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+import pl.witold.petcare.vet.service.VetScheduleCache;
+import pl.witold.petcare.vet.service.VetTimeOffIndex;
+import pl.witold.petcare.visit.commands.VisitCreateCommand;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of JDBC statements issued by a single visit booking.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class VisitBookingRoundTripTest {
+
+    @Autowired
+    private VisitService visitService;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PetRepository petRepository;
+    @Autowired
+    private VetScheduleCache vetScheduleCache;
+    @Autowired
+    private VetTimeOffIndex vetTimeOffIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long vetProfileId;
+    private Long petId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        vetProfileId = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow().getId();
+        petId = petRepository.findAll().getFirst().getId();
+        // A week after the date used by VisitBookingConcurrencyTest.
+        date = LocalDate.now().plusYears(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(1);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<Long> ids = visitRepository.findSlotViews(List.of(vetProfileId), date, date, EnumSet.allOf(VisitStatus.class))
+                .stream()
+                .map(VisitSlotView::id)
+                .toList();
+        visitRepository.deleteAllById(ids);
+    }
+
+    @Test
+    @DisplayName("createVisit with a warm schedule and time-off cache issues three selects, one insert and the week version update")
+    void createVisitUsesFiveStatements() {
+        vetScheduleCache.get(vetProfileId);
+        vetTimeOffIndex.get(vetProfileId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Visit visit = visitService.createVisit(new VisitCreateCommand(
+                petId, vetProfileId, date, LocalTime.of(9, 0), "Round trips", null));
+
+        assertNotNull(visit.getId());
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+                "Expected at most 5 statements, got " + statistics.getPrepareStatementCount());
+    }
+}
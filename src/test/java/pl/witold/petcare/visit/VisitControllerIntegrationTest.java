@@ -14,8 +14,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
+import pl.witold.petcare.dto.PetResponseDto;
+import pl.witold.petcare.dto.VisitResponseDto;
 import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.Species;
 import pl.witold.petcare.security.jwt.JwtService;
+import pl.witold.petcare.security.jwt.RevokedSessionIndex;
+import pl.witold.petcare.security.jwt.TokenVersionRegistry;
 import pl.witold.petcare.user.User;
 import pl.witold.petcare.vet.VetProfile;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
@@ -59,6 +64,16 @@ class VisitControllerIntegrationTest {
         UserDetailsService userDetailsService() {
             return Mockito.mock(UserDetailsService.class);
         }
+
+        @Bean
+        TokenVersionRegistry tokenVersionRegistry() {
+            return Mockito.mock(TokenVersionRegistry.class);
+        }
+
+        @Bean
+        RevokedSessionIndex revokedSessionIndex() {
+            return Mockito.mock(RevokedSessionIndex.class);
+        }
     }
 
     @Test
@@ -101,29 +116,11 @@ class VisitControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/visits/by-vet/{vetId}?date returns list")
     void listByVetAndDate() throws Exception {
-        Visit visit = Mockito.mock(Visit.class);
-        when(visit.getId()).thenReturn(11L);
-        when(visit.getDate()).thenReturn(LocalDate.now().plusDays(2));
-        when(visit.getStartTime()).thenReturn(LocalTime.of(9, 0));
-        when(visit.getEndTime()).thenReturn(LocalTime.of(9, 30));
-        when(visit.getStatus()).thenReturn(VisitStatus.SCHEDULED);
-        // Stub nested relations for VisitMapper
-        Pet pet = Mockito.mock(Pet.class);
-        User owner = Mockito.mock(User.class);
-        when(owner.getId()).thenReturn(101L);
-        when(owner.getFullName()).thenReturn("Owner Name");
-        when(pet.getId()).thenReturn(201L);
-        when(pet.getOwner()).thenReturn(owner);
-        when(visit.getPet()).thenReturn(pet);
-        VetProfile vetProfile = Mockito.mock(VetProfile.class);
-        User vetUser = Mockito.mock(User.class);
-        when(vetUser.getId()).thenReturn(301L);
-        when(vetUser.getFullName()).thenReturn("Vet User");
-        when(vetProfile.getId()).thenReturn(401L);
-        when(vetProfile.getUser()).thenReturn(vetUser);
-        when(visit.getVetProfile()).thenReturn(vetProfile);
+        PetResponseDto pet = new PetResponseDto(201L, 101L, "Owner Name", "Rex", Species.DOG, null, null, null, null, null, null);
+        VisitResponseDto visit = new VisitResponseDto(11L, pet, 401L, 301L, "Vet User", LocalDate.now().plusDays(2),
+                LocalTime.of(9, 0), LocalTime.of(9, 30), VisitStatus.SCHEDULED, null, null);
 
-        Page<Visit> visitPage = new PageImpl<>(List.of(visit));
+        Page<VisitResponseDto> visitPage = new PageImpl<>(List.of(visit));
         when(visitService.getVisitsForVetAndDate(eq(5L), eq(LocalDate.now().plusDays(2)), any(Pageable.class))).thenReturn(visitPage);
 
         mockMvc.perform(get("/api/visits/by-vet/5").param("date", LocalDate.now().plusDays(2).toString()))
@@ -0,0 +1,120 @@
+package pl.witold.petcare.visit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.witold.petcare.dto.CursorPageDto;
+import pl.witold.petcare.dto.VisitResponseDto;
+import pl.witold.petcare.pet.Pet;
+import pl.witold.petcare.pet.PetRepository;
+import pl.witold.petcare.pet.Species;
+import pl.witold.petcare.user.User;
+import pl.witold.petcare.user.UserRepository;
+import pl.witold.petcare.vet.VetProfile;
+import pl.witold.petcare.vet.repository.VetProfileRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks keyset pages of a pet's visits, including visits sharing the same date and start time.
+ */
+@SpringBootTest
+class VisitKeysetPaginationTest {
+
+    @Autowired
+    private VisitService visitService;
+    @Autowired
+    private VisitRepository visitRepository;
+    @Autowired
+    private VetProfileRepository vetProfileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PetRepository petRepository;
+
+    private Pet pet;
+    private List<Visit> visits;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User vetUser = userRepository.findByUsername("vet").orElseThrow();
+        VetProfile vetProfile = vetProfileRepository.findByUserId(vetUser.getId()).orElseThrow();
+        pet = petRepository.save(new Pet(admin, "Keyset", Species.DOG, null, null, null, null, null, null));
+
+        LocalDate day = LocalDate.now().plusYears(2);
+        Visit cancelled = new Visit(pet, vetProfile, day, LocalTime.of(9, 0), LocalTime.of(9, 20), "Cancelled", null);
+        cancelled.setStatus(VisitStatus.CANCELLED);
+        visits = visitRepository.saveAll(List.of(
+                new Visit(pet, vetProfile, day.plusDays(2), LocalTime.of(12, 0), LocalTime.of(12, 20), "Third day", null),
+                new Visit(pet, vetProfile, day, LocalTime.of(9, 0), LocalTime.of(9, 20), "First", null),
+                cancelled,
+                new Visit(pet, vetProfile, day, LocalTime.of(10, 0), LocalTime.of(10, 20), "Second", null),
+                new Visit(pet, vetProfile, day.plusDays(1), LocalTime.of(8, 0), LocalTime.of(8, 20), "Next day", null)
+        ));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        visitRepository.deleteAll(visits);
+        petRepository.delete(pet);
+    }
+
+    @Test
+    @DisplayName("following next cursors returns every visit once in (date, start time, id) order")
+    void walksAllPages() {
+        List<Long> expected = visits.stream()
+                .sorted(Comparator.comparing(Visit::getDate)
+                        .thenComparing(Visit::getStartTime)
+                        .thenComparing(Visit::getId))
+                .map(Visit::getId)
+                .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDto<VisitResponseDto> page = visitService.scrollVisitsForPet(pet.getId(), cursor, 2, false);
+            assertNull(page.totalElements());
+            page.content().forEach(visit -> seen.add(visit.id()));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("total is only counted when requested")
+    void countsTotalOnRequest() {
+        CursorPageDto<VisitResponseDto> page = visitService.scrollVisitsForPet(pet.getId(), null, 2, true);
+
+        assertEquals(2, page.content().size());
+        assertEquals(5L, page.totalElements());
+        assertNotNull(page.next());
+    }
+
+    @Test
+    @DisplayName("a malformed cursor is rejected")
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> visitService.scrollVisitsForPet(pet.getId(), "not-a-cursor", 2, false));
+    }
+}
@@ -6,19 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import pl.witold.petcare.dto.VisitResponseDto;
 import pl.witold.petcare.pet.Pet;
 import pl.witold.petcare.pet.PetAccessService;
-import pl.witold.petcare.pet.PetService;
 import pl.witold.petcare.security.CurrentUserService;
 import pl.witold.petcare.user.Role;
 import pl.witold.petcare.user.User;
 import pl.witold.petcare.vet.VetProfile;
-import pl.witold.petcare.vet.VetScheduleEntry;
-import pl.witold.petcare.vet.service.VetProfileService;
-import pl.witold.petcare.vet.service.VetScheduleService;
+import pl.witold.petcare.vet.VetScheduleRuleView;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -35,15 +34,13 @@ class VisitServiceImplMoreTest {
     @Mock
     private VisitRepository visitRepository;
     @Mock
-    private PetService petService;
-    @Mock
     private PetAccessService petAccessService;
     @Mock
-    private VetProfileService vetProfileService;
-    @Mock
-    private VetScheduleService vetScheduleService;
+    private BookingContextLoader bookingContextLoader;
     @Mock
     private CurrentUserService currentUserService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private VisitServiceImpl visitService;
@@ -111,6 +108,7 @@ class VisitServiceImplMoreTest {
 
         verify(visit).setReason("New reason");
         verify(visit, never()).setNotes(any());
+        verify(eventPublisher).publishEvent(VisitChangedEvent.of(visit));
         assertEquals(55L, dto.id());
         assertEquals(VisitStatus.SCHEDULED, dto.status());
     }
@@ -119,21 +117,15 @@ class VisitServiceImplMoreTest {
     @DisplayName("createVisit: rejects non-aligned start time w.r.t. slot length")
     void createVisitRejectsNonAlignedStart() {
         Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
-        doNothing().when(petAccessService).checkCanModify(pet);
         VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
-        when(vetProfile.getId()).thenReturn(2L);
-
         LocalDate date = LocalDate.now().plusDays(1);
-        VetScheduleEntry entry = mock(VetScheduleEntry.class);
-        when(entry.getDayOfWeek()).thenReturn(date.getDayOfWeek());
-        when(entry.getStartTime()).thenReturn(LocalTime.of(9, 0));
-        when(entry.getEndTime()).thenReturn(LocalTime.of(12, 0));
-        when(entry.getSlotLengthMinutes()).thenReturn(30);
-        when(vetScheduleService.getScheduleForVetProfile(2L)).thenReturn(List.of(entry));
-
-        // Non-aligned time 09:10 should be rejected in findScheduleEntry
+        VetScheduleRuleView rule = new VetScheduleRuleView(
+                2L, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(12, 0), 30);
+        BookingCalendar calendar = new BookingCalendar(List.of(rule), List.of(), List.of());
+        when(bookingContextLoader.load(1L, 2L, date)).thenReturn(new BookingContext(pet, vetProfile, calendar));
+        doNothing().when(petAccessService).checkCanModify(pet);
+
+        // Non-aligned time 09:10 should be rejected when matching the schedule rule
         VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, LocalTime.of(9, 10), "Reason", null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
         assertTrue(ex.getMessage().toLowerCase().contains("outside"));
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import pl.witold.petcare.dto.VisitResponseDto;
 import pl.witold.petcare.exceptions.ResourceNotFoundException;
 import pl.witold.petcare.pet.Pet;
@@ -13,11 +15,13 @@ import pl.witold.petcare.pet.PetAccessService;
 import pl.witold.petcare.pet.PetService;
 import pl.witold.petcare.user.User;
 import pl.witold.petcare.vet.VetProfile;
-import pl.witold.petcare.vet.VetScheduleEntry;
+import pl.witold.petcare.vet.VetScheduleRuleView;
+import pl.witold.petcare.vet.VetTimeOffView;
 import pl.witold.petcare.vet.service.VetProfileService;
-import pl.witold.petcare.vet.service.VetScheduleService;
-import pl.witold.petcare.vet.service.VetTimeOffService;
+import pl.witold.petcare.visit.commands.VisitBatchCreateCommand;
 import pl.witold.petcare.visit.commands.VisitCreateCommand;
+import pl.witold.petcare.visit.commands.VisitOccurrenceCommand;
+import pl.witold.petcare.visit.events.VisitChangedEvent;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -39,23 +43,34 @@ class VisitServiceImplTest {
     @Mock
     private VetProfileService vetProfileService;
     @Mock
-    private VetScheduleService vetScheduleService;
+    private BookingContextLoader bookingContextLoader;
     @Mock
-    private VetTimeOffService vetTimeOffService;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private VisitServiceImpl visitService;
 
+    private Pet stubContext(LocalDate date, List<VetScheduleRuleView> schedule,
+                            List<VetTimeOffView> timeOff, List<VisitSlotView> visits) {
+        Pet pet = mock(Pet.class);
+        VetProfile vetProfile = mock(VetProfile.class);
+        BookingCalendar calendar = new BookingCalendar(schedule, timeOff, visits);
+        when(bookingContextLoader.load(1L, 2L, date)).thenReturn(new BookingContext(pet, vetProfile, calendar));
+        return pet;
+    }
+
+    private static VetScheduleRuleView morningRule(LocalDate date) {
+        return new VetScheduleRuleView(2L, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(12, 0), 30);
+    }
+
     @Test
     @DisplayName("Reject past visit date")
     void rejectPastDate() {
-        Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
+        LocalDate date = LocalDate.now().minusDays(1);
+        Pet pet = stubContext(date, List.of(), List.of(), List.of());
         doNothing().when(petAccessService).checkCanModify(pet);
-        VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
 
-        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, LocalDate.now().minusDays(1), LocalTime.of(10, 0), null, null);
+        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, LocalTime.of(10, 0), null, null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
         assertTrue(ex.getMessage().toLowerCase().contains("past"));
     }
@@ -63,15 +78,9 @@ class VisitServiceImplTest {
     @Test
     @DisplayName("Reject when no matching schedule entry")
     void rejectOutsideWorkingHours() {
-        Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
-        doNothing().when(petAccessService).checkCanModify(pet);
-        VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
-        when(vetProfile.getId()).thenReturn(2L);
-
         LocalDate date = LocalDate.now().plusDays(1);
-        when(vetScheduleService.getScheduleForVetProfile(2L)).thenReturn(List.of());
+        Pet pet = stubContext(date, List.of(), List.of(), List.of());
+        doNothing().when(petAccessService).checkCanModify(pet);
 
         VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, LocalTime.of(10, 0), null, null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
@@ -108,6 +117,7 @@ class VisitServiceImplTest {
         assertEquals(VisitStatus.SCHEDULED, dto.status());
         assertEquals(200L, dto.pet().id());
         assertEquals(400L, dto.vetProfileId());
+        verify(eventPublisher).publishEvent(any(VisitChangedEvent.class));
     }
 
     @Test
@@ -120,24 +130,11 @@ class VisitServiceImplTest {
     @Test
     @DisplayName("Reject when vet is on time off")
     void rejectTimeOff() {
-        Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
-        doNothing().when(petAccessService).checkCanModify(pet);
-        VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
-        when(vetProfile.getId()).thenReturn(2L);
-
         LocalDate date = LocalDate.now().plusDays(1);
-        VetScheduleEntry entry = mock(VetScheduleEntry.class);
-        when(entry.getDayOfWeek()).thenReturn(date.getDayOfWeek());
-        when(entry.getStartTime()).thenReturn(java.time.LocalTime.of(9, 0));
-        when(entry.getEndTime()).thenReturn(java.time.LocalTime.of(12, 0));
-        when(entry.getSlotLengthMinutes()).thenReturn(30);
-        when(vetScheduleService.getScheduleForVetProfile(2L)).thenReturn(java.util.List.of(entry));
-
-        when(vetTimeOffService.isVetOnTimeOffOnDate(vetProfile, date)).thenReturn(true);
+        Pet pet = stubContext(date, List.of(morningRule(date)), List.of(new VetTimeOffView(2L, date, date)), List.of());
+        doNothing().when(petAccessService).checkCanModify(pet);
 
-        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, java.time.LocalTime.of(9, 0), null, null);
+        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, LocalTime.of(9, 0), null, null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
         assertTrue(ex.getMessage().toLowerCase().contains("time off"));
     }
@@ -145,27 +142,12 @@ class VisitServiceImplTest {
     @Test
     @DisplayName("Reject when slot is already taken")
     void rejectConflict() {
-        Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
+        LocalDate date = LocalDate.now().plusDays(1);
+        VisitSlotView taken = new VisitSlotView(7L, 2L, date, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        Pet pet = stubContext(date, List.of(morningRule(date)), List.of(), List.of(taken));
         doNothing().when(petAccessService).checkCanModify(pet);
-        VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
-        when(vetProfile.getId()).thenReturn(2L);
 
-        LocalDate date = LocalDate.now().plusDays(1);
-        VetScheduleEntry entry = mock(VetScheduleEntry.class);
-        when(entry.getDayOfWeek()).thenReturn(date.getDayOfWeek());
-        when(entry.getStartTime()).thenReturn(java.time.LocalTime.of(9, 0));
-        when(entry.getEndTime()).thenReturn(java.time.LocalTime.of(12, 0));
-        when(entry.getSlotLengthMinutes()).thenReturn(30);
-        when(vetScheduleService.getScheduleForVetProfile(2L)).thenReturn(java.util.List.of(entry));
-
-        when(vetTimeOffService.isVetOnTimeOffOnDate(vetProfile, date)).thenReturn(false);
-        when(visitRepository.existsByVetProfileAndDateAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-                eq(vetProfile), eq(date), anySet(), any(), any()
-        )).thenReturn(true);
-
-        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, java.time.LocalTime.of(9, 0), null, null);
+        VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, date, LocalTime.of(9, 0), null, null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
         assertTrue(ex.getMessage().toLowerCase().contains("taken"));
     }
@@ -173,17 +155,40 @@ class VisitServiceImplTest {
     @Test
     @DisplayName("Reject same-day past start time")
     void rejectPastStartTimeToday() {
-        Pet pet = mock(Pet.class);
-        when(petService.getById(1L)).thenReturn(pet);
+        LocalDate today = LocalDate.now();
+        Pet pet = stubContext(today, List.of(), List.of(), List.of());
         doNothing().when(petAccessService).checkCanModify(pet);
-        VetProfile vetProfile = mock(VetProfile.class);
-        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
 
-        LocalDate today = LocalDate.now();
         LocalTime pastStart = LocalTime.MIN; // 00:00 always before current time
 
         VisitCreateCommand cmd = new VisitCreateCommand(1L, 2L, today, pastStart, "Reason", null);
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisit(cmd));
         assertEquals("Visit start time cannot be in the past", ex.getMessage());
     }
+
+    @Test
+    @DisplayName("Series conflict from a concurrent booking names the clashing occurrence")
+    void seriesConflictNamesOccurrence() {
+        LocalDate first = LocalDate.now().plusDays(1);
+        LocalDate second = first.plusWeeks(1);
+        Pet pet = mock(Pet.class);
+        VetProfile vetProfile = mock(VetProfile.class);
+        when(vetProfile.getId()).thenReturn(2L);
+        when(petService.getById(1L)).thenReturn(pet);
+        when(vetProfileService.getById(2L)).thenReturn(vetProfile);
+        when(bookingContextLoader.loadCalendar(2L, first, second))
+                .thenReturn(new BookingCalendar(List.of(morningRule(first)), List.of(), List.of()));
+        when(visitRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException(
+                "insert failed", new RuntimeException("Unique index or primary key violation: UK_VISITS_ACTIVE_SLOT")));
+        VisitSlotView committed = new VisitSlotView(9L, 2L, second, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        when(bookingContextLoader.loadCommittedBlockingVisits(2L, first, second)).thenReturn(List.of(committed));
+
+        VisitBatchCreateCommand cmd = new VisitBatchCreateCommand(1L, 2L, List.of(
+                new VisitOccurrenceCommand(first, LocalTime.of(9, 0)),
+                new VisitOccurrenceCommand(second, LocalTime.of(9, 0))
+        ), "Checkup", null);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> visitService.createVisits(cmd));
+        assertEquals("Selected time slot is already taken on " + second + " 09:00", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
 }